@@ -1,47 +1,222 @@
 package chat;
 
 /*
- * Code taken from http://introcs.cs.princeton.edu/java/84network/
+ * Originally based on code taken from http://introcs.cs.princeton.edu/java/84network/
  */
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.util.Vector;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
-public class ChatServer {
-	
-	// Moved this out here and added a die method just to make the warning shut the funk up
-	static ServerSocket serverSocket;
+/**
+ * Relays every line a client sends to all connected clients, including the sender.
+ *
+ * All connections are served by a single thread waiting on a {@link Selector}, so a message goes
+ * out as soon as its line is complete. Each client has its own queue of outgoing messages which is
+ * written whenever the socket can take more. The lines are passed on as raw bytes and never decoded.
+ * A client which doesn't keep up and lets too much pile up in its queue is disconnected, rather
+ * than holding up the others or using up the server's memory.
+ */
+public class ChatServer implements Runnable {
+    public static final int DEFAULT_PORT = 4444;
+    /** Longest line accepted from a client; longer lines end the connection */
+    public static final int MAX_LINE_LENGTH = 16 * 1024;
+    /** Most bytes waiting to be sent to a single client before it is dropped */
+    public static final int MAX_QUEUED_BYTES = 1024 * 1024;
 
-    public static void main(String[] args) throws Exception {
-        Vector<Connection> connections        = new Vector<Connection>();
-        serverSocket             = new ServerSocket(4444);
-        ConnectionListener connectionListener = new ConnectionListener(connections);
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+    private volatile boolean running = true;
+    private volatile int clientCount;
 
-        // thread that broadcasts messages to clients
-        connectionListener.start();
+    public ChatServer(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
 
+    public static void main(String[] args) throws Exception {
+        ChatServer server = new ChatServer(DEFAULT_PORT);
         System.err.println("ChatServer started");
+        server.run();
+    }
 
-        while (true) {
+    /** @return the port the server listens on; useful when it was created with port 0 */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
 
-            // wait for next client connection request
-            Socket clientSocket = serverSocket.accept();
-            System.err.println("Created socket with client");
+    /** @return the number of clients currently connected */
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    /** Runs the server on a new daemon thread */
+    public Thread start() {
+        Thread thread = new Thread(this, "Chat server"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
 
-            // listen to client in a separate thread
-            Connection connection = new Connection(clientSocket);
-            connections.add(connection);
-            connection.start();
+    /** Serves the clients on the current thread until {@link #die()} is called */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        if (key.isReadable()) {
+                            read(key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write(key);
+                        }
+                    } catch (IOException ex) {
+                        close(key);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        } finally {
+            closeAll();
         }
     }
-    
+
     public void die() {
-    	// close socket
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new Client());
+            clientCount++;
+            System.err.println("Created socket with client");
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Client client = (Client) key.attachment();
+        readBuffer.clear();
+        int count = channel.read(readBuffer);
+        if (count < 0) {
+            close(key);
+            return;
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            client.line.put(b);
+            if (b == '\n') {
+                client.line.flip();
+                ByteBuffer message = ByteBuffer.allocate(client.line.remaining());
+                message.put(client.line).flip();
+                client.line.clear();
+                broadcast(message.asReadOnlyBuffer());
+            } else if (!client.line.hasRemaining()) {
+                throw new IOException("Line too long"); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /** Queues the message for every client; the buffer is shared, each client gets its own view */
+    private void broadcast(ByteBuffer message) {
+        List<SelectionKey> tooSlow = new ArrayList<>();
+        for (SelectionKey key : selector.keys()) {
+            if (!key.isValid() || !(key.attachment() instanceof Client)) {
+                continue;
+            }
+            Client client = (Client) key.attachment();
+            if (client.queuedBytes + message.remaining() > MAX_QUEUED_BYTES) {
+                tooSlow.add(key);
+                continue;
+            }
+            client.queue.add(message.duplicate());
+            client.queuedBytes += message.remaining();
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+        for (SelectionKey key : tooSlow) {
+            System.err.println("Dropping client which doesn't keep up");
+            close(key);
+        }
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Client client = (Client) key.attachment();
+        while (!client.queue.isEmpty()) {
+            ByteBuffer next = client.queue.peek();
+            client.queuedBytes -= channel.write(next);
+            if (next.hasRemaining()) {
+                // the socket is full, wait until it can take more
+                return;
+            }
+            client.queue.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void close(SelectionKey key) {
+        if (key.isValid() && (key.attachment() instanceof Client)) {
+            clientCount--;
+        }
+        key.cancel();
         try {
-            serverSocket.close();
+            key.channel().close();
         } catch (IOException ex) {
+            ex.printStackTrace();
         }
+        System.err.println("closing socket");
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException ex) {
+                // shutting down anyway
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /** The state kept for each connected client */
+    private static final class Client {
+        /* The part of the current line received so far */
+        final ByteBuffer line = ByteBuffer.allocate(MAX_LINE_LENGTH);
+        final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+        int queuedBytes = 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import megamek.client.RandomNameGenerator;
+import megamek.client.RandomUnitGenerator;
+import megamek.common.MechSummaryCache;
+import megamek.common.QuirksHandler;
+import megamek.common.logging.LogLevel;
+import mekhq.campaign.personnel.Bloodname;
+import mekhq.campaign.universe.Faction;
+import mekhq.campaign.universe.Planets;
+import mekhq.campaign.universe.RATManager;
+
+/**
+ * Loads the data MekHQ needs before a campaign can be started or loaded.
+ *
+ * The loaders are declared as a {@link TaskGraph} and run on a small pool as soon as MekHQ starts,
+ * so they work while the player is still on the start screen, and the ones which don't depend on
+ * each other run at the same time. Anything which needs some of the data waits on the futures of
+ * the tasks it needs instead of sleeping in a loop.
+ */
+public final class DataLoader {
+    public static final String FACTIONS = "factions"; //$NON-NLS-1$
+    public static final String PLANETS = "planets"; //$NON-NLS-1$
+    public static final String BLOODNAMES = "bloodnames"; //$NON-NLS-1$
+    public static final String RAT_COLLECTIONS = "RAT collections"; //$NON-NLS-1$
+    public static final String NAME_GENERATOR = "random names"; //$NON-NLS-1$
+    public static final String QUIRKS = "quirks"; //$NON-NLS-1$
+    public static final String UNIT_CACHE = "unit cache"; //$NON-NLS-1$
+    public static final String UNIT_GENERATOR = "random unit tables"; //$NON-NLS-1$
+    public static final String ICONS = "icons"; //$NON-NLS-1$
+
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, daemon("Data loader")); //$NON-NLS-1$
+    /* Checks on loaders which can only be asked whether they are done yet */
+    private static final ScheduledExecutorService WATCHER = Executors.newSingleThreadScheduledExecutor(
+            daemon("Data loader watcher")); //$NON-NLS-1$
+    private static final long WATCH_INTERVAL = 20;
+
+    private static TaskGraph graph;
+
+    private DataLoader() {
+    }
+
+    /**
+     * Starts loading, unless it has been started before.
+     *
+     * @param app the application, whose icons are loaded; may be null if there is none
+     * @return the graph of the loading tasks, to wait on or to follow the progress of
+     */
+    public static synchronized TaskGraph start(MekHQ app) {
+        if (null != graph) {
+            return graph;
+        }
+        graph = new TaskGraph();
+        graph.add(FACTIONS, Faction::generateFactions);
+        graph.addAsync(PLANETS, () -> Planets.getInstance().whenLoaded(), FACTIONS);
+        graph.add(BLOODNAMES, Bloodname::loadBloodnameData);
+        // Only the names of the collections, for the campaign options
+        graph.add(RAT_COLLECTIONS, RATManager::populateCollectionNames);
+        graph.addAsync(NAME_GENERATOR, () -> whenReady(() -> RandomNameGenerator.getInstance().isInitialized()));
+        graph.add(QUIRKS, QuirksHandler::initQuirksList);
+        graph.addAsync(UNIT_CACHE, DataLoader::loadUnitCache, QUIRKS);
+        graph.addAsync(UNIT_GENERATOR, () -> whenReady(() -> RandomUnitGenerator.getInstance().isInitialized()));
+        graph.add(ICONS, () -> {
+            if (null != app) {
+                app.getIconPackage().loadDirectories();
+            }
+        });
+        graph.addListener((name, millis, error, finished, total) -> {
+            if (null != error) {
+                MekHQ.getLogger().error(DataLoader.class, "start(MekHQ)", error); //$NON-NLS-1$
+            }
+            MekHQ.getLogger().log(DataLoader.class, "start(MekHQ)", LogLevel.INFO, //$NON-NLS-1$
+                    String.format("Loaded %s in %d ms (%d/%d)", name, millis, finished, total)); //$NON-NLS-1$
+        });
+        graph.start(POOL);
+        return graph;
+    }
+
+    /**
+     * Waits for the given loading tasks to be done, starting the loading first if needed.
+     */
+    public static void await(String... names) {
+        TaskGraph tasks = start(null);
+        for (String name : names) {
+            tasks.get(name).join();
+        }
+    }
+
+    /**
+     * @return a future completed once the condition holds. This is for loaders from MegaMek which
+     *         don't say when they are done; the condition is checked on a single watcher thread
+     *         until it holds or the future is cancelled.
+     */
+    public static CompletableFuture<Void> whenReady(BooleanSupplier condition) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (condition.getAsBoolean()) {
+            result.complete(null);
+            return result;
+        }
+        ScheduledFuture<?> check = WATCHER.scheduleWithFixedDelay(() -> {
+            try {
+                if (condition.getAsBoolean()) {
+                    result.complete(null);
+                }
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        }, WATCH_INTERVAL, WATCH_INTERVAL, TimeUnit.MILLISECONDS);
+        result.whenComplete((v, t) -> check.cancel(false));
+        return result;
+    }
+
+    /**
+     * Waits until the condition holds, but no longer than the given time.
+     *
+     * @return whether the condition holds
+     */
+    public static boolean waitUntil(BooleanSupplier condition, long timeout, TimeUnit unit) {
+        CompletableFuture<Void> ready = whenReady(condition);
+        try {
+            ready.get(timeout, unit);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // fall through
+        }
+        ready.cancel(false);
+        return condition.getAsBoolean();
+    }
+
+    private static CompletableFuture<Void> loadUnitCache() {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        MechSummaryCache cache = MechSummaryCache.getInstance();
+        cache.addListener(() -> result.complete(null));
+        // It may have finished before the listener was added
+        if (cache.isInitialized()) {
+            result.complete(null);
+        }
+        return result;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -11,8 +11,10 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 
 import megamek.client.ui.swing.MechTileset;
 import megamek.client.ui.swing.util.ImageFileFactory;
@@ -21,6 +23,7 @@ import megamek.common.Crew;
 import megamek.common.util.DirectoryItems;
 import mekhq.campaign.force.Force;
 import mekhq.gui.utilities.PortraitFileFactory;
+import mekhq.gui.utilities.RenderedImageCache;
 
 /**
  * This is a convenience class that will keep all the various directories and tilesets 
@@ -35,6 +38,11 @@ public class IconPackage {
     private DirectoryItems forceIcons;
     private DirectoryItems awardIcons;
     protected static MechTileset mt;
+
+    /** The icons and portraits as drawn in tables, lists and trees */
+    private final RenderedImageCache renderedImages = new RenderedImageCache(32L * 1024 * 1024);
+    /* Portraits which were asked for but could not be found */
+    private final Set<String> missingPortraits = ConcurrentHashMap.newKeySet();
     
     // Static defines for layered force icons
     public static String FORCE_FRAME                = "Pieces/Frames/"; //$NON-NLS-1$
@@ -141,6 +149,67 @@ public class IconPackage {
     public MechTileset getMechTiles() {
         return mt;
     }
+
+    public RenderedImageCache getRenderedImages() {
+        return renderedImages;
+    }
+
+    /**
+     * Gets a portrait scaled to the given size, falling back to the default portrait if it can't
+     * be found. The portrait is loaded and scaled in the background the first time it is asked for.
+     *
+     * @param width      the width, or -1 to keep the aspect ratio
+     * @param height     the height, or -1 to keep the aspect ratio
+     * @param whenLoaded called on the event dispatch thread once the portrait is ready, if it wasn't
+     * @return the scaled portrait, or null if it isn't ready yet
+     */
+    public Image getScaledPortrait(String category, String filename, int width, int height, Runnable whenLoaded) {
+        final String key = "portrait:" + category + '/' + filename + ':' + width + 'x' + height; //$NON-NLS-1$
+        return renderedImages.get(key, () -> {
+            Image portrait = (Image) portraits.getItem(category, filename);
+            if (null == portrait) {
+                missingPortraits.add(category + '/' + filename);
+                portrait = (Image) portraits.getItem("", "default.gif"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return RenderedImageCache.scale(portrait, width, height);
+        }, whenLoaded);
+    }
+
+    /**
+     * @return whether the given portrait was asked for by {@link #getScaledPortrait} and turned out
+     *         not to exist
+     */
+    public boolean isPortraitMissing(String category, String filename) {
+        return missingPortraits.contains(category + '/' + filename);
+    }
+
+    /**
+     * Gets a force icon, as built by {@link #buildForceIcon}, scaled to the given size. The icon
+     * is built and scaled in the background the first time it is asked for.
+     *
+     * @param width      the width, or -1 to keep the aspect ratio
+     * @param height     the height, or -1 to keep the aspect ratio
+     * @param whenLoaded called on the event dispatch thread once the icon is ready, if it wasn't
+     * @return the scaled icon, or null if it isn't ready yet
+     */
+    public Image getScaledForceIcon(String category, String filename, LinkedHashMap<String, Vector<String>> iconMap,
+            int width, int height, Runnable whenLoaded) {
+        // The layers may be changed while the icon is being built
+        final LinkedHashMap<String, Vector<String>> layers = new LinkedHashMap<>();
+        if (null != iconMap) {
+            for (Map.Entry<String, Vector<String>> entry : iconMap.entrySet()) {
+                layers.put(entry.getKey(), new Vector<>(entry.getValue()));
+            }
+        }
+        final String key = "force:" + category + '/' + filename + ':' + layers + ':' + width + 'x' + height; //$NON-NLS-1$
+        return renderedImages.get(key, () -> {
+            Image icon = buildForceIcon(category, filename, forceIcons, layers);
+            if (null == icon) {
+                icon = (Image) forceIcons.getItem("", "empty.png"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return RenderedImageCache.scale(icon, width, height);
+        }, whenLoaded);
+    }
     
     public String getGuiElement(String key) {
         return guiElements.get(key);
@@ -34,9 +34,12 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
 
 import javax.swing.JOptionPane;
 import javax.swing.UIManager;
@@ -85,6 +88,7 @@ import mekhq.gui.StartUpGUI;
 import mekhq.gui.dialog.LaunchGameDialog;
 import mekhq.gui.dialog.ResolveScenarioWizardDialog;
 import mekhq.gui.dialog.RetirementDefectionDialog;
+import mekhq.service.AutosaveService;
 
 /**
  * The main class of the application.
@@ -96,9 +100,12 @@ public class MekHQ implements GameListener {
 	public static int VERBOSITY_LEVEL = 5;
 	public static String CAMPAIGN_DIRECTORY = "./campaigns/";
 	public static String PROPERTIES_FILE = "mmconf/mekhq.properties";
+	public static final String PREF_SAVE_COMPRESSION_LEVEL = "saveCompressionLevel"; //$NON-NLS-1$
 	public static String PRESET_DIR = "./mmconf/mhqPresets/";
 
 	private static final EventBus EVENT_BUS = new EventBus();
+	/* The only event types delivered on a thread which suppresses events; null if it doesn't */
+	private static final ThreadLocal<Collection<Class<? extends MMEvent>>> DELIVERED_EVENTS = new ThreadLocal<>();
 
 	private static MMLogger logger = null;
 	
@@ -115,6 +122,7 @@ public class MekHQ implements GameListener {
     private IconPackage iconPackage = new IconPackage();
 
 	private Properties preferences;
+	private AutosaveService autosaveService;
 
 	/**
 	 * Converts the MekHQ {@link #VERBOSITY_LEVEL} to {@link LogLevel}.
@@ -221,8 +229,10 @@ public class MekHQ implements GameListener {
     	readPreferences();
     	setLookAndFeel();
     	initEventHandlers();
+        // Start loading the data while the player is still choosing what to do
+        TaskGraph loading = DataLoader.start(this);
         //create a start up frame and display it
-        StartUpGUI sud = new StartUpGUI(this);
+        StartUpGUI sud = new StartUpGUI(this, loading);
         sud.setVisible(true);
     }
 
@@ -237,6 +247,10 @@ public class MekHQ implements GameListener {
         		campaigngui.getFrame().dispose();
         	}
     		savePreferences();
+    		// Don't cut an autosave off halfway
+    		if (null != autosaveService) {
+    		    autosaveService.waitForPendingSave(30, TimeUnit.SECONDS);
+    		}
         	System.exit(0);
     	}
     }
@@ -260,6 +274,7 @@ public class MekHQ implements GameListener {
     protected static Properties setDefaultPreferences() {
     	Properties defaults = new Properties();
     	defaults.setProperty("laf", UIManager.getSystemLookAndFeelClassName());
+    	defaults.setProperty(PREF_SAVE_COMPRESSION_LEVEL, String.valueOf(Deflater.DEFAULT_COMPRESSION));
     	return defaults;
     }
 
@@ -275,6 +290,24 @@ public class MekHQ implements GameListener {
         }
     }
 
+    /**
+     * @return the compression level for campaigns saved as .cpnx.gz, from 0 (none) to 9 (best),
+     *         or -1 for the default. Faster levels make large saves quicker at the cost of a bigger file.
+     */
+    public int getSaveCompressionLevel() {
+        try {
+            int level = Integer.parseInt(preferences.getProperty(PREF_SAVE_COMPRESSION_LEVEL).trim());
+            if ((level >= Deflater.DEFAULT_COMPRESSION) && (level <= Deflater.BEST_COMPRESSION)) {
+                return level;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the default
+        }
+        getLogger().log(getClass(), "getSaveCompressionLevel()", LogLevel.WARNING, //$NON-NLS-1$
+                "Invalid " + PREF_SAVE_COMPRESSION_LEVEL + " in " + PROPERTIES_FILE); //$NON-NLS-1$
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
     protected void savePreferences() {
     	preferences.setProperty("laf", UIManager.getLookAndFeel().getClass().getName());
     	try {
@@ -369,7 +402,13 @@ public class MekHQ implements GameListener {
     }
 
     public void setCampaign(Campaign c) {
+        if ((null != campaign) && (campaign != c)) {
+            campaign.unregisterEventHandlers();
+        }
     	campaign = c;
+        if (null != c) {
+            c.registerEventHandlers();
+        }
     }
 
     /**
@@ -656,9 +695,28 @@ public class MekHQ implements GameListener {
 	}
 	
 	static public boolean triggerEvent(MMEvent event) {
+	    Collection<Class<? extends MMEvent>> delivered = DELIVERED_EVENTS.get();
+	    if((null != delivered) && delivered.stream().noneMatch(type -> type.isInstance(event))) {
+	        return false;
+	    }
 	    return EVENT_BUS.trigger(event);
 	}
 	
+	/**
+	 * Stops delivering the events triggered on the current thread, except for those of the given
+	 * types and their subclasses, until {@link #resumeEvents()} is called on the same thread. Used
+	 * to run long batches of campaign logic without every listener reacting to each change; the
+	 * caller is responsible for bringing the listeners up to date afterwards.
+	 */
+	static public void suppressEvents(Collection<Class<? extends MMEvent>> delivered) {
+	    DELIVERED_EVENTS.set(new ArrayList<>(delivered));
+	}
+	
+	/** Resumes delivering all events triggered on the current thread */
+	static public void resumeEvents() {
+	    DELIVERED_EVENTS.remove();
+	}
+	
 	static public void unregisterHandler(Object handler) {
 	    EVENT_BUS.unregister(handler);
 	}
@@ -666,5 +724,9 @@ public class MekHQ implements GameListener {
 	// TODO: This needs to be way more flexible, but it will do for now.
 	private void initEventHandlers() {
 	    EVENT_BUS.register(new XPHandler());
+	    autosaveService = new AutosaveService(new File(CAMPAIGN_DIRECTORY, AutosaveService.AUTOSAVE_DIRECTORY),
+	            this::getSaveCompressionLevel);
+	    EVENT_BUS.register(autosaveService);
+	    EVENT_BUS.register(iconPackage.getRenderedImages());
 	}
 }
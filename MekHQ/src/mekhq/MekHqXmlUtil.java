@@ -11,6 +11,11 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
@@ -21,6 +26,7 @@ import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.apache.commons.text.StringEscapeUtils;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
@@ -48,6 +54,16 @@ public class MekHqXmlUtil {
     private static DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
     private static DocumentBuilderFactory UNSAFE_DOCUMENT_BUILDER_FACTORY;
     private static SAXParserFactory SAX_PARSER_FACTORY;
+    private static XMLInputFactory XML_INPUT_FACTORY;
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+    /** The indentation strings for the usual nesting depths, so saving doesn't keep building them */
+    private static final String[] INDENTS = new String[32];
+    static {
+        INDENTS[0] = "";
+        for (int i = 1; i < INDENTS.length; i++) {
+            INDENTS[i] = INDENTS[i - 1] + "\t";
+        }
+    }
 
     /**
      * Creates a DocumentBuilder safe from XML external entities
@@ -173,72 +189,185 @@ public class MekHqXmlUtil {
         return new SAXSource(createSafeXMLReader(), new InputSource(inputStream));
     }
 
-    public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, String val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
+    /**
+     * @return a StAX {@linkplain XMLStreamReader} for the provided input stream that is safe from
+     * external entities and entity expansion attacks. Adjacent character data is coalesced, so
+     * each run of text is reported as a single event.
+     */
+    public static XMLStreamReader createSafeXmlStreamReader(InputStream inputStream) throws XMLStreamException {
+        XMLInputFactory xif = XML_INPUT_FACTORY;
+        if (null == xif) {
+            // As with the document builder factories, creating this more than
+            // once is harmless as long as each instance is configured safely.
+            xif = XMLInputFactory.newInstance();
+            xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            xif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            xif.setProperty(XMLInputFactory.IS_COALESCING, true);
+            XML_INPUT_FACTORY = xif;
+        }
+        return xif.createXMLStreamReader(inputStream);
+    }
+
+    /**
+     * Advances a stream reader to the next child of the element that contains the current position.
+     * If the reader is positioned on a start tag the search is made among that element's children;
+     * if it is on an end tag the search is made among that element's siblings.
+     *
+     * @param reader The stream reader
+     * @return       true if the reader is now positioned at the start tag of the next element, or false
+     *               if the end of the containing element (or the document) was reached first
+     */
+    public static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    return true;
+                case XMLStreamConstants.END_ELEMENT:
+                case XMLStreamConstants.END_DOCUMENT:
+                    return false;
+                default:
+                    break;
+            }
         }
+        return false;
+    }
 
+    /**
+     * Skips over the element the reader is positioned on, including all of its children, without
+     * building any representation of it. On return the reader is positioned on the element's end tag.
+     *
+     * @param reader A stream reader positioned on a start tag
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while ((depth > 0) && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Builds a DOM {@link Element} from the element the reader is positioned on, so that a large
+     * document can be streamed and handed to the existing node-based loaders one fragment at a time.
+     * Comments and processing instructions are dropped; text, CDATA and attributes are kept. On return
+     * the reader is positioned on the element's end tag.
+     *
+     * @param reader A stream reader positioned on a start tag
+     * @param doc    The document used to create the nodes. The element is appended to it if it does not
+     *               already have a document element.
+     * @return       The element
+     */
+    public static Element readElement(XMLStreamReader reader, Document doc) throws XMLStreamException {
+        Element root = createElement(reader, doc);
+        if (null == doc.getDocumentElement()) {
+            doc.appendChild(root);
+        }
+        Node current = root;
+        while ((null != current) && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    Element child = createElement(reader, doc);
+                    current.appendChild(child);
+                    current = child;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    current = (current == root) ? null : current.getParentNode();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    current.appendChild(doc.createTextNode(reader.getText()));
+                    break;
+                case XMLStreamConstants.CDATA:
+                    current.appendChild(doc.createCDATASection(reader.getText()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return root;
+    }
+
+    private static Element createElement(XMLStreamReader reader, Document doc) {
+        Element element = doc.createElement(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        if ((null == prefix) || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, String val) {
+        pw1.print(indentStr(indent));
         pw1.print("<"+name+">");
         pw1.print(escape(val));
         pw1.println("</"+name+">");
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, int val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
+        pw1.print(indentStr(indent));
         pw1.print("<"+name+">");
         pw1.print(val);
         pw1.println("</"+name+">");
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, boolean val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
+        pw1.print(indentStr(indent));
         pw1.print("<"+name+">");
         pw1.print(val);
         pw1.println("</"+name+">");
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, long val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
+        pw1.print(indentStr(indent));
         pw1.print("<"+name+">");
         pw1.print(val);
         pw1.println("</"+name+">");
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, double val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
+        pw1.print(indentStr(indent));
         pw1.print("<"+name+">");
         pw1.print(val);
         pw1.println("</"+name+">");
     }
 
     public static String indentStr(int level) {
-        String retVal = "";
-
+        if (level < INDENTS.length) {
+            return INDENTS[Math.max(level, 0)];
+        }
+        StringBuilder retVal = new StringBuilder(level);
         for (int x=0; x<level; x++) {
-            retVal += "\t";
+            retVal.append('\t');
         }
-
-        return retVal;
+        return retVal.toString();
     }
 
+    /**
+     * @return the given node as XML text, without an XML declaration, so that it can be
+     *         written back out as part of another document
+     */
     public static String xmlToString(Node node) throws TransformerException {
         Source source = new DOMSource(node);
         StringWriter stringWriter = new StringWriter();
         Result result = new StreamResult(stringWriter);
-        TransformerFactory factory = TransformerFactory.newInstance();
-        Transformer transformer = factory.newTransformer();
+        Transformer transformer;
+        // The factory isn't guaranteed to be thread safe, the transformers it makes are used by one thread only
+        synchronized (TRANSFORMER_FACTORY) {
+            transformer = TRANSFORMER_FACTORY.newTransformer();
+        }
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes"); //$NON-NLS-1$
         transformer.transform(source, result);
 
         return stringWriter.getBuffer().toString();
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A set of named tasks, some of which need others to be done first, run on a thread pool. Every
+ * task is started as soon as the tasks it depends on are done, so tasks which don't depend on each
+ * other run at the same time.
+ *
+ * A task can only depend on tasks added before it, which keeps the graph free of cycles. A task
+ * which fails is reported to the listeners like any other; the tasks depending on it are still run,
+ * the same as when everything was loaded one after the other and errors were only logged.
+ */
+public class TaskGraph {
+    /** A piece of work which may throw */
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    /** A task returning a future, see {@link #addAsync(String, AsyncTask, String...)} */
+    public interface AsyncTask {
+        CompletableFuture<?> start() throws Exception;
+    }
+
+    public interface Listener {
+        /**
+         * Called on the thread which finished the task.
+         *
+         * @param name     the name of the task
+         * @param millis   how long the task took, from the time it could start
+         * @param error    what the task threw, or null if it succeeded
+         * @param finished the number of tasks finished so far, including this one
+         * @param total    the number of tasks in the graph
+         */
+        void taskFinished(String name, long millis, Throwable error, int finished, int total);
+    }
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger finished = new AtomicInteger();
+    private boolean started = false;
+
+    /**
+     * Adds a task which does its work on the pool thread it is run on.
+     */
+    public TaskGraph add(String name, Task task, String... dependencies) {
+        return addAsync(name, () -> {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }, dependencies);
+    }
+
+    /**
+     * Adds a task which starts work elsewhere, for instance on a loader thread of its own, and
+     * returns a future which is completed when that work is done. The task doesn't keep a pool
+     * thread busy while it waits.
+     */
+    public synchronized TaskGraph addAsync(String name, AsyncTask task, String... dependencies) {
+        if (started) {
+            throw new IllegalStateException("Tasks can't be added once the graph has been started"); //$NON-NLS-1$
+        }
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate task " + name); //$NON-NLS-1$
+        }
+        List<Node> deps = new ArrayList<>();
+        for (String dependency : dependencies) {
+            Node dep = nodes.get(dependency);
+            if (null == dep) {
+                throw new IllegalArgumentException(name + " depends on unknown task " + dependency); //$NON-NLS-1$
+            }
+            deps.add(dep);
+        }
+        nodes.put(name, new Node(name, task, deps));
+        return this;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts every task as soon as its dependencies are done. Does nothing if the graph has
+     * already been started.
+     */
+    public synchronized void start(Executor executor) {
+        if (started) {
+            return;
+        }
+        started = true;
+        for (Node node : nodes.values()) {
+            CompletableFuture<?>[] deps = new CompletableFuture<?>[node.dependencies.size()];
+            for (int i = 0; i < deps.length; i++) {
+                deps[i] = node.dependencies.get(i).done;
+            }
+            CompletableFuture.allOf(deps).thenRunAsync(() -> run(node), executor);
+        }
+    }
+
+    /** @return a future completed when the named task is done, whether it succeeded or not */
+    public synchronized CompletableFuture<Void> get(String name) {
+        Node node = nodes.get(name);
+        if (null == node) {
+            throw new IllegalArgumentException("Unknown task " + name); //$NON-NLS-1$
+        }
+        return node.done;
+    }
+
+    /** @return a future completed when all the tasks are done */
+    public synchronized CompletableFuture<Void> getAll() {
+        return CompletableFuture.allOf(nodes.values().stream().map(n -> n.done)
+                .toArray(CompletableFuture<?>[]::new));
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /** @return how long each finished task took in milliseconds, in the order they were added */
+    public synchronized Map<String, Long> getTimings() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Node node : nodes.values()) {
+            if (node.done.isDone()) {
+                result.put(node.name, node.millis);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private void run(Node node) {
+        final long start = System.nanoTime();
+        CompletableFuture<?> work;
+        try {
+            work = node.task.start();
+        } catch (Throwable t) {
+            work = failed(t);
+        }
+        if (null == work) {
+            work = CompletableFuture.completedFuture(null);
+        }
+        work.whenComplete((result, error) -> {
+            node.millis = (System.nanoTime() - start) / 1000000;
+            int count = finished.incrementAndGet();
+            Throwable cause = (null == error) ? null : unwrap(error);
+            for (Listener listener : listeners) {
+                try {
+                    listener.taskFinished(node.name, node.millis, cause, count, nodes.size());
+                } catch (RuntimeException ex) {
+                    MekHQ.getLogger().error(getClass(), "run(Node)", ex); //$NON-NLS-1$
+                }
+            }
+            node.done.complete(null);
+        });
+    }
+
+    private static CompletableFuture<?> failed(Throwable t) {
+        CompletableFuture<?> result = new CompletableFuture<>();
+        result.completeExceptionally(t);
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        while ((t instanceof CompletionException) && (null != t.getCause())) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    private static final class Node {
+        final String name;
+        final AsyncTask task;
+        final List<Node> dependencies;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        volatile long millis;
+
+        Node(String name, AsyncTask task, List<Node> dependencies) {
+            this.name = name;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+    }
+}
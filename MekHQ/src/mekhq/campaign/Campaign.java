@@ -37,11 +37,9 @@ import java.util.Date;
 import java.util.Enumeration;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -102,6 +100,7 @@ import megamek.common.options.IOptionGroup;
 import megamek.common.options.PilotOptions;
 import megamek.common.util.BuildingBlock;
 import megamek.common.util.DirectoryItems;
+import mekhq.DataLoader;
 import mekhq.MekHQ;
 import mekhq.MekHqXmlSerializable;
 import mekhq.MekHqXmlUtil;
@@ -163,6 +162,7 @@ import mekhq.campaign.parts.PartInUse;
 import mekhq.campaign.parts.PartInventory;
 import mekhq.campaign.parts.ProtomekArmor;
 import mekhq.campaign.parts.Refit;
+import mekhq.campaign.parts.SparePartIndex;
 import mekhq.campaign.parts.StructuralIntegrity;
 import mekhq.campaign.parts.equipment.AmmoBin;
 import mekhq.campaign.parts.equipment.EquipmentPart;
@@ -171,6 +171,7 @@ import mekhq.campaign.personnel.Ancestors;
 import mekhq.campaign.personnel.Bloodname;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.personnel.PersonnelOptions;
+import mekhq.campaign.personnel.PersonnelRegistry;
 import mekhq.campaign.personnel.Rank;
 import mekhq.campaign.personnel.Ranks;
 import mekhq.campaign.personnel.RetirementDefectionTracker;
@@ -221,6 +222,7 @@ public class Campaign implements Serializable, ITechManager {
     private Map<UUID, Person> personnel = new LinkedHashMap<>();
     private Map<UUID, Ancestors> ancestors = new LinkedHashMap<>();
     private TreeMap<Integer, Part> parts = new TreeMap<>();
+    private SparePartIndex sparePartIndex = new SparePartIndex();
     private TreeMap<Integer, Force> forceIds = new TreeMap<>();
     private TreeMap<Integer, Mission> missions = new TreeMap<>();
     private TreeMap<Integer, Scenario> scenarios = new TreeMap<>();
@@ -267,13 +269,12 @@ public class Campaign implements Serializable, ITechManager {
     private String retainerEmployerCode; //AtB
     private Ranks ranks;
 
-    private ArrayList<String> currentReport;
-    private transient String currentReportHTML;
-    private transient List<String> newReports;
+    private DailyReport currentReport = new DailyReport(REPORT_LINEBREAK);
 
     //this is updated and used per gaming session, it is enabled/disabled via the Campaign options
     //we're re-using the LogEntry class that is used to store Personnel entries
-    public LinkedList<LogEntry> inMemoryLogHistory = new LinkedList<LogEntry>();
+    private DailyReportHistory inMemoryLogHistory
+            = new DailyReportHistory(HistoricalDailyReportDialog.MAX_DAYS_HISTORY);
 
     private boolean overtime;
     private boolean gmMode;
@@ -286,6 +287,11 @@ public class Campaign implements Serializable, ITechManager {
     private Finances finances;
 
     private CurrentLocation location;
+    private transient JumpPathFinder jumpPathFinder = new JumpPathFinder();
+    private transient PersonnelRegistry personnelRegistry = new PersonnelRegistry(this);
+    private transient RepairTargetCache repairTargetCache = new RepairTargetCache(this);
+    /* Whether the indexes above and the unit rating follow the campaign through the event bus, see registerEventHandlers() */
+    private transient boolean eventHandlersRegistered = false;
 
     private News news;
 
@@ -318,9 +324,6 @@ public class Campaign implements Serializable, ITechManager {
         game = new Game();
         player = new Player(0, "self");
         game.addPlayer(0, player);
-        currentReport = new ArrayList<String>();
-        currentReportHTML = "";
-        newReports = new ArrayList<String>();
         calendar = new GregorianCalendar(3067, Calendar.JANUARY, 1);
         dateFormat = "EEEE, MMMM d yyyy";
         shortDateFormat = "yyyyMMdd";
@@ -345,7 +348,6 @@ public class Campaign implements Serializable, ITechManager {
         astechPool = 0;
         medicPool = 0;
         resetAstechMinutes();
-        partsStore = new PartsStore(this);
         gameOptions = new GameOptions();
         gameOptions.initialize();
         gameOptions.getOption("year").setValue(getGameYear());
@@ -580,13 +582,7 @@ public class Campaign implements Serializable, ITechManager {
         }
         if (campaignOptions.useStaticRATs()) {
             RATManager rm = new RATManager();
-            while (!RandomUnitGenerator.getInstance().isInitialized()) {
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
+            DataLoader.whenReady(() -> RandomUnitGenerator.getInstance().isInitialized()).join();
             rm.setSelectedRATs(campaignOptions.getRATs());
             rm.setIgnoreRatEra(campaignOptions.canIgnoreRatEra());
             unitGenerator = rm;
@@ -1223,6 +1219,7 @@ public class Campaign implements Serializable, ITechManager {
         }
         p.setId(id);
         personnel.put(id, p);
+        personnelRegistry.add(p);
 
         //TODO: implement a boolean check based on campaign options
         boolean bondsman = false;
@@ -1273,6 +1270,7 @@ public class Campaign implements Serializable, ITechManager {
         }
         p.setId(id);
         personnel.put(id, p);
+        personnelRegistry.add(p);
 
         //TODO: implement a boolean check based on campaign options
         addReport(p.getHyperlinkedName() + " has been added to the personnel roster.");
@@ -1301,6 +1299,7 @@ public class Campaign implements Serializable, ITechManager {
 
     private void addPersonWithoutId(Person p) {
         personnel.put(p.getId(), p);
+        personnelRegistry.add(p);
         MekHQ.triggerEvent(new PersonNewEvent(p));
     }
 
@@ -1344,6 +1343,48 @@ public class Campaign implements Serializable, ITechManager {
         return personnel.values();
     }
 
+    /** @return the target numbers and replacement availability shown for repair tasks */
+    public RepairTargetCache getRepairTargetCache() {
+        return repairTargetCache;
+    }
+
+    /** @return the index of the active personnel by role, status and assignment */
+    public PersonnelRegistry getPersonnelRegistry() {
+        return personnelRegistry;
+    }
+
+    /**
+     * Lets the indexes kept for this campaign and its unit rating follow its changes through the
+     * event bus. The bus is
+     * shared by every campaign, so this is only done for the campaign being played, and undone
+     * with {@link #unregisterEventHandlers()} when it is replaced.
+     */
+    public synchronized void registerEventHandlers() {
+        if (eventHandlersRegistered) {
+            return;
+        }
+        eventHandlersRegistered = true;
+        // Whatever happened while they weren't listening is picked up again
+        personnelRegistry.invalidate();
+        repairTargetCache.clear();
+        // Worked out from scratch when next asked for
+        unitRating = null;
+        MekHQ.registerHandler(personnelRegistry);
+        MekHQ.registerHandler(repairTargetCache);
+    }
+
+    public synchronized void unregisterEventHandlers() {
+        if (!eventHandlersRegistered) {
+            return;
+        }
+        eventHandlersRegistered = false;
+        MekHQ.unregisterHandler(personnelRegistry);
+        MekHQ.unregisterHandler(repairTargetCache);
+        if (null != unitRating) {
+            MekHQ.unregisterHandler(unitRating);
+        }
+    }
+
     /**
      * Provides a filtered list of personnel including only active Persons.
      * @return ArrayList<Person>
@@ -1458,6 +1499,7 @@ public class Campaign implements Serializable, ITechManager {
             }
         }
         parts.put(Integer.valueOf(id), p);
+        sparePartIndex.add(p);
         lastPartId = id;
         MekHQ.triggerEvent(new PartNewEvent(p));
     }
@@ -1551,6 +1593,7 @@ public class Campaign implements Serializable, ITechManager {
 
         lastPartId = Math.max(lastPartId, p.getId());
         parts.put(p.getId(), p);
+        sparePartIndex.add(p);
         MekHQ.triggerEvent(new PartNewEvent(p));
     }
 
@@ -1561,6 +1604,37 @@ public class Campaign implements Serializable, ITechManager {
         return parts.values();
     }
 
+    /**
+     * @return The index of spare parts in the campaign, grouped by part type
+     */
+    public SparePartIndex getSparePartIndex() {
+        return sparePartIndex;
+    }
+
+    /**
+     * Notifies the spare part index that something has changed that could affect whether
+     * a part is a spare or which part type it is filed under. Parts that are not in the campaign
+     * (such as those belonging to a refit test unit) are ignored.
+     *
+     * @param p The part that has changed
+     */
+    public void updateSparePartIndex(Part p) {
+        if (parts.get(p.getId()) == p) {
+            sparePartIndex.update(p);
+        }
+    }
+
+    /**
+     * Rebuilds the spare part index from scratch. Used after bulk changes such as
+     * the post-load processing of parts.
+     */
+    public void rebuildSparePartIndex() {
+        sparePartIndex.clear();
+        for (Part p : parts.values()) {
+            sparePartIndex.add(p);
+        }
+    }
+
     private int getQuantity(Part p) {
         if(p instanceof Armor) {
             return ((Armor) p).getAmount();
@@ -1669,26 +1743,28 @@ public class Campaign implements Serializable, ITechManager {
         return forceIds.get(Integer.valueOf(id));
     }
 
+    /** @return an unmodifiable copy of today's reports */
     public List<String> getCurrentReport() {
-        return currentReport;
+        return currentReport.getReports();
     }
 
-    public void setCurrentReportHTML(String html) {
-        currentReportHTML = html;
+    /** Replaces today's reports, e.g. with the ones read from a saved campaign */
+    public void setCurrentReport(List<String> reports) {
+        currentReport.set(reports);
     }
 
     public String getCurrentReportHTML() {
-        return currentReportHTML;
+        return currentReport.getHTML();
     }
 
-    public void setNewReports(List<String> reports) {
-        newReports = reports;
+    /** @return the reports added since the last call, ready to be appended to the report shown */
+    public List<String> fetchAndClearNewReports() {
+        return currentReport.fetchNewReports();
     }
 
-    public List<String> fetchAndClearNewReports() {
-        List<String> oldReports = newReports;
-        setNewReports(new ArrayList<String>());
-        return oldReports;
+    /** @return the reports of the last few days, if the historical daily log is enabled */
+    public DailyReportHistory getInMemoryLogHistory() {
+        return inMemoryLogHistory;
     }
 
     /**
@@ -1708,9 +1784,8 @@ public class Campaign implements Serializable, ITechManager {
     public Person findBestInRole(int role, String primary, String secondary) {
         int highest = 0;
         Person retVal = null;
-        for (Person p : getPersonnel()) {
-            if (p.isActive() && (p.getPrimaryRole() == role || p.getSecondaryRole() == role)
-                    && p.getSkill(primary) != null) {
+        for (Person p : personnelRegistry.getActiveInRole(role)) {
+            if (p.getSkill(primary) != null) {
                 if (p.getSkill(primary).getLevel() > highest) {
                     retVal = p;
                     highest = p.getSkill(primary).getLevel();
@@ -1763,8 +1838,8 @@ public class Campaign implements Serializable, ITechManager {
             techs.add(firstTech);
         }
 
-        for (Person p : getPersonnel()) {
-            if (p.isTech() && p.isActive() && (!p.equals(firstTech)) && (!noZeroMinute || (p.getMinutesLeft() > 0))) {
+        for (Person p : personnelRegistry.getTechs()) {
+            if ((!p.equals(firstTech)) && (!noZeroMinute || (p.getMinutesLeft() > 0))) {
                 techs.add(p);
             }
         }
@@ -1840,13 +1915,7 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public List<Person> getAdmins() {
-        List<Person> admins = new ArrayList<Person>();
-        for (Person p : getPersonnel()) {
-            if (p.isAdmin() && p.isActive()) {
-                admins.add(p);
-            }
-        }
-        return admins;
+        return personnelRegistry.getAdmins();
     }
 
     public boolean isWorkingOnRefit(Person p) {
@@ -1863,25 +1932,11 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public ArrayList<Person> getDoctors() {
-        ArrayList<Person> docs = new ArrayList<Person>();
-        for (Person p : getPersonnel()) {
-            if (p.isDoctor() && p.isActive()) {
-                docs.add(p);
-            }
-        }
-        return docs;
+        return new ArrayList<>(personnelRegistry.getDoctors());
     }
 
     public int getPatientsFor(Person doctor) {
-        int patients = 0;
-        for (Person person : getPersonnel()) {
-            if (null != person.getDoctorId()
-                    && person.getDoctorId().equals(doctor.getId())
-                    && person.isActive()) {
-                patients++;
-            }
-        }
-        return patients;
+        return personnelRegistry.getPatientsFor(doctor.getId());
     }
 
     /**
@@ -3035,10 +3090,12 @@ public class Campaign implements Serializable, ITechManager {
                         part.setTeamId(null);
                     }
                 } else {
-                    JOptionPane.showMessageDialog(null,
-                            "Could not find tech for part: " + part.getName() + " on unit: "
-                                    + part.getUnit().getHyperlinkedName(),
-                            "Invalid Auto-continue", JOptionPane.ERROR_MESSAGE);
+                    // Days may be advanced without anyone watching, so don't stop for a dialog
+                    String unitName = (null != part.getUnit()) ? part.getUnit().getHyperlinkedName() : "none";
+                    addReport("<font color='red'>Could not find tech for part: " + part.getName()
+                            + " on unit: " + unitName + "</font>");
+                    MekHQ.getLogger().log(getClass(), "processNewDayUnits()", LogLevel.ERROR, //$NON-NLS-1$
+                            "Could not find tech for part " + part.getId() + " (" + part.getName() + ")"); //$NON-NLS-1$
                 }
                 // check to see if this part can now be combined with other
                 // spare parts
@@ -3079,9 +3136,10 @@ public class Campaign implements Serializable, ITechManager {
         }
 
         calendar.add(Calendar.DAY_OF_MONTH, 1);
+        jumpPathFinder.clearCache();
+        // Catch up with any changes to the personnel that weren't announced
+        personnelRegistry.invalidate();
         currentReport.clear();
-        currentReportHTML = "";
-        newReports.clear();
         beginReport("<b>" + getDateAsString() + "</b>");
 
         if (calendar.get(Calendar.DAY_OF_YEAR) == 1) {
@@ -3257,6 +3315,7 @@ public class Campaign implements Serializable, ITechManager {
         }
 
         personnel.remove(id);
+        personnelRegistry.remove(person);
         if (person.getPrimaryRole() == Person.T_ASTECH) {
             astechPoolMinutes = Math.max(0, astechPoolMinutes - 480);
             astechPoolOvertime = Math.max(0, astechPoolOvertime - 240);
@@ -3380,7 +3439,10 @@ public class Campaign implements Serializable, ITechManager {
             // if this is a test unit, then we won't remove the part because its not there
             return;
         }
-        parts.remove(Integer.valueOf(part.getId()));
+        Part removed = parts.remove(Integer.valueOf(part.getId()));
+        if (null != removed) {
+            sparePartIndex.remove(removed);
+        }
         //remove child parts as well
         for(int childId : part.getChildPartIds()) {
             Part childPart = getPart(childId);
@@ -3534,18 +3596,9 @@ public class Campaign implements Serializable, ITechManager {
             RandomNameGenerator.initialize();
             RandomFactionGenerator.getInstance().startup(this);
 
-            int loops = 0;
-            while (!RandomUnitGenerator.getInstance().isInitialized()
-                || !RandomNameGenerator.getInstance().isInitialized()) {
-                try {
-                    Thread.sleep(50);
-                    if (++loops > 20) {
-                        // Wait for up to a second
-                        break;
-                    }
-                } catch (InterruptedException ignore) {
-                }
-            }
+            // Wait for up to a second
+            DataLoader.waitUntil(() -> RandomUnitGenerator.getInstance().isInitialized()
+                    && RandomNameGenerator.getInstance().isInitialized(), 1, TimeUnit.SECONDS);
         }
     }
 
@@ -3607,15 +3660,7 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     private void addInMemoryLogHistory(LogEntry le) {
-        if (inMemoryLogHistory.size() != 0) {
-            long diff = le.getDate().getTime() - inMemoryLogHistory.get(0).getDate().getTime();
-            while ((diff / (1000 * 60 * 60 * 24)) > HistoricalDailyReportDialog.MAX_DAYS_HISTORY) {
-                //we've hit the max size for the in-memory based on the UI display limit
-                //prune the oldest entry
-                inMemoryLogHistory.remove(0);
-                diff = le.getDate().getTime() - inMemoryLogHistory.get(0).getDate().getTime();
-            }
-        }
+        // Days older than the UI display limit are dropped as new ones come in
         inMemoryLogHistory.add(le);
     }
 
@@ -3644,14 +3689,6 @@ public class Campaign implements Serializable, ITechManager {
 
     private void addReportInternal(String r) {
         currentReport.add(r);
-        if( currentReportHTML.length() > 0 ) {
-            currentReportHTML = currentReportHTML + REPORT_LINEBREAK + r;
-            newReports.add(REPORT_LINEBREAK);
-            newReports.add(r);
-        } else {
-            currentReportHTML = r;
-            newReports.add(r);
-        }
         MekHQ.triggerEvent(new ReportEvent(this, r));
     }
 
@@ -3686,13 +3723,7 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public ArrayList<Part> getSpareParts() {
-        ArrayList<Part> spares = new ArrayList<Part>();
-        for (Part part : getParts()) {
-            if (part.isSpare()) {
-                spares.add(part);
-            }
-        }
-        return spares;
+        return new ArrayList<>(sparePartIndex.getSpareParts());
     }
 
     public void addFunds(long quantity) {
@@ -3943,9 +3974,9 @@ public class Campaign implements Serializable, ITechManager {
         {
             pw1.println("\t\t<currentReport>");
 
-            for (int x = 0; x < currentReport.size(); x++) {
+            for (String report : currentReport.getReports()) {
                 pw1.print("\t\t\t<reportLine><![CDATA[");
-                pw1.print(currentReport.get(x));
+                pw1.print(report);
                 pw1.println("]]></reportLine>");
             }
 
@@ -4822,99 +4853,7 @@ public class Campaign implements Serializable, ITechManager {
             return jpath;
         }
 
-        String startKey = start.getId();
-        String endKey = end.getId();
-
-        final DateTime now = Utilities.getDateTimeDay(calendar);
-        String current = startKey;
-        Set<String> closed = new HashSet<>();
-        Set<String> open = new HashSet<>();
-        boolean found = false;
-        int jumps = 0;
-
-        // we are going to through and set up some hashes that will make our
-        // work easier
-        // hash of parent key
-        Map<String, String> parent = new HashMap<>();
-        // hash of H for each planet which will not change
-        Map<String, Double> scoreH = new HashMap<>();
-        // hash of G for each planet which might change
-        Map<String, Double> scoreG = new HashMap<>();
-
-        for (String key : Planets.getInstance().getPlanets().keySet()) {
-            scoreH.put(
-                    key,
-                    end.getDistanceTo(Planets.getInstance().getPlanets()
-                            .get(key)));
-        }
-        scoreG.put(current, 0.0);
-        closed.add(current);
-
-        while (!found && jumps < 10000) {
-            jumps++;
-            double currentG = scoreG.get(current) + Planets.getInstance().getPlanetById(current).getRechargeTime(now);
-
-            final String localCurrent = current;
-            Planets.getInstance().visitNearbyPlanets(Planets.getInstance().getPlanetById(current), 30, p -> {
-                if (closed.contains(p.getId())) {
-                    return;
-                } else if (open.contains(p.getId())) {
-                    // is the current G better than the existing G
-                    if (currentG < scoreG.get(p.getId())) {
-                        // then change G and parent
-                        scoreG.put(p.getId(), currentG);
-                        parent.put(p.getId(), localCurrent);
-                    }
-                } else {
-                    // put the current G for this one in memory
-                    scoreG.put(p.getId(), currentG);
-                    // put the parent in memory
-                    parent.put(p.getId(), localCurrent);
-                    open.add(p.getId());
-                }
-            });
-
-            String bestMatch = null;
-            double bestF = Double.POSITIVE_INFINITY;
-            for (String possible : open) {
-                // calculate F
-                double currentF = scoreG.get(possible) + scoreH.get(possible);
-                if (currentF < bestF) {
-                    bestMatch = possible;
-                    bestF = currentF;
-                }
-            }
-
-            current = bestMatch;
-            if(null == current) {
-                // We're done - probably failed to find anything
-                break;
-            }
-            
-            closed.add(current);
-            open.remove(current);
-            if (current.equals(endKey)) {
-                found = true;
-            }
-        }
-
-        // now we just need to back up from the last current by parents until we
-        // hit null
-        List<Planet> path = new ArrayList<>();
-        String nextKey = current;
-        while (null != nextKey) {
-            path.add(Planets.getInstance().getPlanetById(nextKey));
-            // MekHQApp.logMessage(nextKey);
-            nextKey = parent.get(nextKey);
-        }
-
-        // now reverse the direaction
-        JumpPath finalPath = new JumpPath();
-        for (int i = (path.size() - 1); i >= 0; i--) {
-            finalPath.addPlanet(path.get(i));
-        }
-
-        return finalPath;
+        return jumpPathFinder.calculateJumpPath(start, end, Utilities.getDateTimeDay(calendar));
     }
 
     public List<Planet> getAllReachablePlanetsFrom(Planet planet) {
@@ -5347,6 +5286,14 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public TargetRoll getTargetForMaintenance(IPartWork partWork, Person tech) {
+        return getTargetForMaintenance(partWork, tech, getMaintenanceModsFor(partWork.getUnit(), tech));
+    }
+
+    /**
+     * @param unitMods the modifiers which are the same for every part of the unit, from
+     *                 {@link #getMaintenanceModsFor(Unit, Person)}
+     */
+    private TargetRoll getTargetForMaintenance(IPartWork partWork, Person tech, TargetRoll unitMods) {
         int value = 10;
         String skillLevel = "Unmaintained";
         if (null != tech) {
@@ -5364,20 +5311,26 @@ public class Campaign implements Serializable, ITechManager {
         }
 
         target.append(partWork.getAllModsForMaintenance());
+        target.append(unitMods);
+        return target;
+    }
 
+    /** @return the modifiers to the maintenance checks of the unit which don't depend on the part */
+    private TargetRoll getMaintenanceModsFor(Unit unit, Person tech) {
+        TargetRoll mods = new TargetRoll();
         if (getCampaignOptions().useEraMods()) {
-            target.addModifier(getFaction().getEraMod(getGameYear()), "era");
+            mods.addModifier(getFaction().getEraMod(getGameYear()), "era");
         }
 
-        if (null != partWork.getUnit() && null != tech) {
+        if (null != unit && null != tech) {
             // we have no official rules for what happens when a tech is only
             // assigned
             // for part of the maintenance cycle, so we will create our own
             // penalties
-            if (partWork.getUnit().getMaintainedPct() < .5) {
-                target.addModifier(2, "partial maintenance");
-            } else if (partWork.getUnit().getMaintainedPct() < 1) {
-                target.addModifier(1, "partial maintenance");
+            if (unit.getMaintainedPct() < .5) {
+                mods.addModifier(2, "partial maintenance");
+            } else if (unit.getMaintainedPct() < 1) {
+                mods.addModifier(1, "partial maintenance");
             }
 
             // the astech issue is crazy, because you can actually be better off
@@ -5390,24 +5343,24 @@ public class Campaign implements Serializable, ITechManager {
             // the cycle and take the average per day rounding down as our team
             // size
             int helpMod = 0;
-            if (null != partWork.getUnit() && partWork.getUnit().isSelfCrewed()) {
+            if (null != unit && unit.isSelfCrewed()) {
                 int hits = 0;
-                if (null != partWork.getUnit().getEntity().getCrew()) {
-                    hits = partWork.getUnit().getEntity().getCrew().getHits();
+                if (null != unit.getEntity().getCrew()) {
+                    hits = unit.getEntity().getCrew().getHits();
                 } else {
                     hits = 6;
                 }
                 helpMod = getShorthandedModForCrews(hits);
             } else {
-                int helpers = partWork.getUnit().getAstechsMaintained();
+                int helpers = unit.getAstechsMaintained();
                 helpMod = getShorthandedMod(helpers, false);
             }
             if (helpMod > 0) {
-                target.addModifier(helpMod, "shorthanded");
+                mods.addModifier(helpMod, "shorthanded");
             }
         }
 
-        return target;
+        return mods;
     }
 
     public TargetRoll getTargetForAcquisition(IAcquisitionWork acquisition,
@@ -5646,25 +5599,11 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public int getNumberPrimaryAstechs() {
-        int astechs = getAstechPool();
-        for (Person p : getPersonnel()) {
-            if ((p.getPrimaryRole() == Person.T_ASTECH) && p.isActive()
-                    && !p.isDeployed()) {
-                astechs++;
-            }
-        }
-        return astechs;
+        return getAstechPool() + personnelRegistry.getNumberPrimaryAstechs();
     }
 
     public int getNumberSecondaryAstechs() {
-        int astechs = 0;
-        for (Person p : getPersonnel()) {
-            if ((p.getSecondaryRole() == Person.T_ASTECH) && p.isActive()
-                    && !p.isDeployed()) {
-                astechs++;
-            }
-        }
-        return astechs;
+        return personnelRegistry.getNumberSecondaryAstechs();
     }
 
     public int getAvailableAstechs(int minutes, boolean alreadyOvertime) {
@@ -5738,14 +5677,7 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public int getNumberMedics() {
-        int medics = medicPool;
-        for (Person p : getPersonnel()) {
-            if ((p.getPrimaryRole() == Person.T_MEDIC || p.getSecondaryRole() == Person.T_MEDIC)
-                    && p.isActive() && !p.isDeployed()) {
-                medics++;
-            }
-        }
-        return medics;
+        return medicPool + personnelRegistry.getNumberMedics();
     }
 
     public void increaseMedicPool(int i) {
@@ -5943,7 +5875,15 @@ public class Campaign implements Serializable, ITechManager {
         return personalKills;
     }
 
+    /**
+     * @return The parts store, which is built the first time it is needed
+     */
     public PartsStore getPartsStore() {
+        if (null == partsStore) {
+            partsStore = new PartsStore(this);
+        } else {
+            partsStore.update();
+        }
         return partsStore;
     }
 
@@ -6328,15 +6268,7 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public Part checkForExistingSparePart(Part part) {
-        for (Part spare : parts.values()) {
-            if (!spare.isSpare() || spare.getId() == part.getId()) {
-                continue;
-            }
-            if (part.isSamePartTypeAndStatus(spare)) {
-                return spare;
-            }
-        }
-        return null;
+        return sparePartIndex.findSparePart(part);
     }
 
     public void refreshNetworks() {
@@ -6714,10 +6646,7 @@ public class Campaign implements Serializable, ITechManager {
 
         int nSupply = 0;
         int nTransit = 0;
-        for (Part p : getParts()) {
-            if (!p.isSpare()) {
-                continue;
-            }
+        for (Part p : sparePartIndex.getSparePartsOfType(part)) {
             if (part.isSamePartType(p)) {
                 if (p.isPresent()) {
                     if (p instanceof Armor) { // ProtomekArmor and BaArmor are derived from Armor
@@ -7774,14 +7703,17 @@ public class Campaign implements Serializable, ITechManager {
                 // concurrent mod problems
                 // put it into a hash - 4 points of damage will mean destruction
                 HashMap<Integer, Integer> partsToDamage = new HashMap<Integer, Integer>();
-                String maintenanceReport = "<emph>" + techName + " performing maintenance</emph><br><br>";
+                StringBuilder maintenanceReport = new StringBuilder("<emph>").append(techName)
+                        .append(" performing maintenance</emph><br><br>");
+                // the modifiers which are the same for every part only need working out once
+                TargetRoll unitMods = getMaintenanceModsFor(u, tech);
                 for (Part p : u.getParts()) {
-                    String partReport = "<b>" + p.getName() + "</b> (Quality " + p.getQualityName() + ")";
                     if (!p.needsMaintenance()) {
                         continue;
                     }
+                    String partReport = "<b>" + p.getName() + "</b> (Quality " + p.getQualityName() + ")";
                     int oldQuality = p.getQuality();
-                    TargetRoll target = getTargetForMaintenance(p, tech);
+                    TargetRoll target = getTargetForMaintenance(p, tech, unitMods);
                     if (!paidMaintenance) {
                         // I should probably make this modifier user inputtable
                         target.addModifier(1, "did not pay maintenance");
@@ -7880,14 +7812,15 @@ public class Campaign implements Serializable, ITechManager {
                     } else {
                         partReport += ": quality remains " + p.getQualityName();
                     }
-                    if (null != partsToDamage.get(p.getId())) {
-                        if (partsToDamage.get(p.getId()) > 3) {
+                    Integer damage = partsToDamage.get(p.getId());
+                    if (null != damage) {
+                        if (damage > 3) {
                             partReport += ", <font color='red'><b>part destroyed</b></font>";
                         } else {
                             partReport += ", <font color='red'><b>part damaged</b></font>";
                         }
                     }
-                    maintenanceReport += partReport + "<br>";
+                    maintenanceReport.append(partReport).append("<br>");
                 }
                 int nDamage = 0;
                 int nDestroy = 0;
@@ -7904,7 +7837,8 @@ public class Campaign implements Serializable, ITechManager {
                         }
                     }
                 }
-                u.setLastMaintenanceReport(maintenanceReport);
+                u.setLastMaintenanceReport(maintenanceReport.toString());
+                // the unit only goes over its parts again if any quality or part changed
                 int quality = u.getQuality();
                 String qualityString = "";
                 boolean reverse = getCampaignOptions().reverseQualityNames();
@@ -8116,8 +8050,18 @@ public class Campaign implements Serializable, ITechManager {
     /**
      * Sets the type of rating method used.
      */
-    public void setUnitRating(IUnitRating rating) {
+    public synchronized void setUnitRating(IUnitRating rating) {
+        if (unitRating == rating) {
+            return;
+        }
+        // Only the rating in use follows the changes to the campaign
+        if ((null != unitRating) && eventHandlersRegistered) {
+            MekHQ.unregisterHandler(unitRating);
+        }
         unitRating = rating;
+        if ((null != unitRating) && eventHandlersRegistered) {
+            MekHQ.registerHandler(unitRating);
+        }
     }
 
     /**
@@ -8127,16 +8071,16 @@ public class Campaign implements Serializable, ITechManager {
     public IUnitRating getUnitRating() {
         // if we switched unit rating methods,
         if (unitRating != null && (unitRating.getUnitRatingMethod() != getCampaignOptions().getUnitRatingMethod())) {
-            unitRating = null;
+            setUnitRating(null);
         }
 
         if (unitRating == null) {
             UnitRatingMethod method = getCampaignOptions().getUnitRatingMethod();
 
             if (UnitRatingMethod.FLD_MAN_MERCS_REV.equals(method)) {
-                unitRating = new FieldManualMercRevDragoonsRating(this);
+                setUnitRating(new FieldManualMercRevDragoonsRating(this));
             } else {
-                unitRating = new CampaignOpsReputation(this);
+                setUnitRating(new CampaignOpsReputation(this));
             }
         }
 
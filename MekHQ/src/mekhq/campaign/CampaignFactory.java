@@ -19,6 +19,8 @@
 package mekhq.campaign;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.GZIPInputStream;
@@ -67,23 +69,21 @@ public class CampaignFactory {
      */
     public Campaign createCampaign(InputStream is) 
         throws CampaignXmlParseException, IOException, NullEntityException {
-        if (!is.markSupported()) {
-            is = new BufferedInputStream(is);
-        }
-
-        byte[] header = readHeader(is);
+        // The parser streams the campaign twice, so we keep the file contents in
+        // memory in their original (usually compressed) form and decompress them
+        // again for each pass.
+        final byte[] data = readFully(is);
 
-        Boolean isGzipped = false;
         // Check if the first two bytes are the GZIP magic bytes...
-        if (header.length >= 2 && header[0] == (byte) 0x1f
-            && header[1] == (byte) 0x8b) {
-            // ..if so, assume campaign is in a gzip file
-            isGzipped = true;
-            is = new GZIPInputStream(is);
-        }
+        // ..if so, assume campaign is in a gzip file
         // ...otherwise, assume we're an XML file.
+        final boolean isGzipped = data.length >= 2 && data[0] == (byte) 0x1f
+            && data[1] == (byte) 0x8b;
 
-        CampaignXmlParser parser = new CampaignXmlParser(is, this.app);
+        CampaignXmlParser parser = new CampaignXmlParser(() -> {
+            InputStream in = new ByteArrayInputStream(data);
+            return isGzipped ? new BufferedInputStream(new GZIPInputStream(in)) : in;
+        }, this.app);
 
         Campaign c = parser.parse();
         c.setPreferGzippedOutput(isGzipped);
@@ -91,12 +91,13 @@ public class CampaignFactory {
         return c;
     }
 
-    private byte[] readHeader(InputStream is) throws IOException {
-        is.mark(4);
-        byte[] header = new byte[2];
-        is.read(header);
-        is.reset();
-
-        return header;
+    private byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
     }
 }
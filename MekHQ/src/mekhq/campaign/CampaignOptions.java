@@ -319,6 +319,8 @@ public class CampaignOptions implements Serializable {
     
     //Miscellaneous
     private boolean historicalDailyLog;
+    private int autosaveInterval;
+    private int maxAutosaves;
 
     public CampaignOptions() {
         clanPriceModifier = 1.0;
@@ -579,6 +581,8 @@ public class CampaignOptions implements Serializable {
         }
         
         historicalDailyLog = false;
+        autosaveInterval = 0;
+        maxAutosaves = 3;
    }
 
     public UnitRatingMethod getUnitRatingMethod() {
@@ -1270,6 +1274,24 @@ public class CampaignOptions implements Serializable {
     public void setHistoricalDailyLog(boolean b) {
         this.historicalDailyLog = b;
     }
+
+    /** @return the number of days between autosaves, or 0 if the campaign isn't autosaved */
+    public int getAutosaveInterval() {
+        return autosaveInterval;
+    }
+
+    public void setAutosaveInterval(int days) {
+        autosaveInterval = Math.max(0, days);
+    }
+
+    /** @return the number of autosaves kept before the oldest one is deleted */
+    public int getMaxAutosaves() {
+        return maxAutosaves;
+    }
+
+    public void setMaxAutosaves(int n) {
+        maxAutosaves = Math.max(1, n);
+    }
     
     public int getEdgeCost() {
         return edgeCost;
@@ -2447,6 +2469,8 @@ public class CampaignOptions implements Serializable {
         MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "opforAeroChance", opforAeroChance);
         MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "opforLocalUnitChance", opforLocalUnitChance);
         MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "historicalDailyLog", historicalDailyLog);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "autosaveInterval", autosaveInterval);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "maxAutosaves", maxAutosaves);
 
         //Mass Repair/Salvage Options
         MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "massRepairUseExtraTime", massRepairUseExtraTime);
@@ -2991,6 +3015,10 @@ public class CampaignOptions implements Serializable {
                 retVal.opforLocalUnitChance = Integer.parseInt(wn2.getTextContent().trim());
             } else if (wn2.getNodeName().equalsIgnoreCase("historicalDailyLog")) {
                 retVal.historicalDailyLog = Boolean.parseBoolean(wn2.getTextContent().trim());
+            } else if (wn2.getNodeName().equalsIgnoreCase("autosaveInterval")) {
+                retVal.setAutosaveInterval(Integer.parseInt(wn2.getTextContent().trim()));
+            } else if (wn2.getNodeName().equalsIgnoreCase("maxAutosaves")) {
+                retVal.setMaxAutosaves(Integer.parseInt(wn2.getTextContent().trim()));
             } else if (wn2.getNodeName().equalsIgnoreCase("rats")) {
             	retVal.rats = MekHqXmlUtil.unEscape(wn2.getTextContent().trim()).split(",");
             } else if (wn2.getNodeName().equalsIgnoreCase("staticRATs")) {
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign;
+
+import java.lang.reflect.InvocationTargetException;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import megamek.common.event.MMEvent;
+import megamek.common.logging.LogLevel;
+import mekhq.MekHQ;
+import mekhq.Utilities;
+import mekhq.campaign.event.DayEndingEvent;
+import mekhq.campaign.event.LocationChangedEvent;
+import mekhq.campaign.event.MarketNewPersonnelEvent;
+import mekhq.campaign.event.NewDayEvent;
+import mekhq.campaign.event.OptionsChangedEvent;
+import mekhq.campaign.mission.AtBContract;
+import mekhq.campaign.mission.AtBScenario;
+import mekhq.campaign.mission.Mission;
+import mekhq.campaign.mission.Scenario;
+import mekhq.campaign.unit.Unit;
+
+/**
+ * Advances a campaign by a number of days without needing a user interface.
+ *
+ * Before each day the runner checks the same things the GUI nags about when advancing the day,
+ * and asks a {@link NagHandler} whether to go on; by default it stops at the first one. The
+ * reports of each day are handed to an optional {@link ReportListener} as soon as the day is done.
+ *
+ * While the days are running, the events announcing changes to individual people, parts, units
+ * and so on are not delivered, so views don't refresh after every change. Only the events which
+ * the campaign logic itself depends on (the day ending and starting, option and location changes
+ * and new recruits on the personnel market) still go out. The campaign's own indexes are brought
+ * up to date after each day, and the caller is expected to refresh its views once the run is over.
+ *
+ * A user interface should run the days through {@link #start(int, DayExecutor)} so that each day is
+ * run on its event thread, as the views read the same collections the day changes.
+ */
+public class DayAdvanceRunner {
+    /** Conditions which stop the day from being advanced unless the player agrees */
+    public enum Nag {
+        OVERDUE_LOANS("Overdue Loan Payments",
+                "You have overdue loan payments totaling %s C-bills.\nYou must deal with these payments before advancing the day.\nHere are some options:\n  - Sell off equipment to generate funds.\n  - Pay off the collateral on the loan.\n  - Default on the loan.\n  - Just cheat and remove the loan via GM mode."),
+        UNRESOLVED_PAYOUTS("Unresolved Final Payments",
+                "You have personnel who have left the unit or been killed in action but have not received their final payout.\nYou must deal with these payments before advancing the day.\nHere are some options:\n  - Sell off equipment to generate funds.\n  - Pay one or more personnel in equipment.\n  - Just cheat and use GM mode to edit the settlement."),
+        RETIREMENT_ROLL("Retirement/Defection roll required",
+                "It has been a year since the last retirement/defection roll, and it is time to do another."),
+        UNMAINTAINED_UNITS("Unmaintained Units",
+                "You have unmaintained units. Do you really wish to advance the day?"),
+        ASTECH_SHORTAGE("Astech shortage",
+                "You do not have enough astechs to provide for full maintenance. You need %d more astech(s). Do you wish to proceed?"),
+        UNMET_DEPLOYMENT("Unmet deployment requirements",
+                "You have not met the deployment levels required by contract. Do your really wish to advance the day?"),
+        PENDING_BATTLE("Pending battle",
+                "You have a pending battle. Failure to deploy will result in a defeat and a minor contract breach. Do your really wish to advance the day?");
+
+        private final String title;
+        private final String message;
+
+        Nag(String title, String message) {
+            this.title = title;
+            this.message = message;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getMessage(Object... args) {
+            return String.format(message, args);
+        }
+
+        /** @return whether the day can't be advanced at all until the player deals with it */
+        public boolean isBlocking() {
+            return this == OVERDUE_LOANS;
+        }
+    }
+
+    /** Why a run ended */
+    public enum StopReason { COMPLETED, NAG, DAY_REFUSED, CANCELLED, ERROR }
+
+    @FunctionalInterface
+    public interface NagHandler {
+        /**
+         * Called on the thread running the days, which is the executor's thread if one was given.
+         *
+         * @return <code>true</code> to advance the day anyway, <code>false</code> to stop here
+         */
+        boolean proceed(Nag nag, String message);
+    }
+
+    @FunctionalInterface
+    public interface ReportListener {
+        /**
+         * Called on the thread running the days, which is the executor's thread if one was given,
+         * once each day is done.
+         *
+         * @param day     the number of days advanced so far in this run, starting at 1
+         * @param reports the reports of that day
+         */
+        void reportsFor(int day, List<String> reports);
+    }
+
+    @FunctionalInterface
+    public interface DayExecutor {
+        /**
+         * Runs a single day and waits for it to be done.
+         *
+         * @throws Exception if the day couldn't be run
+         */
+        void execute(Runnable day) throws Exception;
+    }
+
+    /** Stops at every nag; the default for running without anyone watching */
+    public static final NagHandler STOP_AT_NAGS = (nag, message) -> false;
+
+    /* The events still delivered during a run */
+    private static final Collection<Class<? extends MMEvent>> DELIVERED_EVENTS = Arrays.asList(
+            DayEndingEvent.class, NewDayEvent.class, OptionsChangedEvent.class,
+            LocationChangedEvent.class, MarketNewPersonnelEvent.class);
+
+    private final Campaign campaign;
+    private NagHandler nagHandler = STOP_AT_NAGS;
+    private ReportListener reportListener;
+    private volatile boolean cancelled = false;
+
+    public DayAdvanceRunner(Campaign campaign) {
+        this.campaign = campaign;
+    }
+
+    public DayAdvanceRunner setNagHandler(NagHandler handler) {
+        nagHandler = (null != handler) ? handler : STOP_AT_NAGS;
+        return this;
+    }
+
+    public DayAdvanceRunner setReportListener(ReportListener listener) {
+        reportListener = listener;
+        return this;
+    }
+
+    /** Asks a running batch to stop before the next day */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Advances the given number of days on a new background thread.
+     *
+     * @return the future outcome of the run
+     */
+    public CompletableFuture<Result> start(int days) {
+        return start(days, Runnable::run);
+    }
+
+    /**
+     * Advances the given number of days from a new background thread, handing each day to the given
+     * executor and waiting for it to be done before going on with the next.
+     *
+     * A user interface should pass one which runs the day on its event thread, such as
+     * <code>SwingUtilities::invokeAndWait</code>. The campaign is then only changed, and its
+     * events only delivered, on the thread its views read it from, while the views still get to
+     * repaint and the run can still be cancelled between the days.
+     *
+     * @return the future outcome of the run, completed exceptionally if the run failed with
+     *         anything other than a runtime exception from the campaign
+     */
+    public CompletableFuture<Result> start(int days, DayExecutor executor) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(run(days, executor));
+            } catch (Throwable ex) {
+                future.completeExceptionally((ex instanceof InvocationTargetException)
+                        ? ex.getCause() : ex);
+            }
+        }, "Day advance"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /** Advances the given number of days on the current thread */
+    public Result run(int days) {
+        cancelled = false;
+        Progress progress = new Progress();
+        while (progress.isRunning(days)) {
+            advanceDay(progress);
+        }
+        return progress.toResult(days);
+    }
+
+    private Result run(int days, DayExecutor executor) throws Exception {
+        cancelled = false;
+        Progress progress = new Progress();
+        while (progress.isRunning(days)) {
+            executor.execute(() -> advanceDay(progress));
+        }
+        return progress.toResult(days);
+    }
+
+    /** Advances a single day, unless something stops it, and notes how it went */
+    private void advanceDay(Progress progress) {
+        MekHQ.suppressEvents(DELIVERED_EVENTS);
+        try {
+            if (cancelled) {
+                progress.reason = StopReason.CANCELLED;
+                return;
+            }
+            progress.nag = checkNags();
+            if (null != progress.nag) {
+                progress.reason = StopReason.NAG;
+                return;
+            }
+            if (!campaign.newDay()) {
+                progress.reason = StopReason.DAY_REFUSED;
+                return;
+            }
+            progress.advanced++;
+            catchUp();
+            if (null != reportListener) {
+                reportListener.reportsFor(progress.advanced, campaign.fetchAndClearNewReports());
+            }
+        } catch (RuntimeException ex) {
+            MekHQ.getLogger().log(getClass(), "advanceDay(Progress)", LogLevel.ERROR, //$NON-NLS-1$
+                    "Advancing the day failed after " + progress.advanced + " day(s)"); //$NON-NLS-1$ //$NON-NLS-2$
+            MekHQ.getLogger().error(getClass(), "advanceDay(Progress)", ex); //$NON-NLS-1$
+            progress.reason = StopReason.ERROR;
+        } finally {
+            MekHQ.resumeEvents();
+            if (null != progress.reason) {
+                catchUp();
+            }
+        }
+    }
+
+    /** Updates what would otherwise have followed the events which weren't delivered */
+    private void catchUp() {
+        campaign.getPersonnelRegistry().invalidate();
+        campaign.getRepairTargetCache().clear();
+    }
+
+    /** @return the nag which stopped the day, or <code>null</code> to go ahead */
+    private Nag checkNags() {
+        long overdue = campaign.getFinances().checkOverdueLoanPayments(campaign);
+        if (overdue > 0) {
+            nagHandler.proceed(Nag.OVERDUE_LOANS,
+                    Nag.OVERDUE_LOANS.getMessage(DecimalFormat.getInstance().format(overdue)));
+            return Nag.OVERDUE_LOANS;
+        }
+        if (countUnmaintainedUnits(campaign) > 0) {
+            if (!nagHandler.proceed(Nag.UNMAINTAINED_UNITS, Nag.UNMAINTAINED_UNITS.getMessage())) {
+                return Nag.UNMAINTAINED_UNITS;
+            }
+        }
+        int astechs = getAstechShortage(campaign);
+        if (astechs > 0) {
+            if (!nagHandler.proceed(Nag.ASTECH_SHORTAGE, Nag.ASTECH_SHORTAGE.getMessage(astechs))) {
+                return Nag.ASTECH_SHORTAGE;
+            }
+        }
+        if (campaign.getCampaignOptions().getUseAtB()) {
+            if (hasDeploymentDeficit(campaign)
+                    && !nagHandler.proceed(Nag.UNMET_DEPLOYMENT, Nag.UNMET_DEPLOYMENT.getMessage())) {
+                return Nag.UNMET_DEPLOYMENT;
+            }
+            if (hasPendingBattle(campaign)
+                    && !nagHandler.proceed(Nag.PENDING_BATTLE, Nag.PENDING_BATTLE.getMessage())) {
+                return Nag.PENDING_BATTLE;
+            }
+        }
+        if (hasUnresolvedPayouts(campaign)
+                && !nagHandler.proceed(Nag.UNRESOLVED_PAYOUTS, Nag.UNRESOLVED_PAYOUTS.getMessage())) {
+            return Nag.UNRESOLVED_PAYOUTS;
+        }
+        if (isRetirementRollDue(campaign)
+                && !nagHandler.proceed(Nag.RETIREMENT_ROLL, Nag.RETIREMENT_ROLL.getMessage())) {
+            return Nag.RETIREMENT_ROLL;
+        }
+        return null;
+    }
+
+    /** @return the number of units which need maintenance but have no tech assigned */
+    public static int countUnmaintainedUnits(Campaign campaign) {
+        if (!campaign.getCampaignOptions().checkMaintenance()) {
+            return 0;
+        }
+        int count = 0;
+        for (Unit u : campaign.getUnits()) {
+            if (u.requiresMaintenance() && (null == u.getTech())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** @return the number of astechs missing to do all maintenance today */
+    public static int getAstechShortage(Campaign campaign) {
+        if (!campaign.getCampaignOptions().checkMaintenance()) {
+            return 0;
+        }
+        int totalAstechMinutesNeeded = 0;
+        for (Unit u : campaign.getUnits()) {
+            // only add astech minutes for non-crewed units
+            if (!(u.requiresMaintenance() && (null == u.getTech())) && (null == u.getEngineer())) {
+                totalAstechMinutesNeeded += (u.getMaintenanceTime() * 6);
+            }
+        }
+        int minutesAvail = campaign.getPossibleAstechPoolMinutes();
+        if (campaign.isOvertimeAllowed()) {
+            minutesAvail += campaign.getPossibleAstechPoolOvertime();
+        }
+        if (minutesAvail >= totalAstechMinutesNeeded) {
+            return 0;
+        }
+        return (int) Math.ceil((totalAstechMinutesNeeded - minutesAvail) / 480D);
+    }
+
+    /** @return whether it's Sunday and an active AtB contract on the current planet lacks deployed forces */
+    public static boolean hasDeploymentDeficit(Campaign campaign) {
+        if ((campaign.getCalendar().get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY)
+                || !campaign.getLocation().isOnPlanet()) {
+            return false;
+        }
+        for (Mission m : campaign.getMissions()) {
+            if (m.isActive() && (m instanceof AtBContract)
+                    && (campaign.getDeploymentDeficit((AtBContract) m) > 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return whether an AtB battle of an active contract takes place today */
+    public static boolean hasPendingBattle(Campaign campaign) {
+        for (Mission m : campaign.getMissions()) {
+            if (!m.isActive() || !(m instanceof AtBContract)) {
+                continue;
+            }
+            for (Scenario s : m.getScenarios()) {
+                if (s.isCurrent() && (s instanceof AtBScenario) && campaign.getDate().equals(s.getDate())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** @return whether anyone who left the unit still waits for their final payout */
+    public static boolean hasUnresolvedPayouts(Campaign campaign) {
+        return !campaign.getRetirementDefectionTracker().getRetirees().isEmpty();
+    }
+
+    /** @return whether the yearly AtB retirement/defection roll is due today */
+    public static boolean isRetirementRollDue(Campaign campaign) {
+        return campaign.getCampaignOptions().getUseAtB()
+                && (Utilities.getDaysBetween(campaign.getRetirementDefectionTracker().getLastRetirementRoll().getTime(),
+                        campaign.getDate()) == 365);
+    }
+
+    /* How far a run has got; only touched by one day at a time */
+    private static class Progress {
+        int advanced = 0;
+        StopReason reason;
+        Nag nag;
+
+        boolean isRunning(int days) {
+            return (advanced < days) && (null == reason);
+        }
+
+        Result toResult(int days) {
+            return new Result(days, advanced, (null != reason) ? reason : StopReason.COMPLETED, nag);
+        }
+    }
+
+    /** The outcome of a run */
+    public static class Result {
+        private final int daysRequested;
+        private final int daysAdvanced;
+        private final StopReason stopReason;
+        private final Nag nag;
+
+        Result(int daysRequested, int daysAdvanced, StopReason stopReason, Nag nag) {
+            this.daysRequested = daysRequested;
+            this.daysAdvanced = daysAdvanced;
+            this.stopReason = stopReason;
+            this.nag = nag;
+        }
+
+        public int getDaysRequested() {
+            return daysRequested;
+        }
+
+        public int getDaysAdvanced() {
+            return daysAdvanced;
+        }
+
+        public int getDaysRemaining() {
+            return daysRequested - daysAdvanced;
+        }
+
+        public StopReason getStopReason() {
+            return stopReason;
+        }
+
+        /** @return the nag the run stopped at, if that's why it stopped */
+        public Nag getNag() {
+            return nag;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.joda.time.DateTime;
+
+import mekhq.campaign.universe.JumpGraph;
+import mekhq.campaign.universe.Planet;
+import mekhq.campaign.universe.Planets;
+
+/**
+ * Finds the jump path between two planets using A*, where the cost of a path is the recharge time
+ * spent at each planet along it and the heuristic is the straight line distance to the destination.
+ *
+ * The search runs on the planet numbering and neighbour lists of the {@link JumpGraph}, so all
+ * per-planet state lives in primitive arrays, and the open set is a binary heap. Recent results are
+ * kept in a small LRU cache keyed by start, destination and date, since the map and the contract
+ * market ask for the same routes repeatedly.
+ */
+public class JumpPathFinder {
+    /** Upper limit on the number of planets expanded in a single search */
+    private static final int MAX_EXPANSIONS = 10000;
+    private static final int CACHE_SIZE = 64;
+
+    private final Map<PathKey, List<Planet>> cache = new LinkedHashMap<PathKey, List<Planet>>(CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = -2315410254186530744L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PathKey, List<Planet>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /* The graph the cached paths were found in */
+    private JumpGraph cachedGraph;
+
+    /**
+     * @return the jump path from <code>start</code> to <code>end</code>, as of the given date. The
+     *         path is a new object owned by the caller.
+     */
+    public synchronized JumpPath calculateJumpPath(Planet start, Planet end, DateTime when) {
+        JumpGraph graph = Planets.getInstance().getJumpGraph();
+        if(null == graph) {
+            // Planets are still loading
+            return new JumpPath();
+        }
+        if(graph != cachedGraph) {
+            cache.clear();
+            cachedGraph = graph;
+        }
+        PathKey key = new PathKey(start.getId(), end.getId(), when.getMillis());
+        List<Planet> path = cache.get(key);
+        if(null == path) {
+            path = Collections.unmodifiableList(findPath(graph, start, end, when));
+            cache.put(key, path);
+        }
+        return new JumpPath(new ArrayList<>(path));
+    }
+
+    /** Forgets all cached paths. Called at the start of every new day. */
+    public synchronized void clearCache() {
+        cache.clear();
+    }
+
+    private List<Planet> findPath(JumpGraph graph, Planet start, Planet end, DateTime when) {
+        final int startIndex = graph.indexOf(start);
+        final int endIndex = graph.indexOf(end);
+        if((startIndex < 0) || (endIndex < 0)) {
+            return Collections.emptyList();
+        }
+
+        final int count = graph.size();
+        final double[] scoreG = new double[count];
+        // The heuristic is only worked out for planets the search actually reaches
+        final double[] scoreH = new double[count];
+        final int[] parent = new int[count];
+        final boolean[] closed = new boolean[count];
+        Arrays.fill(scoreG, Double.POSITIVE_INFINITY);
+        Arrays.fill(scoreH, Double.NaN);
+        Arrays.fill(parent, -1);
+        OpenSet open = new OpenSet();
+
+        int current = startIndex;
+        scoreG[current] = 0.0;
+        closed[current] = true;
+        int expansions = 0;
+        while((current != endIndex) && (expansions < MAX_EXPANSIONS)) {
+            expansions++;
+            final double currentG = scoreG[current] + graph.getPlanet(current).getRechargeTime(when);
+            final int endSlot = graph.endOfNeighbours(current, JumpGraph.JUMP_RANGE);
+            for(int slot = graph.firstNeighbour(current); slot < endSlot; slot++) {
+                int neighbour = graph.getNeighbour(slot);
+                if(closed[neighbour] || (currentG >= scoreG[neighbour])) {
+                    continue;
+                }
+                scoreG[neighbour] = currentG;
+                parent[neighbour] = current;
+                if(Double.isNaN(scoreH[neighbour])) {
+                    scoreH[neighbour] = end.getDistanceTo(graph.getPlanet(neighbour));
+                }
+                open.push(neighbour, currentG + scoreH[neighbour]);
+            }
+
+            // Entries whose planet has since been closed are stale and skipped
+            current = -1;
+            while(!open.isEmpty()) {
+                int candidate = open.pop();
+                if(!closed[candidate]) {
+                    current = candidate;
+                    break;
+                }
+            }
+            if(current < 0) {
+                // We're done - probably failed to find anything
+                return Collections.emptyList();
+            }
+            closed[current] = true;
+        }
+
+        // Back up from the last planet by parents, then reverse the direction
+        List<Planet> path = new ArrayList<>();
+        for(int i = current; i >= 0; i = parent[i]) {
+            path.add(graph.getPlanet(i));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * A binary min-heap of planet indices ordered by F score. A planet whose score improves is
+     * pushed again rather than moved, and the older entry is skipped once the planet is closed.
+     */
+    private static final class OpenSet {
+        private int[] planets = new int[64];
+        private double[] scores = new double[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int planet, double score) {
+            if(size == planets.length) {
+                planets = Arrays.copyOf(planets, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while(i > 0) {
+                int up = (i - 1) >>> 1;
+                if(scores[up] <= score) {
+                    break;
+                }
+                planets[i] = planets[up];
+                scores[i] = scores[up];
+                i = up;
+            }
+            planets[i] = planet;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int result = planets[0];
+            size--;
+            int planet = planets[size];
+            double score = scores[size];
+            int i = 0;
+            while(true) {
+                int child = 2 * i + 1;
+                if(child >= size) {
+                    break;
+                }
+                if((child + 1 < size) && (scores[child + 1] < scores[child])) {
+                    child++;
+                }
+                if(score <= scores[child]) {
+                    break;
+                }
+                planets[i] = planets[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            planets[i] = planet;
+            scores[i] = score;
+            return result;
+        }
+    }
+
+    private static final class PathKey {
+        private final String start;
+        private final String end;
+        private final long date;
+
+        PathKey(String start, String end, long date) {
+            this.start = start;
+            this.end = end;
+            this.date = date;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end, date);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if((null == obj) || (getClass() != obj.getClass())) {
+                return false;
+            }
+            final PathKey other = (PathKey) obj;
+            return start.equals(other.start) && end.equals(other.end) && (date == other.date);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import megamek.common.TargetRoll;
+import megamek.common.event.Subscribe;
+import mekhq.campaign.event.AcquisitionEvent;
+import mekhq.campaign.event.CampaignEvent;
+import mekhq.campaign.event.OvertimeModeEvent;
+import mekhq.campaign.event.PartEvent;
+import mekhq.campaign.event.PartWorkEvent;
+import mekhq.campaign.event.PersonEvent;
+import mekhq.campaign.event.ProcurementEvent;
+import mekhq.campaign.event.RepairStatusChangedEvent;
+import mekhq.campaign.event.ScenarioChangedEvent;
+import mekhq.campaign.event.UnitEvent;
+import mekhq.campaign.parts.MissingPart;
+import mekhq.campaign.parts.PartInventory;
+import mekhq.campaign.personnel.Person;
+import mekhq.campaign.work.IPartWork;
+import mekhq.campaign.work.WorkTime;
+
+/**
+ * Remembers the repair target numbers and replacement part availability shown in the repair
+ * tab, so the task list can be repainted without working them out again for every visible row.
+ *
+ * Everything is forgotten as soon as anything that goes into the target numbers may have changed:
+ * parts, personnel, units, deployments, overtime, the astech pool, the campaign options or the
+ * date. It only hears about those changes while its campaign is being played, see
+ * {@link Campaign#registerEventHandlers()}. The cache is for display only; actually doing the work still uses
+ * {@link Campaign#getTargetFor(IPartWork, Person)}.
+ */
+public class RepairTargetCache {
+    /** How soon a replacement for a missing part could be put in */
+    public enum ReplacementStatus { AVAILABLE, IN_TRANSIT, NOT_AVAILABLE }
+
+    private final Campaign campaign;
+    private final Map<Key, TargetRoll> targets = new HashMap<>();
+    private final Map<MissingPart, ReplacementStatus> replacements = new IdentityHashMap<>();
+
+    public RepairTargetCache(Campaign campaign) {
+        this.campaign = campaign;
+    }
+
+    /** @return the target number for the tech to work on the part, as of the last change to the campaign */
+    public synchronized TargetRoll getTargetFor(IPartWork partWork, Person tech) {
+        Key key = new Key(partWork, tech);
+        TargetRoll target = targets.get(key);
+        if (null == target) {
+            target = campaign.getTargetFor(partWork, tech);
+            targets.put(key, target);
+        }
+        return target;
+    }
+
+    public synchronized ReplacementStatus getReplacementStatus(MissingPart part) {
+        ReplacementStatus status = replacements.get(part);
+        if (null == status) {
+            if (part.isReplacementAvailable()) {
+                status = ReplacementStatus.AVAILABLE;
+            } else {
+                PartInventory inventories = campaign.getPartInventory(part.getNewPart());
+                status = ((inventories.getTransit() > 0) || (inventories.getOrdered() > 0))
+                        ? ReplacementStatus.IN_TRANSIT : ReplacementStatus.NOT_AVAILABLE;
+            }
+            replacements.put(part, status);
+        }
+        return status;
+    }
+
+    /** Works out the replacement status of all the missing parts among the tasks in one go */
+    public synchronized void precompute(Collection<? extends IPartWork> tasks) {
+        for (IPartWork task : tasks) {
+            if ((task instanceof MissingPart) && (null == task.getTeamId())) {
+                getReplacementStatus((MissingPart) task);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        targets.clear();
+        replacements.clear();
+    }
+
+    @Subscribe
+    public void handle(PartEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(PartWorkEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(PersonEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(UnitEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(ScenarioChangedEvent ev) {
+        clear();
+    }
+
+    /** New day, astech pool and campaign option changes */
+    @Subscribe
+    public void handle(CampaignEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(OvertimeModeEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(AcquisitionEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(ProcurementEvent ev) {
+        clear();
+    }
+
+    @Subscribe
+    public void handle(RepairStatusChangedEvent ev) {
+        clear();
+    }
+
+    /** The task and tech are compared by identity; the team and mode are part of the task's state */
+    private static final class Key {
+        private final IPartWork partWork;
+        private final Person tech;
+        private final UUID teamId;
+        private final WorkTime mode;
+
+        Key(IPartWork partWork, Person tech) {
+            this.partWork = partWork;
+            this.tech = tech;
+            this.teamId = partWork.getTeamId();
+            this.mode = partWork.getMode();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(partWork), System.identityHashCode(tech), teamId, mode);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ((null == obj) || (getClass() != obj.getClass())) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return (partWork == other.partWork) && (tech == other.tech)
+                    && Objects.equals(teamId, other.teamId) && (mode == other.mode);
+        }
+    }
+}
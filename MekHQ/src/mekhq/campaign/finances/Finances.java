@@ -32,7 +32,9 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Collections;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.ResourceBundle;
 
 import org.w3c.dom.DOMException;
@@ -69,6 +71,7 @@ public class Finances implements Serializable {
     private ResourceBundle resourceMap;
 
     private ArrayList<Transaction> transactions;
+    private Ledger ledger;
     private ArrayList<Loan> loans;
     private ArrayList<Asset> assets;
     private int loanDefaults;
@@ -98,6 +101,7 @@ public class Finances implements Serializable {
 
     public Finances() {
         transactions = new ArrayList<Transaction>();
+        ledger = new Ledger();
         loans = new ArrayList<Loan>();
         assets = new ArrayList<Asset>();
         loanDefaults = 0;
@@ -109,11 +113,14 @@ public class Finances implements Serializable {
     }
 
     public long getBalance() {
-        long balance = 0;
-        for (Transaction transaction : transactions) {
-            balance += transaction.getAmount();
-        }
-        return balance;
+        return ledger.getBalance();
+    }
+
+    /**
+     * @return The running totals for the current transactions
+     */
+    public Ledger getLedger() {
+        return ledger;
     }
 
     public long getLoanBalance() {
@@ -147,7 +154,7 @@ public class Finances implements Serializable {
             return false;
         }
         Transaction t = new Transaction(-1 * amount, category, reason, date);
-        transactions.add(t);
+        addTransaction(t);
         if (null != wentIntoDebt && !isInDebt()) {
             wentIntoDebt = null;
         }
@@ -157,7 +164,7 @@ public class Finances implements Serializable {
 
     public void credit(long amount, int category, String reason, Date date) {
         Transaction t = new Transaction(amount, category, reason, date);
-        transactions.add(t);
+        addTransaction(t);
         if (null == wentIntoDebt && isInDebt()) {
             wentIntoDebt = date;
         }
@@ -172,11 +179,64 @@ public class Finances implements Serializable {
     public void newFiscalYear(Date date) {
         long carryover = getBalance();
         transactions = new ArrayList<Transaction>();
+        ledger = new Ledger();
         credit(carryover, Transaction.C_START, resourceMap.getString("Carryover.text"), date);
     }
 
-    public ArrayList<Transaction> getAllTransactions() {
-        return transactions;
+    private void addTransaction(Transaction t) {
+        transactions.add(t);
+        ledger.add(t);
+    }
+
+    /**
+     * Removes a transaction from the ledger.
+     *
+     * @param t The transaction to remove
+     * @return  The report text for the voided transaction, or null if it was not found
+     */
+    public String voidTransaction(Transaction t) {
+        int index = indexOf(t);
+        if (index < 0) {
+            return null;
+        }
+        transactions.remove(index);
+        ledger.remove(index, t, transactions);
+        return t.voidTransaction();
+    }
+
+    /**
+     * Updates the running totals after a transaction has been edited in place.
+     *
+     * @param old     A copy of the transaction before it was edited
+     * @param updated The edited transaction
+     * @return        The report text for the change, or null if the transaction was not found
+     */
+    public String updateTransaction(Transaction old, Transaction updated) {
+        int index = indexOf(updated);
+        if (index < 0) {
+            return null;
+        }
+        ledger.update(index, old, updated, transactions);
+        return updated.updateTransaction(old);
+    }
+
+    private int indexOf(Transaction t) {
+        for (int i = 0; i < transactions.size(); i++) {
+            if (transactions.get(i) == t) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return An unmodifiable view of the transactions for the current fiscal year, in the order
+     *         they were entered. Use {@link #voidTransaction(Transaction)} and
+     *         {@link #updateTransaction(Transaction, Transaction)} to change them so the totals
+     *         in the {@link Ledger} stay correct.
+     */
+    public List<Transaction> getAllTransactions() {
+        return Collections.unmodifiableList(transactions);
     }
 
     public ArrayList<Loan> getAllLoans() {
@@ -215,7 +275,7 @@ public class Finances implements Serializable {
         for (int x = 0; x < nl.getLength(); x++) {
             Node wn2 = nl.item(x);
             if (wn2.getNodeName().equalsIgnoreCase("transaction")) {
-                retVal.transactions.add(Transaction.generateInstanceFromXML(wn2));
+                retVal.addTransaction(Transaction.generateInstanceFromXML(wn2));
             } else if (wn2.getNodeName().equalsIgnoreCase("loan")) {
                 retVal.loans.add(Loan.generateInstanceFromXML(wn2));
             } else if (wn2.getNodeName().equalsIgnoreCase("asset")) {
@@ -472,15 +532,13 @@ public class Finances implements Serializable {
 			CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader("Date", "Category", "Description", "Amount", "RunningTotal"));
 			SimpleDateFormat df = new SimpleDateFormat("MM/dd/yyyy");
 			
-			int running_total = 0;
 			for (int i = 0; i < transactions.size(); i++) {
-				running_total += transactions.get(i).getAmount();
 				csvPrinter.printRecord(
 					df.format(transactions.get(i).getDate()),
 					transactions.get(i).getCategoryName(),
 					transactions.get(i).getDescription(),
 					transactions.get(i).getAmount(),
-					running_total
+					ledger.getBalanceAfter(i)
 				);
 			}
 
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.finances;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Running totals for the transactions in {@link Finances}. The totals are updated as each transaction
+ * is added, removed or changed rather than summed from the transaction list when they are needed,
+ * so the current balance is always available in constant time.
+ *
+ * Besides the overall balance this tracks the total for each transaction category, the balance after
+ * each transaction in the order they were entered, and the credits and debits in each calendar month.
+ */
+public class Ledger implements Serializable {
+
+    private static final long serialVersionUID = -2480734562271452410L;
+
+    /** Index into the monthly totals for the sum of positive transactions */
+    public static final int CREDITS = 0;
+    /** Index into the monthly totals for the sum of negative transactions, as a positive amount */
+    public static final int DEBITS = 1;
+
+    private long balance;
+    private final long[] categoryTotals = new long[Transaction.C_NUM];
+    private long[] runningBalances = new long[64];
+    private int size;
+    /* Keyed by year * 12 + month */
+    private final TreeMap<Integer, long[]> monthlyTotals = new TreeMap<>();
+
+    private transient Calendar calendar;
+
+    /**
+     * Records a transaction added at the end of the list.
+     */
+    public void add(Transaction t) {
+        balance += t.getAmount();
+        if (size == runningBalances.length) {
+            runningBalances = Arrays.copyOf(runningBalances, size * 2);
+        }
+        runningBalances[size++] = balance;
+        applyToAggregates(t.getAmount(), t.getCategory(), t.getDate(), 1);
+    }
+
+    /**
+     * Records the removal of a transaction.
+     *
+     * @param index        The position the transaction had in the list
+     * @param t            The transaction that was removed
+     * @param transactions The list after the transaction was removed
+     */
+    public void remove(int index, Transaction t, List<Transaction> transactions) {
+        balance -= t.getAmount();
+        applyToAggregates(t.getAmount(), t.getCategory(), t.getDate(), -1);
+        size--;
+        recalculateRunningBalances(index, transactions);
+    }
+
+    /**
+     * Records a change to the amount, category or date of a transaction.
+     *
+     * @param index        The position of the transaction in the list
+     * @param old          A copy of the transaction before it was changed
+     * @param updated      The transaction after the change
+     * @param transactions The list of transactions
+     */
+    public void update(int index, Transaction old, Transaction updated, List<Transaction> transactions) {
+        balance += updated.getAmount() - old.getAmount();
+        applyToAggregates(old.getAmount(), old.getCategory(), old.getDate(), -1);
+        applyToAggregates(updated.getAmount(), updated.getCategory(), updated.getDate(), 1);
+        if (updated.getAmount() != old.getAmount()) {
+            recalculateRunningBalances(index, transactions);
+        }
+    }
+
+    /**
+     * Clears all totals and recalculates them from a list of transactions.
+     */
+    public void rebuild(List<Transaction> transactions) {
+        clear();
+        for (Transaction t : transactions) {
+            add(t);
+        }
+    }
+
+    public void clear() {
+        balance = 0;
+        Arrays.fill(categoryTotals, 0);
+        size = 0;
+        monthlyTotals.clear();
+    }
+
+    /**
+     * @return The sum of all transactions
+     */
+    public long getBalance() {
+        return balance;
+    }
+
+    /**
+     * @param category One of the {@link Transaction} category constants
+     * @return         The sum of all transactions in the category
+     */
+    public long getCategoryTotal(int category) {
+        if ((category < 0) || (category >= categoryTotals.length)) {
+            return 0;
+        }
+        return categoryTotals[category];
+    }
+
+    /**
+     * @param index The position of a transaction in the list
+     * @return      The balance after that transaction and all the ones before it in the list
+     */
+    public long getBalanceAfter(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return runningBalances[index];
+    }
+
+    /**
+     * @return An unmodifiable view of the credits and debits in each month that has transactions,
+     *         keyed by year * 12 + month. Each value is indexed by {@link #CREDITS} and {@link #DEBITS}.
+     */
+    public SortedMap<Integer, long[]> getMonthlyTotals() {
+        return Collections.unmodifiableSortedMap(monthlyTotals);
+    }
+
+    /**
+     * @return The sum of all transactions dated within the months from <code>from</code> to
+     *         <code>to</code>, inclusive.
+     */
+    public long getNetChange(Date from, Date to) {
+        long net = 0;
+        for (long[] totals : monthlyTotals.subMap(getMonthKey(from), true, getMonthKey(to), true).values()) {
+            net += totals[CREDITS] - totals[DEBITS];
+        }
+        return net;
+    }
+
+    /**
+     * @return The key used for the month containing the date in {@link #getMonthlyTotals()}
+     */
+    public int getMonthKey(Date date) {
+        if (null == calendar) {
+            calendar = new GregorianCalendar();
+        }
+        calendar.setTime(date);
+        return calendar.get(Calendar.YEAR) * 12 + calendar.get(Calendar.MONTH);
+    }
+
+    private void applyToAggregates(long amount, int category, Date date, int sign) {
+        if ((category >= 0) && (category < categoryTotals.length)) {
+            categoryTotals[category] += sign * amount;
+        }
+        if (null != date) {
+            int key = getMonthKey(date);
+            long[] totals = monthlyTotals.computeIfAbsent(key, k -> new long[2]);
+            if (amount > 0) {
+                totals[CREDITS] += sign * amount;
+            } else {
+                totals[DEBITS] -= sign * amount;
+            }
+            if ((totals[CREDITS] == 0) && (totals[DEBITS] == 0)) {
+                monthlyTotals.remove(key);
+            }
+        }
+    }
+
+    private void recalculateRunningBalances(int from, List<Transaction> transactions) {
+        long running = (from > 0) ? runningBalances[from - 1] : 0;
+        for (int i = from; i < size; i++) {
+            running += transactions.get(i).getAmount();
+            runningBalances[i] = running;
+        }
+    }
+}
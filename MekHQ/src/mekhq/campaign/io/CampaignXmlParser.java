@@ -18,6 +18,8 @@
  */
 package mekhq.campaign.io;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -35,11 +37,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -115,7 +119,16 @@ import mekhq.module.atb.AtBEventProcessor;
 
 public class CampaignXmlParser {
 
+    /**
+     * Supplies a fresh stream over the campaign XML. The parser makes two streaming passes over the
+     * file, so it needs to be able to start from the beginning more than once.
+     */
+    public interface XmlSource {
+        InputStream open() throws IOException;
+    }
+
     private InputStream is;
+    private XmlSource source;
     private MekHQ app;
 
     public CampaignXmlParser(InputStream is, MekHQ app) {
@@ -123,17 +136,28 @@ public class CampaignXmlParser {
         this.app = app;
     }
 
+    public CampaignXmlParser(XmlSource source, MekHQ app) {
+        this.source = source;
+        this.app = app;
+    }
+
     public void close() throws IOException {
-        this.is.close();
+        if (null != is) {
+            this.is.close();
+        }
     }
 
     /**
      * Designed to create a campaign object from an input stream containing an XML structure.
      *
-     * @param is The file holding the XML, in InputStream form.
+     * The file is streamed rather than parsed into a single DOM. The first pass only reads the
+     * campaign info and any custom units, which need to be in place before units can be loaded.
+     * The second pass hands each top-level section to its loader as it arrives; the large lists
+     * (units, personnel, parts, missions, etc.) are handed over one element at a time so that only
+     * a small fragment of the document is held in memory at once.
+     *
      * @return The created Campaign object, or null if there was a problem.
-     * @throws ParseException
-     * @throws DOMException
+     * @throws CampaignXmlParseException
      * @throws NullEntityException
      */
     public Campaign parse() throws CampaignXmlParseException, NullEntityException {
@@ -145,116 +169,104 @@ public class CampaignXmlParser {
         Campaign retVal = new Campaign();
         retVal.setApp(app);
 
-        Document xmlDoc = null;
-
+        DocumentBuilder db;
         try {
-            // Using factory get an instance of document builder
-            DocumentBuilder db = MekHqXmlUtil.newSafeDocumentBuilder();
-
-            // Parse using builder to get DOM representation of the XML file
-            xmlDoc = db.parse(is);
+            // Using factory get an instance of document builder, which we use
+            // to create the DOM fragments handed to the individual loaders
+            db = MekHqXmlUtil.newSafeDocumentBuilder();
+            if (null == source) {
+                source = bufferStream(is);
+            }
         } catch (Exception ex) {
             MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, ex);
 
             throw new CampaignXmlParseException(ex);
         }
 
-        Element campaignEle = xmlDoc.getDocumentElement();
-        NodeList nl = campaignEle.getChildNodes();
-
-        // Get rid of empty text nodes and adjacent text nodes...
-        // Stupid weird parsing of XML. At least this cleans it up.
-        campaignEle.normalize();
-
-        Version version = new Version(campaignEle.getAttribute("version"));
-
-        // we need to iterate through three times, the first time to collect
-        // any custom units that might not be written yet
-        for (int x = 0; x < nl.getLength(); x++) {
-            Node wn = nl.item(x);
-
-            if (wn.getParentNode() != campaignEle) {
-                continue;
-            }
-
-            int xc = wn.getNodeType();
-
-            if (xc == Node.ELEMENT_NODE) {
-                // This is what we really care about.
-                // All the meat of our document is in this node type, at this
-                // level.
-                // Okay, so what element is it?
-                String xn = wn.getNodeName();
-
+        long timestamp = System.currentTimeMillis();
+        Version version;
+
+        // The first pass collects the campaign info and any custom units that
+        // might not be written yet. Everything else is skipped without being parsed.
+        try (InputStream in = source.open()) {
+            XMLStreamReader reader = MekHqXmlUtil.createSafeXmlStreamReader(in);
+            version = new Version(readCampaignVersion(reader));
+            while (MekHqXmlUtil.nextChildElement(reader)) {
+                String xn = reader.getLocalName();
                 if (xn.equalsIgnoreCase("info")) { // This is needed so that the campaign name gets set in retVal
                     try {
-                        processInfoNode(retVal, wn, version);
+                        processInfoNode(retVal, MekHqXmlUtil.readElement(reader, db.newDocument()), version);
                     } catch (DOMException e) {
                         throw new CampaignXmlParseException(e);
                     }
                 } else if (xn.equalsIgnoreCase("custom")) {
-                    processCustom(retVal, wn);
+                    processCustom(retVal, MekHqXmlUtil.readElement(reader, db.newDocument()));
+                } else {
+                    MekHqXmlUtil.skipElement(reader);
                 }
-            } else {
-                // If it's a text node or attribute or whatever at this level,
-                // it's probably white-space.
-                // We can safely ignore it even if it isn't, for now.
-                continue;
             }
+            reader.close();
+        } catch (IOException | XMLStreamException ex) {
+            MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, ex);
+
+            throw new CampaignXmlParseException(ex);
         }
         MechSummaryCache.getInstance().loadMechData();
 
-        // the second time to check for any null entities
-        for (int x = 0; x < nl.getLength(); x++) {
-            Node wn = nl.item(x);
-
-            if (wn.getParentNode() != campaignEle) {
-                continue;
-            }
+        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
+                String.format("[Campaign Load] Info and custom units read in %dms", //$NON-NLS-1$
+                        System.currentTimeMillis() - timestamp));
+        timestamp = System.currentTimeMillis();
 
-            int xc = wn.getNodeType();
+        boolean foundPersonnelMarket = false;
+        boolean foundContractMarket = false;
+        boolean foundUnitMarket = false;
 
-            if (xc == Node.ELEMENT_NODE) {
-                // This is what we really care about.
-                // All the meat of our document is in this node type, at this
-                // level.
-                // Okay, so what element is it?
-                String xn = wn.getNodeName();
+        // The second pass loads everything else, section by section.
+        try (InputStream in = source.open()) {
+            XMLStreamReader reader = MekHqXmlUtil.createSafeXmlStreamReader(in);
+            readCampaignVersion(reader);
+            while (MekHqXmlUtil.nextChildElement(reader)) {
+                String xn = reader.getLocalName();
 
+                // Lists of objects are loaded one element at a time
                 if (xn.equalsIgnoreCase("units")) {
-                    String missingList = checkUnits(wn);
+                    String missingList = streamUnitNodes(retVal, reader, db, version);
                     if (null != missingList) {
                         throw new NullEntityException(missingList);
                     }
+                    continue;
+                } else if (xn.equalsIgnoreCase("parts")) {
+                    streamNodes(reader, db, "part", "Part", //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processPartNode(retVal, wn, version));
+                    continue;
+                } else if (xn.equalsIgnoreCase("personnel")) {
+                    // TODO: Make this depending on campaign options
+                    // TODO: hoist registerAll out of this
+                    InjuryTypes.registerAll();
+                    streamNodes(reader, db, "person", "Personnel", //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processPersonNode(retVal, wn, version));
+                    continue;
+                } else if (xn.equalsIgnoreCase("ancestors")) {
+                    streamNodes(reader, db, "ancestor", "Ancestor", //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processAncestorNode(retVal, wn, version));
+                    continue;
+                } else if (xn.equalsIgnoreCase("missions")) {
+                    streamNodes(reader, db, "mission", "Mission", //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processMissionNode(retVal, wn, version));
+                    continue;
+                } else if (xn.equalsIgnoreCase("kills")) {
+                    streamNodes(reader, db, "kill", "Kill", //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processKillNode(retVal, wn, version));
+                    continue;
+                } else if (xn.equalsIgnoreCase("info") || xn.equalsIgnoreCase("custom")) {
+                    // already processed in the first pass
+                    MekHqXmlUtil.skipElement(reader);
+                    continue;
                 }
-            } else {
-                // If it's a text node or attribute or whatever at this level,
-                // it's probably white-space.
-                // We can safely ignore it even if it isn't, for now.
-                continue;
-            }
-        }
-
-        boolean foundPersonnelMarket = false;
-        boolean foundContractMarket = false;
-        boolean foundUnitMarket = false;
 
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < nl.getLength(); x++) {
-            Node wn = nl.item(x);
-
-            if (wn.getParentNode() != campaignEle) {
-                continue;
-            }
-
-            int xc = wn.getNodeType();
-
-            if (xc == Node.ELEMENT_NODE) {
-                // This is what we really care about.
-                // All the meat of our document is in this node type, at this
-                // level.
-                // Okay, so what element is it?
-                String xn = wn.getNodeName();
+                // Everything else is small enough to hand over as a whole section
+                Node wn = MekHqXmlUtil.readElement(reader, db.newDocument());
 
                 if (xn.equalsIgnoreCase("campaignOptions")) {
                     retVal.setCampaignOptions(CampaignOptions
@@ -262,22 +274,6 @@ public class CampaignXmlParser {
                 } else if (xn.equalsIgnoreCase("randomSkillPreferences")) {
                     retVal.setRandomSkillPreferences(RandomSkillPreferences
                             .generateRandomSkillPreferencesFromXml(wn));
-                } /* We don't need this since info is processed above in the first iteration...
-                else if (xn.equalsIgnoreCase("info")) {
-                    processInfoNode(retVal, wn, version);
-                }*/ else if (xn.equalsIgnoreCase("parts")) {
-                    processPartNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("personnel")) {
-                    // TODO: Make this depending on campaign options
-                    // TODO: hoist registerAll out of this
-                    InjuryTypes.registerAll();
-                    processPersonnelNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("ancestors")) {
-                    processAncestorNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("units")) {
-                    processUnitNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("missions")) {
-                    processMissionNodes(retVal, wn, version);
                 } else if (xn.equalsIgnoreCase("forces")) {
                     processForces(retVal, wn, version);
                 } else if (xn.equalsIgnoreCase("finances")) {
@@ -291,8 +287,6 @@ public class CampaignXmlParser {
                     processSpecialAbilityNodes(retVal, wn, version);
                 } else if (xn.equalsIgnoreCase("gameOptions")) {
                     processGameOptionNodes(retVal, wn);
-                } else if (xn.equalsIgnoreCase("kills")) {
-                    processKillNodes(retVal, wn, version);
                 } else if (xn.equalsIgnoreCase("shoppingList")) {
                     retVal.setShoppingList(ShoppingList.generateInstanceFromXML(
                             wn, retVal, version));
@@ -327,15 +321,18 @@ public class CampaignXmlParser {
                 } else if (xn.equalsIgnoreCase("customPlanetaryEvents")) {
                     updatePlanetaryEventsFromXML(wn);
                 }
-
-            } else {
-                // If it's a text node or attribute or whatever at this level,
-                // it's probably white-space.
-                // We can safely ignore it even if it isn't, for now.
-                continue;
             }
+            reader.close();
+        } catch (IOException | XMLStreamException ex) {
+            MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, ex);
+
+            throw new CampaignXmlParseException(ex);
         }
 
+        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
+                String.format("[Campaign Load] Campaign sections read in %dms", //$NON-NLS-1$
+                        System.currentTimeMillis() - timestamp));
+
         // Okay, after we've gone through all the nodes and constructed the
         // Campaign object...
         // We need to do a post-process pass to restore a number of references.
@@ -373,7 +370,7 @@ public class CampaignXmlParser {
                     .getTechLevel() + 1);
         }
 
-        long timestamp = System.currentTimeMillis();
+        timestamp = System.currentTimeMillis();
 
         // loop through forces to set force id
         for (Force f : retVal.getAllForces()) {
@@ -537,6 +534,8 @@ public class CampaignXmlParser {
         for (Part prt : removeParts) {
             retVal.removePart(prt);
         }
+        // unit assignments and engine names may have changed above
+        retVal.rebuildSparePartIndex();
 
         MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
                 String.format("[Campaign Load] Parts processed in %dms", //$NON-NLS-1$
@@ -800,6 +799,8 @@ public class CampaignXmlParser {
         timestamp = System.currentTimeMillis();
 
         retVal.setUnitRating(null);
+        // Fix-ups above may have changed personnel without telling the registry
+        retVal.getPersonnelRegistry().invalidate();
 
         MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
                 "Load of campaign file complete!"); //$NON-NLS-1$
@@ -844,6 +845,69 @@ public class CampaignXmlParser {
         }
     }
 
+    /**
+     * Advances the reader to the root campaign element.
+     *
+     * @return The value of the version attribute, or an empty string if it is not present
+     */
+    private static String readCampaignVersion(XMLStreamReader reader) throws XMLStreamException {
+        if (!MekHqXmlUtil.nextChildElement(reader)) {
+            throw new XMLStreamException("No campaign element found"); //$NON-NLS-1$
+        }
+        String version = reader.getAttributeValue(null, "version"); //$NON-NLS-1$
+        return (null == version) ? "" : version;
+    }
+
+    /**
+     * Reads the rest of a stream into memory so it can be read more than once. The parser
+     * is handed an already decompressed stream in this case, so this is only a fallback for
+     * callers that do not provide an {@link XmlSource}.
+     */
+    private static XmlSource bufferStream(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        final byte[] data = out.toByteArray();
+        return () -> new ByteArrayInputStream(data);
+    }
+
+    /**
+     * Loads each child of the section the reader is positioned on, converting one element at a
+     * time into a DOM fragment. Children with an unexpected name are logged and skipped.
+     *
+     * @param reader      A stream reader positioned on the start tag of the section
+     * @param db          Used to create the document holding each fragment
+     * @param elementName The expected name of each child element
+     * @param label       The name of the section used in log messages
+     * @param loader      Loads a single child node into the campaign
+     */
+    private static void streamNodes(XMLStreamReader reader, DocumentBuilder db, String elementName,
+            String label, Consumer<Node> loader) throws XMLStreamException {
+        final String METHOD_NAME = "streamNodes(XMLStreamReader,DocumentBuilder,String,String,Consumer<Node>)"; //$NON-NLS-1$
+
+        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
+                "Loading " + label + " Nodes from XML..."); //$NON-NLS-1$ //$NON-NLS-2$
+
+        while (MekHqXmlUtil.nextChildElement(reader)) {
+            if (!reader.getLocalName().equalsIgnoreCase(elementName)) {
+                // Error condition of sorts!
+                // Errr, what should we do here?
+                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
+                        "Unknown node type not loaded in " + label + " nodes: " //$NON-NLS-1$ //$NON-NLS-2$
+                                + reader.getLocalName());
+                MekHqXmlUtil.skipElement(reader);
+                continue;
+            }
+            loader.accept(MekHqXmlUtil.readElement(reader, db.newDocument()));
+        }
+
+        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
+                "Load " + label + " Nodes Complete!"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
     /**
      * Pulled out purely for encapsulation. Makes the code neater and easier to
      * read.
@@ -919,12 +983,10 @@ public class CampaignXmlParser {
                     // First, get all the child nodes;
                     NodeList nl2 = wn.getChildNodes();
 
-                    // Then, make sure the report is empty. *just* in case.
+                    // This replaces the report entirely. *just* in case.
                     // ...That is, creating a new campaign throws in a date line
                     // for us...
-                    // So make sure it's cleared out.
-                    retVal.getCurrentReport().clear();
-
+                    List<String> reports = new ArrayList<>();
                     for (int x2 = 0; x2 < nl2.getLength(); x2++) {
                         Node wn2 = nl2.item(x2);
 
@@ -933,9 +995,11 @@ public class CampaignXmlParser {
                         }
 
                         if (wn2.getNodeName().equalsIgnoreCase("reportLine")) {
-                            retVal.getCurrentReport().add(wn2.getTextContent());
+                            reports.add(wn2.getTextContent());
                         }
                     }
+                    // Everything's new
+                    retVal.setCurrentReport(reports);
                 } else if (xn.equalsIgnoreCase("faction")) {
                     if (version.getMajorVersion() == 0
                             && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
@@ -1012,22 +1076,6 @@ public class CampaignXmlParser {
             retVal.setRanks(new Ranks(rankSystem));
             retVal.getRanks().setOldRankSystem(rankSystem);
         }
-
-        // TODO: this could probably be better
-        retVal.setCurrentReportHTML(Utilities.combineString(retVal.getCurrentReport(), Campaign.REPORT_LINEBREAK));
-
-        // Everything's new
-        List<String> newReports = new ArrayList<String>(retVal.getCurrentReport().size() * 2);
-        boolean firstReport = true;
-        for(String report : retVal.getCurrentReport()) {
-            if (firstReport) {
-                firstReport = false;
-            } else {
-                newReports.add(Campaign.REPORT_LINEBREAK);
-            }
-            newReports.add(report);
-        }
-        retVal.setNewReports(newReports);
     }
 
     private static Date parseDate(DateFormat df, String value) throws CampaignXmlParseException {
@@ -1168,81 +1216,20 @@ public class CampaignXmlParser {
                 "Load of Force Organization complete!");
     }
 
-    private static void processPersonnelNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processPersonnelNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Personnel Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
+    private static void processPersonNode(Campaign retVal, Node wn, Version version) {
+        Person p = Person.generateInstanceFromXML(wn, retVal, version);
 
-            if (!wn2.getNodeName().equalsIgnoreCase("person")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Personnel nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Person p = Person.generateInstanceFromXML(wn2, retVal, version);
-
-            if (p != null) {
-                retVal.importPerson(p);
-            }
+        if (p != null) {
+            retVal.importPerson(p);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Personnel Nodes Complete!"); //$NON-NLS-1$
     }
 
-    private static void processAncestorNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processAncestorNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Ancestor Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
+    private static void processAncestorNode(Campaign retVal, Node wn, Version version) {
+        Ancestors a = Ancestors.generateInstanceFromXML(wn, retVal, version);
 
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            if (!wn2.getNodeName().equalsIgnoreCase("ancestor")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Ancestor nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Ancestors a = Ancestors.generateInstanceFromXML(wn2, retVal, version);
-
-            if (a != null) {
-                retVal.importAncestors(a);
-            }
+        if (a != null) {
+            retVal.importAncestors(a);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Ancestor Nodes Complete!"); //$NON-NLS-1$
     }
 
     private static void processSkillTypeNodes(Campaign retVal, Node wn,
@@ -1323,39 +1310,11 @@ public class CampaignXmlParser {
                 "Load Special Ability Nodes Complete!"); //$NON-NLS-1$
     }
 
-    private static void processKillNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processKillNodes(Campaign,Node,Version"; //$NON-NLS-1$
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Kill Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            } else if (!wn2.getNodeName().equalsIgnoreCase("kill")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Kill nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Kill kill = Kill.generateInstanceFromXML(wn2, version);
-            if (kill != null) {
-                retVal.importKill(kill);
-            }
+    private static void processKillNode(Campaign retVal, Node wn, Version version) {
+        Kill kill = Kill.generateInstanceFromXML(wn, version);
+        if (kill != null) {
+            retVal.importKill(kill);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Kill Nodes Complete!"); //$NON-NLS-1$
     }
 
     private static void processGameOptionNodes(Campaign retVal, Node wn) {
@@ -1523,257 +1482,199 @@ public class CampaignXmlParser {
         }
     }
 
-    private static void processMissionNodes(Campaign retVal, Node wn, Version version) {
-        final String METHOD_NAME = "processMissionNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Mission Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            if (!wn2.getNodeName().equalsIgnoreCase("mission")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                        "Unknown node type not loaded in Mission nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Mission m = Mission.generateInstanceFromXML(wn2, retVal, version);
+    private static void processMissionNode(Campaign retVal, Node wn, Version version) {
+        Mission m = Mission.generateInstanceFromXML(wn, retVal, version);
 
-            if (m != null) {
-                retVal.importMission(m);
-            }
+        if (m != null) {
+            retVal.importMission(m);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Mission Nodes Complete!"); //$NON-NLS-1$
     }
 
-    private static String checkUnits(Node wn) {
-        final String METHOD_NAME = "checkUnits(Node)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO, //$NON-NLS-1$
-                "Checking for missing entities..."); //$NON-NLS-1$
-
-        ArrayList<String> unitList = new ArrayList<String>();
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
+    /**
+     * Streams the units section, checking each unit for a missing entity before loading it. Once
+     * a missing entity has been found no more units are loaded, but the rest are still checked so
+     * the complete list can be reported.
+     *
+     * @return A list of the missing entities, or null if all were found
+     */
+    private static String streamUnitNodes(Campaign retVal, XMLStreamReader reader,
+            DocumentBuilder db, Version version) throws XMLStreamException {
+        final String METHOD_NAME = "streamUnitNodes(Campaign,XMLStreamReader,DocumentBuilder,Version)"; //$NON-NLS-1$
 
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
+        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
+                "Loading Unit Nodes from XML..."); //$NON-NLS-1$
 
-            if (!wn2.getNodeName().equalsIgnoreCase("unit")) {
+        List<String> unitList = new ArrayList<>();
+        while (MekHqXmlUtil.nextChildElement(reader)) {
+            if (!reader.getLocalName().equalsIgnoreCase("unit")) {
+                // Error condition of sorts!
+                // Errr, what should we do here?
+                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
+                        "Unknown node type not loaded in Unit nodes: " //$NON-NLS-1$
+                                + reader.getLocalName());
+                MekHqXmlUtil.skipElement(reader);
                 continue;
             }
 
-            NodeList nl = wn2.getChildNodes();
-
-            for (int y = 0; y < nl.getLength(); y++) {
-                Node wn3 = nl.item(y);
-                if (wn3.getNodeName().equalsIgnoreCase("entity")) {
-                    try {
-                        if (null == MekHqXmlUtil.getEntityFromXmlString(wn3)) {
-                            String name = MekHqXmlUtil
-                                    .getEntityNameFromXmlString(wn3);
-                            if (!unitList.contains(name)) {
-                                unitList.add(name);
-                            }
-                        }
-                    } catch (Exception e) {
-                        MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME,
-                            "Could not read entity from XML", e); //$NON-NLS-1$
-                    }
+            Node wn = MekHqXmlUtil.readElement(reader, db.newDocument());
+            Node entityNode = getEntityNode(wn);
+            Entity entity = readEntity(entityNode);
+            if ((null != entityNode) && (null == entity)) {
+                String missing = MekHqXmlUtil.getEntityNameFromXmlString(entityNode);
+                if (!unitList.contains(missing)) {
+                    unitList.add(missing);
                 }
+            } else if (unitList.isEmpty()) {
+                processUnitNode(retVal, wn, version, entity);
             }
         }
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Finished checking for missing entities!"); //$NON-NLS-1$
 
         if (unitList.isEmpty()) {
+            MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
+                    "Load Unit Nodes Complete!"); //$NON-NLS-1$
             return null;
         } else {
-            String unitListString = "";
+            StringBuilder unitListString = new StringBuilder();
             for (String s : unitList) {
-                unitListString += "\n" + s;
+                unitListString.append("\n").append(s);
             }
             MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
                 String.format("Could not load the following units: %s", unitListString)); //$NON-NLS-1$
-            return unitListString;
+            return unitListString.toString();
         }
     }
 
-    private static void processUnitNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processUnitNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Unit Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            if (!wn2.getNodeName().equalsIgnoreCase("unit")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Unit nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Unit u = Unit.generateInstanceFromXML(wn2, version);
-
-            if (u != null) {
-                retVal.importUnit(u);
+    /**
+     * @param wn A unit node
+     * @return   The unit's entity node, or null if it has none
+     */
+    private static Node getEntityNode(Node wn) {
+        NodeList nl = wn.getChildNodes();
+        for (int y = 0; y < nl.getLength(); y++) {
+            Node wn2 = nl.item(y);
+            if (wn2.getNodeName().equalsIgnoreCase("entity")) {
+                return wn2;
             }
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Unit Nodes Complete!"); //$NON-NLS-1$
+        return null;
     }
 
-    private static void processPartNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processPartNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Part Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
+    /**
+     * Reads a unit's entity. The entity is handed on to the unit, so each entity is only parsed once.
+     *
+     * @param entityNode The unit's entity node, may be null
+     * @return           The entity, or null if there is no entity node or it cannot be loaded
+     */
+    private static Entity readEntity(Node entityNode) {
+        final String METHOD_NAME = "readEntity(Node)"; //$NON-NLS-1$
 
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
+        if (null == entityNode) {
+            return null;
+        }
+        try {
+            return MekHqXmlUtil.parseSingleEntityMul((Element) entityNode);
+        } catch (Exception e) {
+            MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME,
+                "Could not read entity from XML", e); //$NON-NLS-1$
+            return null;
+        }
+    }
 
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
+    private static void processUnitNode(Campaign retVal, Node wn, Version version, Entity entity) {
+        Unit u = Unit.generateInstanceFromXML(wn, version, entity);
 
-            if (!wn2.getNodeName().equalsIgnoreCase("part")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Part nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
+        if (u != null) {
+            retVal.importUnit(u);
+        }
+    }
 
-                continue;
-            }
+    private static void processPartNode(Campaign retVal, Node wn, Version version) {
+        final String METHOD_NAME = "processPartNode(Campaign,Node,Version)"; //$NON-NLS-1$
 
-            Part p = Part.generateInstanceFromXML(wn2, version);
+        Part p = Part.generateInstanceFromXML(wn, version);
 
-            // deal with the Weapon as Heat Sink problem from earlier versions
-            if (p instanceof HeatSink && !p.getName().contains("Heat Sink")) {
-                continue;
-            }
+        // deal with the Weapon as Heat Sink problem from earlier versions
+        if (p instanceof HeatSink && !p.getName().contains("Heat Sink")) {
+            return;
+        }
 
-            if (((p instanceof EquipmentPart) && ((EquipmentPart) p).getType() == null)
-                    || ((p instanceof MissingEquipmentPart) && ((MissingEquipmentPart) p).getType() == null)) {
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.WARNING,
-                        "Could not find matching EquipmentType for part " + p.getName());
-                continue;
-            }
+        if (((p instanceof EquipmentPart) && ((EquipmentPart) p).getType() == null)
+                || ((p instanceof MissingEquipmentPart) && ((MissingEquipmentPart) p).getType() == null)) {
+            MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.WARNING,
+                    "Could not find matching EquipmentType for part " + p.getName());
+            return;
+        }
 
-            // deal with equipmentparts that are now subtyped
-            int pid = p.getId();
-            if (p instanceof EquipmentPart
-                    && ((EquipmentPart) p).getType() instanceof MiscType
-                    && ((EquipmentPart) p).getType().hasFlag(MiscType.F_MASC) && !(p instanceof MASC)) {
-                p = new MASC(p.getUnitTonnage(), ((EquipmentPart) p).getType(),
-                        ((EquipmentPart) p).getEquipmentNum(), retVal, 0, p.isOmniPodded());
-                p.setId(pid);
-            }
-            if (p instanceof MissingEquipmentPart
-                    && ((MissingEquipmentPart) p).getType().hasFlag(MiscType.F_MASC) && !(p instanceof MASC)) {
-                p = new MissingMASC(p.getUnitTonnage(),
-                        ((MissingEquipmentPart) p).getType(), ((MissingEquipmentPart) p).getEquipmentNum(), retVal,
-                        ((MissingEquipmentPart) p).getTonnage(), 0, p.isOmniPodded());
-                p.setId(pid);
-            }
-            // deal with true values for sensor and life support on non-Mech
-            // heads
-            if (p instanceof MekLocation
-                    && ((MekLocation) p).getLoc() != Mech.LOC_HEAD) {
-                ((MekLocation) p).setSensors(false);
-                ((MekLocation) p).setLifeSupport(false);
-            }
+        // deal with equipmentparts that are now subtyped
+        int pid = p.getId();
+        if (p instanceof EquipmentPart
+                && ((EquipmentPart) p).getType() instanceof MiscType
+                && ((EquipmentPart) p).getType().hasFlag(MiscType.F_MASC) && !(p instanceof MASC)) {
+            p = new MASC(p.getUnitTonnage(), ((EquipmentPart) p).getType(),
+                    ((EquipmentPart) p).getEquipmentNum(), retVal, 0, p.isOmniPodded());
+            p.setId(pid);
+        }
+        if (p instanceof MissingEquipmentPart
+                && ((MissingEquipmentPart) p).getType().hasFlag(MiscType.F_MASC) && !(p instanceof MASC)) {
+            p = new MissingMASC(p.getUnitTonnage(),
+                    ((MissingEquipmentPart) p).getType(), ((MissingEquipmentPart) p).getEquipmentNum(), retVal,
+                    ((MissingEquipmentPart) p).getTonnage(), 0, p.isOmniPodded());
+            p.setId(pid);
+        }
+        // deal with true values for sensor and life support on non-Mech
+        // heads
+        if (p instanceof MekLocation
+                && ((MekLocation) p).getLoc() != Mech.LOC_HEAD) {
+            ((MekLocation) p).setSensors(false);
+            ((MekLocation) p).setLifeSupport(false);
+        }
 
-            if (version.getMinorVersion() < 3 && !p.needsFixing()
-                    && !p.isSalvaging()) {
-                // repaired parts were not getting experience properly reset
-                p.setSkillMin(SkillType.EXP_GREEN);
-            }
+        if (version.getMinorVersion() < 3 && !p.needsFixing()
+                && !p.isSalvaging()) {
+            // repaired parts were not getting experience properly reset
+            p.setSkillMin(SkillType.EXP_GREEN);
+        }
 
-            //if for some reason we couldn't find a type for equipment part, then remove it
-            if((p instanceof EquipmentPart && null == ((EquipmentPart)p).getType())
-                    || (p instanceof MissingEquipmentPart && null == ((MissingEquipmentPart) p).getType())) {
-                p = null;
-            }
+        //if for some reason we couldn't find a type for equipment part, then remove it
+        if((p instanceof EquipmentPart && null == ((EquipmentPart)p).getType())
+                || (p instanceof MissingEquipmentPart && null == ((MissingEquipmentPart) p).getType())) {
+            p = null;
+        }
 
-            if ((null != p) && (p.getUnitId() != null)
-                    && ((version.getMinorVersion() < 43)
-                            || ((version.getMinorVersion() == 43) && (version.getSnapshot() < 5)))
-                    && ((p instanceof AmmoBin) || (p instanceof MissingAmmoBin))) {
-                Unit u = retVal.getUnit(p.getUnitId());
-                if ((null != u) && (u.getEntity().usesWeaponBays())) {
-                    Mounted ammo;
-                    if (p instanceof EquipmentPart) {
-                        ammo = u.getEntity().getEquipment(((EquipmentPart) p).getEquipmentNum());
+        if ((null != p) && (p.getUnitId() != null)
+                && ((version.getMinorVersion() < 43)
+                        || ((version.getMinorVersion() == 43) && (version.getSnapshot() < 5)))
+                && ((p instanceof AmmoBin) || (p instanceof MissingAmmoBin))) {
+            Unit u = retVal.getUnit(p.getUnitId());
+            if ((null != u) && (u.getEntity().usesWeaponBays())) {
+                Mounted ammo;
+                if (p instanceof EquipmentPart) {
+                    ammo = u.getEntity().getEquipment(((EquipmentPart) p).getEquipmentNum());
+                } else {
+                    ammo = u.getEntity().getEquipment(((MissingEquipmentPart) p).getEquipmentNum());
+                }
+                if (null != ammo) {
+                    if (p instanceof AmmoBin) {
+                        p = new LargeCraftAmmoBin(p.getUnitTonnage(),
+                                ((AmmoBin) p).getType(),
+                                ((AmmoBin) p).getEquipmentNum(),
+                                ((AmmoBin) p).getShotsNeeded(),
+                                ammo.getAmmoCapacity(), retVal);
+                        ((LargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
                     } else {
-                        ammo = u.getEntity().getEquipment(((MissingEquipmentPart) p).getEquipmentNum());
-                    }
-                    if (null != ammo) {
-                        if (p instanceof AmmoBin) {
-                            p = new LargeCraftAmmoBin(p.getUnitTonnage(),
-                                    ((AmmoBin) p).getType(),
-                                    ((AmmoBin) p).getEquipmentNum(),
-                                    ((AmmoBin) p).getShotsNeeded(),
-                                    ammo.getAmmoCapacity(), retVal);
-                            ((LargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
-                        } else {
-                            p = new MissingLargeCraftAmmoBin(p.getUnitTonnage(),
-                                    ((MissingAmmoBin) p).getType(),
-                                    ((MissingAmmoBin) p).getEquipmentNum(),
-                                    ammo.getAmmoCapacity(), retVal);
-                            ((MissingLargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
-                        }
+                        p = new MissingLargeCraftAmmoBin(p.getUnitTonnage(),
+                                ((MissingAmmoBin) p).getType(),
+                                ((MissingAmmoBin) p).getEquipmentNum(),
+                                ammo.getAmmoCapacity(), retVal);
+                        ((MissingLargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
                     }
                 }
             }
-
-            if (p != null) {
-                retVal.importPart(p);
-            }
         }
 
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Part Nodes Complete!"); //$NON-NLS-1$
+        if (p != null) {
+            retVal.importPart(p);
+        }
     }
     
     private static void updatePlanetaryEventsFromXML(Node wn) {
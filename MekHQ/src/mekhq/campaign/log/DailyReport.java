@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2018 MegaMek team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package mekhq.campaign.log;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The reports of the current day. Reports are only ever appended until the day is cleared.
+ *
+ * The HTML of the whole report is only put together when someone asks for it, and then only the
+ * reports added since the last time are appended to it. Views which already show the report can
+ * instead fetch just the reports they haven't seen yet.
+ */
+public class DailyReport implements Serializable {
+    private static final long serialVersionUID = 4419536108316829101L;
+
+    private final String separator;
+    private final List<String> reports = new ArrayList<>();
+    /* The reports joined by the separator, up to htmlCount */
+    private final StringBuilder html = new StringBuilder();
+    private int htmlCount = 0;
+    private String htmlString = "";
+    /* The number of reports already handed out by fetchNewReports */
+    private int fetchedCount = 0;
+
+    /**
+     * @param separator the HTML put between two reports
+     */
+    public DailyReport(String separator) {
+        this.separator = separator;
+    }
+
+    public synchronized void add(String report) {
+        reports.add(report);
+    }
+
+    /** Replaces the reports with the given ones, none of which has been fetched yet */
+    public synchronized void set(Collection<String> newReports) {
+        clear();
+        reports.addAll(newReports);
+    }
+
+    public synchronized void clear() {
+        reports.clear();
+        html.setLength(0);
+        htmlCount = 0;
+        htmlString = "";
+        fetchedCount = 0;
+    }
+
+    public synchronized int size() {
+        return reports.size();
+    }
+
+    /** @return an unmodifiable copy of the reports */
+    public synchronized List<String> getReports() {
+        return Collections.unmodifiableList(new ArrayList<>(reports));
+    }
+
+    /** @return the reports as a single piece of HTML */
+    public synchronized String getHTML() {
+        if (htmlCount < reports.size()) {
+            for (; htmlCount < reports.size(); htmlCount++) {
+                if (htmlCount > 0) {
+                    html.append(separator);
+                }
+                html.append(reports.get(htmlCount));
+            }
+            htmlString = html.toString();
+        }
+        return htmlString;
+    }
+
+    /**
+     * @return the reports added since the last call, with the separators needed to append them
+     *         to the reports fetched before
+     */
+    public synchronized List<String> fetchNewReports() {
+        List<String> result = new ArrayList<>(2 * (reports.size() - fetchedCount));
+        for (; fetchedCount < reports.size(); fetchedCount++) {
+            if (fetchedCount > 0) {
+                result.add(separator);
+            }
+            result.add(reports.get(fetchedCount));
+        }
+        return result;
+    }
+}
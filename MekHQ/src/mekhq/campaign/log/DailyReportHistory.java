@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2018 MegaMek team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package mekhq.campaign.log;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The daily reports of the last few days, kept in memory for the historical daily log.
+ *
+ * Entries are filed by day, oldest first. When a new day is added, whole days which have become
+ * too old are dropped from the front, so pruning doesn't have to look at each entry.
+ */
+public class DailyReportHistory implements Serializable {
+    private static final long serialVersionUID = -6044316201737651532L;
+
+    private final int maxDays;
+    private final Deque<Day> days = new ArrayDeque<>();
+
+    /**
+     * @param maxDays the number of days after which a day's entries are dropped
+     */
+    public DailyReportHistory(int maxDays) {
+        this.maxDays = maxDays;
+    }
+
+    public synchronized void add(LogEntry entry) {
+        Day last = days.peekLast();
+        if ((null == last) || !last.date.equals(entry.getDate())) {
+            while (!days.isEmpty() && (daysBetween(days.peekFirst().date, entry.getDate()) > maxDays)) {
+                days.removeFirst();
+            }
+            last = new Day(entry.getDate());
+            days.addLast(last);
+        }
+        last.entries.add(entry);
+    }
+
+    public synchronized void clear() {
+        days.clear();
+    }
+
+    /**
+     * @return the entries of the days less than the given number of days before the given date,
+     *         oldest first, in lists by day
+     */
+    public synchronized List<List<LogEntry>> getDays(Date today, int numDays) {
+        List<List<LogEntry>> result = new ArrayList<>();
+        // Walk back from the most recent day as far as needed
+        Iterator<Day> iter = days.descendingIterator();
+        while (iter.hasNext()) {
+            Day day = iter.next();
+            if (daysBetween(day.date, today) >= numDays) {
+                break;
+            }
+            result.add(Collections.unmodifiableList(new ArrayList<>(day.entries)));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static long daysBetween(Date from, Date to) {
+        return TimeUnit.DAYS.convert(to.getTime() - from.getTime(), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Day implements Serializable {
+        private static final long serialVersionUID = 2950172432657411839L;
+
+        final Date date;
+        final List<LogEntry> entries = new ArrayList<>();
+
+        Day(Date date) {
+            this.date = date;
+        }
+    }
+}
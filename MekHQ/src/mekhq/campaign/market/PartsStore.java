@@ -91,6 +91,11 @@ import mekhq.campaign.parts.equipment.MASC;
  * part that might be needed as well as a variety of helper functions to
  * acquire parts.
  *
+ * Building the store means creating tens of thousands of parts, so the campaign does
+ * not build its store until it is first needed. The parts belong to the campaign that
+ * built the store. Only the engine selection depends on the campaign's current year, so
+ * when the year changes only the engines are restocked.
+ *
  * We could in the future extend this to different types of stores that have different finite numbers of
  * parts in inventory
  *
@@ -104,18 +109,31 @@ public class PartsStore implements Serializable {
 	private static final long serialVersionUID = 1686222527383868364L;
 
 	private static int EXPECTED_SIZE = 50000;
-	
+
+	private static final Pattern CLEAN_UP_1 = Pattern.compile("\\d+\\shit\\(s\\),\\s"); //$NON-NLS-1$
+	private static final Pattern CLEAN_UP_2 = Pattern.compile("\\d+\\shit\\(s\\)"); //$NON-NLS-1$
+
 	private ArrayList<Part> parts;
+	private ArrayList<Part> engines;
+	private ArrayList<Part> inventory;
 	private Map<String, Part> nameAndDetailMap;
+	private Campaign campaign;
+	private int engineYear;
 
 	public PartsStore(Campaign c) {
 		parts = new ArrayList<Part>(EXPECTED_SIZE);
+		engines = new ArrayList<Part>();
 		nameAndDetailMap = new HashMap<String, Part>(EXPECTED_SIZE);
 		stock(c);
 	}
 
 	public ArrayList<Part> getInventory() {
-		return parts;
+		if (null == inventory) {
+			inventory = new ArrayList<Part>(parts.size() + engines.size());
+			inventory.addAll(parts);
+			inventory.addAll(engines);
+		}
+		return inventory;
 	}
 	
 	public Part getByNameAndDetails(String nameAndDetails) {
@@ -123,9 +141,11 @@ public class PartsStore implements Serializable {
 	}
 
 	public void stock(Campaign c) {
+		campaign = c;
+		parts.clear();
+		nameAndDetailMap.clear();
 		stockWeaponsAmmoAndEquipment(c);
 		stockMekActuators(c);
-		stockEngines(c);
 		stockGyros(c);
 		stockMekComponents(c);
 		stockAeroComponents(c);
@@ -135,23 +155,49 @@ public class PartsStore implements Serializable {
 		stockProtomekLocations(c);
 		stockProtomekComponents(c);
 		stockBattleArmorSuits(c);
-		
-		Pattern cleanUp1 = Pattern.compile("\\d+\\shit\\(s\\),\\s"); //$NON-NLS-1$
-		Pattern cleanUp2 = Pattern.compile("\\d+\\shit\\(s\\)"); //$NON-NLS-1$
-		StringBuilder sb = new StringBuilder();
-		for(Part p : parts) {
-			p.setBrandNew(true);
-			sb.setLength(0);
-			sb.append(p.getName());
-			if(!(p instanceof Armor)) { // ProtomekArmor and BaArmor are derived from Armor
-				String details = p.getDetails();
-				details = cleanUp2.matcher(cleanUp1.matcher(details).replaceFirst("")).replaceFirst(""); //$NON-NLS-1$ //$NON-NLS-2$
-				if (details.length() > 0) {
-					sb.append(" (").append(details).append(")"); //$NON-NLS-1$ //$NON-NLS-2$
-				}
-		    }
-			nameAndDetailMap.put(sb.toString(), p);
+		for (Part p : parts) {
+			addToNameAndDetailMap(p);
+		}
+		restockEngines(c);
+	}
+
+	/**
+	 * Restocks the engines if the campaign year has changed since they were last stocked.
+	 */
+	public void update() {
+		if (engineYear != campaign.getCalendar().get(GregorianCalendar.YEAR)) {
+			restockEngines(campaign);
+		}
+	}
+
+	private void restockEngines(Campaign c) {
+		for (Part p : engines) {
+			nameAndDetailMap.remove(getNameAndDetails(p));
+		}
+		engines.clear();
+		engineYear = c.getCalendar().get(GregorianCalendar.YEAR);
+		stockEngines(c);
+		for (Part p : engines) {
+			addToNameAndDetailMap(p);
+		}
+		inventory = null;
+	}
+
+	private void addToNameAndDetailMap(Part p) {
+		p.setBrandNew(true);
+		nameAndDetailMap.put(getNameAndDetails(p), p);
+	}
+
+	private String getNameAndDetails(Part p) {
+		StringBuilder sb = new StringBuilder(p.getName());
+		if(!(p instanceof Armor)) { // ProtomekArmor and BaArmor are derived from Armor
+			String details = p.getDetails();
+			details = CLEAN_UP_2.matcher(CLEAN_UP_1.matcher(details).replaceFirst("")).replaceFirst(""); //$NON-NLS-1$ //$NON-NLS-2$
+			if (details.length() > 0) {
+				sb.append(" (").append(details).append(")"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 		}
+		return sb.toString();
 	}
 
 	private void stockBattleArmorSuits(Campaign c) {
@@ -363,34 +409,34 @@ public class PartsStore implements Serializable {
 					if(rating >= ton && rating % ton == 0) {
 						engine = new Engine(rating, i, 0);
 						if(engine.engineValid) {
-							parts.add(new EnginePart(ton, engine, c, false));
+							engines.add(new EnginePart(ton, engine, c, false));
 						}
 						if(engine.getTechType(year) != TechConstants.T_ALLOWED_ALL) {
 							engine = new Engine(rating, i, Engine.CLAN_ENGINE);
 							if(engine.engineValid) {
-								parts.add(new EnginePart(ton, engine, c, false));
+								engines.add(new EnginePart(ton, engine, c, false));
 							}
 						}
 					}
 					engine = new Engine(rating, i, Engine.TANK_ENGINE);
 					if(engine.engineValid) {
-						parts.add(new EnginePart(ton, engine, c, false));
+						engines.add(new EnginePart(ton, engine, c, false));
 					}
 					if((ton/5) > getEngineTonnage(engine)) {
 						engine = new Engine(rating, i, Engine.TANK_ENGINE);
 						if(engine.engineValid) {
-							parts.add(new EnginePart(ton, engine, c, true));
+							engines.add(new EnginePart(ton, engine, c, true));
 						}
 					}
 					engine = new Engine(rating, i, Engine.TANK_ENGINE | Engine.CLAN_ENGINE);
 					if(engine.getTechType(year) != TechConstants.T_ALLOWED_ALL) {
 						if(engine.engineValid) {
-							parts.add(new EnginePart(ton, engine, c, false));
+							engines.add(new EnginePart(ton, engine, c, false));
 						}
 						if((ton/5) > getEngineTonnage(engine)) {
 							engine = new Engine(rating, i, Engine.TANK_ENGINE | Engine.CLAN_ENGINE);
 							if(engine.engineValid) {
-								parts.add(new EnginePart(ton, engine, c, true));
+								engines.add(new EnginePart(ton, engine, c, true));
 							}
 						}
 					}
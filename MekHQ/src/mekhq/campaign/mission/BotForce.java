@@ -2,11 +2,15 @@ package mekhq.campaign.mission;
 
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 
 import megamek.client.bot.princess.BehaviorSettings;
 import megamek.client.bot.princess.BehaviorSettingsFactory;
@@ -29,6 +33,12 @@ public class BotForce implements Serializable, MekHqXmlSerializable {
 
     private String name;
     private ArrayList<Entity> entityList;
+    /*
+     * The entities as they were read from the campaign file. Parsing an entity means looking up
+     * and reading its unit file, so the bot forces of scenarios which are never opened keep their
+     * entities in this form until something asks for them, and write them back out unchanged.
+     */
+    private List<String> unparsedEntities;
     private int team;
     private int start;
     private String camoCategory;
@@ -111,13 +121,47 @@ public class BotForce implements Serializable, MekHqXmlSerializable {
     }
 
     public ArrayList<Entity> getEntityList() {
+        parseEntities();
         return entityList;
     }
 
     public void setEntityList(ArrayList<Entity> entityList) {
+        unparsedEntities = null;
         this.entityList = entityList;
     }
 
+    /** Turns the entities still kept as XML into entities */
+    private synchronized void parseEntities() {
+        final String METHOD_NAME = "parseEntities()"; //$NON-NLS-1$
+
+        if (null == unparsedEntities) {
+            return;
+        }
+        for (String xml : unparsedEntities) {
+            try {
+                Element element = MekHqXmlUtil.newSafeDocumentBuilder()
+                        .parse(new InputSource(new StringReader(xml))).getDocumentElement();
+                Entity en = parseEntity(element);
+                if (en != null) {
+                    entityList.add(en);
+                }
+            } catch (Exception e) {
+                MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
+                        "Error loading bot force unit"); //$NON-NLS-1$
+                MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
+            }
+        }
+        unparsedEntities = null;
+    }
+
+    private static Entity parseEntity(Element element) {
+        Entity en = MekHqXmlUtil.parseSingleEntityMul(element);
+        if ((null != en) && element.hasAttribute("deployment")) {
+            en.setDeployRound(Math.max(0, Integer.parseInt(element.getAttribute("deployment"))));
+        }
+        return en;
+    }
+
     public int getTeam() {
         return team;
     }
@@ -193,9 +237,17 @@ public class BotForce implements Serializable, MekHqXmlSerializable {
         MekHqXmlUtil.writeSimpleXmlTag(pw1, indent+1, "colorIndex", colorIndex);
 
         pw1.println(MekHqXmlUtil.indentStr(indent+1) + "<entities>");
-        for (Entity en : entityList) {
-            if (en != null) {
-                pw1.println(AtBScenario.writeEntityWithCrewToXmlString(en, indent + 2, entityList));
+        synchronized (this) {
+            if (null != unparsedEntities) {
+                for (String xml : unparsedEntities) {
+                    pw1.println(MekHqXmlUtil.indentStr(indent + 2) + xml);
+                }
+            } else {
+                for (Entity en : entityList) {
+                    if (en != null) {
+                        pw1.println(AtBScenario.writeEntityWithCrewToXmlString(en, indent + 2, entityList));
+                    }
+                }
             }
         }
         pw1.println(MekHqXmlUtil.indentStr(indent+1) + "</entities>");
@@ -237,21 +289,17 @@ public class BotForce implements Serializable, MekHqXmlSerializable {
                 for (int i = 0; i < nl2.getLength(); i++) {
                     Node wn3 = nl2.item(i);
                     if (wn3.getNodeName().equalsIgnoreCase("entity")) {
-                        Entity en = null;
                         try {
-                            en = MekHqXmlUtil.getEntityFromXmlString(wn3);
-                            if (wn3.getAttributes().getNamedItem("deployment") != null) {
-                                en.setDeployRound(Math.max(0,
-                                        Integer.parseInt(wn3.getAttributes().getNamedItem("deployment").getTextContent())));
+                            // Keep the entity as XML; it is only parsed when first needed
+                            if (null == unparsedEntities) {
+                                unparsedEntities = new ArrayList<>();
                             }
+                            unparsedEntities.add(MekHqXmlUtil.xmlToString(wn3));
                         } catch (Exception e) {
                             MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
-                                    "Error loading allied unit in scenario"); //$NON-NLS-1$
+                                    "Error loading bot force unit"); //$NON-NLS-1$
                             MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
                         }
-                        if (en != null) {
-                            entityList.add(en);
-                        }
                     }
                 }
             } else if (wn2.getNodeName().equalsIgnoreCase("behaviorSettings")) {
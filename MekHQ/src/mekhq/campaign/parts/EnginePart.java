@@ -138,6 +138,9 @@ public class EnginePart extends Part {
 		engine = new Engine(engine.getRating(), engine.getEngineType(), flags);
 		this.name = engine.getEngineName() + " Engine";
 		this.forHover = hover;
+		if (null != campaign) {
+		    campaign.updateSparePartIndex(this);
+		}
 	}
 
 	public void fixClanFlag() {
@@ -147,6 +150,9 @@ public class EnginePart extends Part {
 		}
 		engine = new Engine(engine.getRating(), engine.getEngineType(), flags);
 		this.name = engine.getEngineName() + " Engine";
+		if (null != campaign) {
+		    campaign.updateSparePartIndex(this);
+		}
 	}
 
 	@Override
@@ -169,7 +169,7 @@ public abstract class MissingPart extends Part implements Serializable, MekHqXml
 			}
 		}
 		// don't just return with the first part if it is damaged
-		for(Part part : campaign.getSpareParts()) {
+		for(Part part : campaign.getSparePartIndex().getSpareParts()) {
 			if(part.isReservedForRefit() || part.isBeingWorkedOn() || part.isReservedForReplacement() || !part.isPresent() || part.hasParentPart()) {
 				continue;
 			}
@@ -388,6 +388,9 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 		} else {
 			unitId = null;
 		}
+		if (null != campaign) {
+		    campaign.updateSparePartIndex(this);
+		}
 	}
 
 	public String getStatus() {
@@ -677,42 +680,13 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 		NamedNodeMap attrs = wn.getAttributes();
 		Node classNameNode = attrs.getNamedItem("type");
 		String className = classNameNode.getTextContent();
-
-		//reverse compatability checks
-		if(className.equalsIgnoreCase("mekhq.campaign.parts.MekEngine")) {
-			className = "mekhq.campaign.parts.EnginePart";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingMekEngine")) {
-			className = "mekhq.campaign.parts.MissingEnginePart";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.EquipmentPart")) {
-			className = "mekhq.campaign.parts.equipment.EquipmentPart";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingEquipmentPart")) {
-			className = "mekhq.campaign.parts.equipment.MissingEquipmentPart";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.AmmoBin")) {
-			className = "mekhq.campaign.parts.equipment.AmmoBin";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingAmmoBin")) {
-			className = "mekhq.campaign.parts.equipment.MissingAmmoBin";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.JumpJet")) {
-			className = "mekhq.campaign.parts.equipment.JumpJet";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingJumpJet")) {
-			className = "mekhq.campaign.parts.equipment.MissingJumpJet";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.HeatSink")) {
-			className = "mekhq.campaign.parts.equipment.HeatSink";
-		}
-		else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingHeatSink")) {
-			className = "mekhq.campaign.parts.equipment.MissingHeatSink";
-		}
+		// Ids were plain numbers before 0.1.14
+		final boolean oldIds = version.getMajorVersion() == 0 && version.getMinorVersion() < 2
+		        && version.getSnapshot() < 14;
 
 		try {
 			// Instantiate the correct child class, and call its parsing function.
-			retVal = (Part) Class.forName(className).newInstance();
+			retVal = PartTypes.newInstance(className);
 			retVal.loadFieldsFromXmlNode(wn);
 
 			// Okay, now load Part-specific fields!
@@ -720,83 +694,92 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 
 			for (int x=0; x<nl.getLength(); x++) {
 				Node wn2 = nl.item(x);
+				if (wn2.getNodeType() != Node.ELEMENT_NODE) {
+				    continue;
+				}
 
-				 if (wn2.getNodeName().equalsIgnoreCase("id")) {
-					retVal.id = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("name")) {
-					retVal.name = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("unitTonnage")) {
-                    retVal.unitTonnage = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("omniPodded")) {
-                    retVal.omniPodded = true;
-				} else if (wn2.getNodeName().equalsIgnoreCase("quantity")) {
-					retVal.quantity = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("hits")) {
-					retVal.hits = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("timeSpent")) {
-					retVal.timeSpent = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("skillMin")) {
-					retVal.skillMin = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("mode")) {
-					retVal.mode = WorkTime.of(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("daysToWait")) {
-                    retVal.daysToWait = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("teamId")) {
-					if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-						retVal.oldTeamId = Integer.parseInt(wn2.getTextContent());
-					} else {
-						if(!wn2.getTextContent().equals("null")) {
-							retVal.teamId = UUID.fromString(wn2.getTextContent());
-						}
-					}
-				} else if (wn2.getNodeName().equalsIgnoreCase("unitId")) {
-					if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-						retVal.oldUnitId = Integer.parseInt(wn2.getTextContent());
-					} else {
-						if(!wn2.getTextContent().equals("null")) {
-							retVal.unitId = UUID.fromString(wn2.getTextContent());
-						}
-					}
-				} else if (wn2.getNodeName().equalsIgnoreCase("shorthandedMod")) {
-					retVal.shorthandedMod = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("refitId")) {
-					if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-						retVal.oldRefitId = Integer.parseInt(wn2.getTextContent());
-					} else {
-						if(!wn2.getTextContent().equals("null")) {
-							retVal.refitId = UUID.fromString(wn2.getTextContent());
-						}
-					}
-				} else if (wn2.getNodeName().equalsIgnoreCase("daysToArrival")) {
-					retVal.daysToArrival = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("workingOvertime")) {
-					if(wn2.getTextContent().equalsIgnoreCase("true")) {
-						retVal.workingOvertime = true;
-					} else {
-						retVal.workingOvertime = false;
-					}
-				} else if (wn2.getNodeName().equalsIgnoreCase("isTeamSalvaging")) {
-					if(wn2.getTextContent().equalsIgnoreCase("true")) {
-						retVal.isTeamSalvaging = true;
-					} else {
-						retVal.isTeamSalvaging = false;
-					}
-				} else if (wn2.getNodeName().equalsIgnoreCase("brandNew")) {
-					if(wn2.getTextContent().equalsIgnoreCase("true")) {
-						retVal.brandNew = true;
-					} else {
-						retVal.brandNew = false;
-					}
+				switch (wn2.getNodeName()) {
+				    case "id":
+				        retVal.id = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "name":
+				        retVal.name = wn2.getTextContent();
+				        break;
+				    case "unitTonnage":
+				        retVal.unitTonnage = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "omniPodded":
+				        retVal.omniPodded = true;
+				        break;
+				    case "quantity":
+				        retVal.quantity = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "hits":
+				        retVal.hits = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "timeSpent":
+				        retVal.timeSpent = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "skillMin":
+				        retVal.skillMin = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "mode":
+				        retVal.mode = WorkTime.of(wn2.getTextContent());
+				        break;
+				    case "daysToWait":
+				        retVal.daysToWait = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "teamId":
+				        if (oldIds) {
+				            retVal.oldTeamId = Integer.parseInt(wn2.getTextContent());
+				        } else if (!wn2.getTextContent().equals("null")) {
+				            retVal.teamId = UUID.fromString(wn2.getTextContent());
+				        }
+				        break;
+				    case "unitId":
+				        if (oldIds) {
+				            retVal.oldUnitId = Integer.parseInt(wn2.getTextContent());
+				        } else if (!wn2.getTextContent().equals("null")) {
+				            retVal.unitId = UUID.fromString(wn2.getTextContent());
+				        }
+				        break;
+				    case "shorthandedMod":
+				        retVal.shorthandedMod = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "refitId":
+				        if (oldIds) {
+				            retVal.oldRefitId = Integer.parseInt(wn2.getTextContent());
+				        } else if (!wn2.getTextContent().equals("null")) {
+				            retVal.refitId = UUID.fromString(wn2.getTextContent());
+				        }
+				        break;
+				    case "daysToArrival":
+				        retVal.daysToArrival = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "workingOvertime":
+				        retVal.workingOvertime = wn2.getTextContent().equalsIgnoreCase("true");
+				        break;
+				    case "isTeamSalvaging":
+				        retVal.isTeamSalvaging = wn2.getTextContent().equalsIgnoreCase("true");
+				        break;
+				    case "brandNew":
+				        retVal.brandNew = wn2.getTextContent().equalsIgnoreCase("true");
+				        break;
+				    case "replacementId":
+				        retVal.replacementId = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "quality":
+				        retVal.quality = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "parentPartId":
+				        retVal.parentPartId = Integer.parseInt(wn2.getTextContent());
+				        break;
+				    case "childPartId":
+				        retVal.childPartIds.add(Integer.parseInt(wn2.getTextContent()));
+				        break;
+				    default:
+				        break;
 				}
-				else if (wn2.getNodeName().equalsIgnoreCase("replacementId")) {
-					retVal.replacementId = Integer.parseInt(wn2.getTextContent());
-				} else if (wn2.getNodeName().equalsIgnoreCase("quality")) {
-                    retVal.quality = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("parentPartId")) {
-                    retVal.parentPartId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("childPartId")) {
-                    retVal.childPartIds.add(Integer.parseInt(wn2.getTextContent()));
-                }
 			}
 		} catch (Exception ex) {
 			// Errrr, apparently either the class name was invalid...
@@ -1024,7 +1007,15 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 		} else if(null == teamId) {
 			this.isTeamSalvaging = isSalvaging();
 		}
-		this.teamId = i;		
+		this.teamId = i;
+		notifyUnit();
+	}
+
+	/** Lets the unit know that values it works out from its parts may have changed */
+	protected void notifyUnit() {
+		if(null != unit) {
+			unit.partsChanged();
+		}
 	}
 	
 	public boolean isTeamSalvaging() {
@@ -1331,14 +1322,17 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 
     public void improveQuality() {
         quality += 1;
+        notifyUnit();
     }
 
     public void decreaseQuality() {
         quality -= 1;
+        notifyUnit();
     }
 
     public void setQuality(int q) {
     	quality = q;
+    	notifyUnit();
     }
 
     public boolean needsMaintenance() {
@@ -1356,6 +1350,9 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 
     public void setParentPartId(int id) {
     	parentPartId = id;
+    	if (null != campaign) {
+    	    campaign.updateSparePartIndex(this);
+    	}
     }
     
     public int getParentPartId() {
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import mekhq.campaign.parts.equipment.AmmoBin;
+import mekhq.campaign.parts.equipment.BattleArmorAmmoBin;
+import mekhq.campaign.parts.equipment.BattleArmorEquipmentPart;
+import mekhq.campaign.parts.equipment.EquipmentPart;
+import mekhq.campaign.parts.equipment.HeatSink;
+import mekhq.campaign.parts.equipment.InfantryWeaponPart;
+import mekhq.campaign.parts.equipment.JumpJet;
+import mekhq.campaign.parts.equipment.LargeCraftAmmoBin;
+import mekhq.campaign.parts.equipment.MASC;
+import mekhq.campaign.parts.equipment.MissingAmmoBin;
+import mekhq.campaign.parts.equipment.MissingBattleArmorEquipmentPart;
+import mekhq.campaign.parts.equipment.MissingEquipmentPart;
+import mekhq.campaign.parts.equipment.MissingHeatSink;
+import mekhq.campaign.parts.equipment.MissingJumpJet;
+import mekhq.campaign.parts.equipment.MissingLargeCraftAmmoBin;
+import mekhq.campaign.parts.equipment.MissingMASC;
+
+/**
+ * Creates the parts read from a save file from the type name stored with them.
+ *
+ * Every concrete part class is registered here with its constructor, together with the names
+ * parts were saved under before they were renamed or moved, so loading a part is a map lookup
+ * rather than a class lookup and a reflective call. A part class which is not registered is
+ * still found by its name, the way it always was, and the constructor is remembered for the
+ * next part of that type.
+ *
+ * New part classes which are saved should be registered here.
+ */
+public final class PartTypes {
+    private static final Map<String, Supplier<? extends Part>> TYPES = new HashMap<>();
+    /* Part types not in TYPES which have been looked up by name */
+    private static final Map<String, Supplier<? extends Part>> FOUND = new ConcurrentHashMap<>();
+
+    static {
+        register(AeroHeatSink.class, AeroHeatSink::new);
+        register(AeroLifeSupport.class, AeroLifeSupport::new);
+        register(AeroSensor.class, AeroSensor::new);
+        register(AmmoStorage.class, AmmoStorage::new);
+        register(Armor.class, Armor::new);
+        register(Avionics.class, Avionics::new);
+        register(BaArmor.class, BaArmor::new);
+        register(BattleArmorSuit.class, BattleArmorSuit::new);
+        register(BayDoor.class, BayDoor::new);
+        register(Cubicle.class, Cubicle::new);
+        register(DropshipDockingCollar.class, DropshipDockingCollar::new);
+        register(EnginePart.class, EnginePart::new);
+        register(FireControlSystem.class, FireControlSystem::new);
+        register(InfantryArmorPart.class, InfantryArmorPart::new);
+        register(InfantryMotiveType.class, InfantryMotiveType::new);
+        register(LandingGear.class, LandingGear::new);
+        register(MekActuator.class, MekActuator::new);
+        register(MekCockpit.class, MekCockpit::new);
+        register(MekGyro.class, MekGyro::new);
+        register(MekLifeSupport.class, MekLifeSupport::new);
+        register(MekLocation.class, MekLocation::new);
+        register(MekSensor.class, MekSensor::new);
+        register(MissingAeroHeatSink.class, MissingAeroHeatSink::new);
+        register(MissingAeroLifeSupport.class, MissingAeroLifeSupport::new);
+        register(MissingAeroSensor.class, MissingAeroSensor::new);
+        register(MissingAvionics.class, MissingAvionics::new);
+        register(MissingBattleArmorSuit.class, MissingBattleArmorSuit::new);
+        register(MissingBayDoor.class, MissingBayDoor::new);
+        register(MissingCubicle.class, MissingCubicle::new);
+        register(MissingDropshipDockingCollar.class, MissingDropshipDockingCollar::new);
+        register(MissingEnginePart.class, MissingEnginePart::new);
+        register(MissingFireControlSystem.class, MissingFireControlSystem::new);
+        register(MissingInfantryArmorPart.class, MissingInfantryArmorPart::new);
+        register(MissingInfantryMotiveType.class, MissingInfantryMotiveType::new);
+        register(MissingLandingGear.class, MissingLandingGear::new);
+        register(MissingMekActuator.class, MissingMekActuator::new);
+        register(MissingMekCockpit.class, MissingMekCockpit::new);
+        register(MissingMekGyro.class, MissingMekGyro::new);
+        register(MissingMekLifeSupport.class, MissingMekLifeSupport::new);
+        register(MissingMekLocation.class, MissingMekLocation::new);
+        register(MissingMekSensor.class, MissingMekSensor::new);
+        register(MissingOmniPod.class, MissingOmniPod::new);
+        register(MissingProtomekArmActuator.class, MissingProtomekArmActuator::new);
+        register(MissingProtomekJumpJet.class, MissingProtomekJumpJet::new);
+        register(MissingProtomekLegActuator.class, MissingProtomekLegActuator::new);
+        register(MissingProtomekLocation.class, MissingProtomekLocation::new);
+        register(MissingProtomekSensor.class, MissingProtomekSensor::new);
+        register(MissingRotor.class, MissingRotor::new);
+        register(MissingSpacecraftEngine.class, MissingSpacecraftEngine::new);
+        register(MissingThrusters.class, MissingThrusters::new);
+        register(MissingTurret.class, MissingTurret::new);
+        register(MissingVeeSensor.class, MissingVeeSensor::new);
+        register(MissingVeeStabiliser.class, MissingVeeStabiliser::new);
+        register(MotiveSystem.class, MotiveSystem::new);
+        register(OmniPod.class, OmniPod::new);
+        register(ProtomekArmActuator.class, ProtomekArmActuator::new);
+        register(ProtomekArmor.class, ProtomekArmor::new);
+        register(ProtomekJumpJet.class, ProtomekJumpJet::new);
+        register(ProtomekLegActuator.class, ProtomekLegActuator::new);
+        register(ProtomekLocation.class, ProtomekLocation::new);
+        register(ProtomekSensor.class, ProtomekSensor::new);
+        register(QuadVeeGear.class, QuadVeeGear::new);
+        register(Refit.class, Refit::new);
+        register(Rotor.class, Rotor::new);
+        register(SpacecraftEngine.class, SpacecraftEngine::new);
+        register(StructuralIntegrity.class, StructuralIntegrity::new);
+        register(TankLocation.class, TankLocation::new);
+        register(Thrusters.class, Thrusters::new);
+        register(TransportBayPart.class, TransportBayPart::new);
+        register(Turret.class, Turret::new);
+        register(VeeSensor.class, VeeSensor::new);
+        register(VeeStabiliser.class, VeeStabiliser::new);
+        register(AmmoBin.class, AmmoBin::new);
+        register(BattleArmorAmmoBin.class, BattleArmorAmmoBin::new);
+        register(BattleArmorEquipmentPart.class, BattleArmorEquipmentPart::new);
+        register(EquipmentPart.class, EquipmentPart::new);
+        register(HeatSink.class, HeatSink::new);
+        register(InfantryWeaponPart.class, InfantryWeaponPart::new);
+        register(JumpJet.class, JumpJet::new);
+        register(LargeCraftAmmoBin.class, LargeCraftAmmoBin::new);
+        register(MASC.class, MASC::new);
+        register(MissingAmmoBin.class, MissingAmmoBin::new);
+        register(MissingBattleArmorEquipmentPart.class, MissingBattleArmorEquipmentPart::new);
+        register(MissingEquipmentPart.class, MissingEquipmentPart::new);
+        register(MissingHeatSink.class, MissingHeatSink::new);
+        register(MissingJumpJet.class, MissingJumpJet::new);
+        register(MissingLargeCraftAmmoBin.class, MissingLargeCraftAmmoBin::new);
+        register(MissingMASC.class, MissingMASC::new);
+
+        // Names used by older versions
+        alias("mekhq.campaign.parts.MekEngine", EnginePart.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.MissingMekEngine", MissingEnginePart.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.EquipmentPart", EquipmentPart.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.MissingEquipmentPart", MissingEquipmentPart.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.AmmoBin", AmmoBin.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.MissingAmmoBin", MissingAmmoBin.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.JumpJet", JumpJet.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.MissingJumpJet", MissingJumpJet.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.HeatSink", HeatSink.class); //$NON-NLS-1$
+        alias("mekhq.campaign.parts.MissingHeatSink", MissingHeatSink.class); //$NON-NLS-1$
+    }
+
+    private PartTypes() {
+    }
+
+    private static <T extends Part> void register(Class<T> type, Supplier<T> constructor) {
+        TYPES.put(type.getName(), constructor);
+    }
+
+    private static void alias(String oldName, Class<? extends Part> type) {
+        TYPES.put(oldName, TYPES.get(type.getName()));
+    }
+
+    /**
+     * @param type the type name of the part, as written to the save file
+     * @return a new part of the given type, with its fields not yet set
+     * @throws ReflectiveOperationException if there is no part type of that name
+     */
+    public static Part newInstance(String type) throws ReflectiveOperationException {
+        Supplier<? extends Part> constructor = TYPES.get(type);
+        if (null == constructor) {
+            constructor = FOUND.get(type);
+        }
+        if (null == constructor) {
+            constructor = find(type);
+            FOUND.put(type, constructor);
+        }
+        return constructor.get();
+    }
+
+    /** @return whether parts of the given type name are created without reflection */
+    public static boolean isRegistered(String type) {
+        return TYPES.containsKey(type);
+    }
+
+    private static Supplier<? extends Part> find(String type) throws ReflectiveOperationException {
+        // The old names were once matched ignoring case
+        for (Map.Entry<String, Supplier<? extends Part>> entry : TYPES.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(type)) {
+                return entry.getValue();
+            }
+        }
+        final Constructor<? extends Part> constructor = Class.forName(type).asSubclass(Part.class)
+                .getConstructor();
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Could not create a part of type " + type, ex); //$NON-NLS-1$
+            }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import megamek.common.BombType;
+import megamek.common.EquipmentType;
+import megamek.common.annotations.Nullable;
+import mekhq.campaign.parts.equipment.EquipmentPart;
+
+/**
+ * Keeps track of the spare parts in a campaign, grouped by a part type signature made up of the part's
+ * class family and, for equipment, the equipment type. Two parts that are the same type always share a
+ * signature, so looking for a part to
+ * merge with or counting inventory only has to examine the parts in a single bucket instead of every
+ * part in the campaign. Status (quality, damage, transit time, reservations) is not part of the
+ * signature and is still checked against each candidate in the bucket, so changes to the status of
+ * a spare part do not require it to be re-indexed.
+ *
+ * The index has to be told whenever a part is added to or removed from the campaign, and whenever
+ * something that affects whether it is a spare (unit assignment, parent part) or its signature changes.
+ * Within each bucket the parts are ordered by id, which preserves the order in which the old linear
+ * scan of the campaign parts map found them.
+ */
+public class SparePartIndex {
+
+    private final Map<String, TreeMap<Integer, Part>> byType = new HashMap<>();
+    private final TreeMap<Integer, Part> spares = new TreeMap<>();
+    /* The signature each part was filed under, so it can be found again if the signature changes */
+    private final Map<Integer, String> signatures = new HashMap<>();
+
+    /**
+     * The signature is made only from what every {@link Part#isSamePartType(Part)} compares, so that
+     * two parts of the same type can never end up in different buckets. The name is not used, as a
+     * part loaded from an older campaign file may have been saved under a name that is no longer
+     * generated for it, and the exact class is not used, as the part types match any subclass of their
+     * own class. Parts are grouped under the most general concrete class they descend from instead.
+     *
+     * @param part A part
+     * @return     The key used to group parts of the same type
+     */
+    public static String getTypeSignature(Part part) {
+        String family = getFamily(part.getClass()).getName();
+        if (part instanceof EquipmentPart) {
+            EquipmentType type = ((EquipmentPart) part).getType();
+            if (type instanceof BombType) {
+                // Bombs only compare the kind of bomb
+                return family + ":bomb:" + ((BombType) type).getBombType(); //$NON-NLS-1$
+            } else if (null != type) {
+                return family + ":" + type.getInternalName(); //$NON-NLS-1$
+            }
+        }
+        return family;
+    }
+
+    /**
+     * @return The highest concrete class below {@link Part} that the given class descends from
+     */
+    private static Class<?> getFamily(Class<?> partClass) {
+        Class<?> family = partClass;
+        Class<?> parent = family.getSuperclass();
+        while ((null != parent) && !Part.class.equals(parent)
+                && !Modifier.isAbstract(parent.getModifiers())) {
+            family = parent;
+            parent = family.getSuperclass();
+        }
+        return family;
+    }
+
+    /**
+     * Adds a part to the index if it is a spare part. Parts that are installed on a unit or are
+     * children of another part are ignored.
+     *
+     * @param part The part that was added to the campaign
+     */
+    public void add(Part part) {
+        if (!part.isSpare()) {
+            return;
+        }
+        String signature = getTypeSignature(part);
+        signatures.put(part.getId(), signature);
+        spares.put(part.getId(), part);
+        byType.computeIfAbsent(signature, k -> new TreeMap<>()).put(part.getId(), part);
+    }
+
+    /**
+     * Removes a part from the index.
+     *
+     * @param part The part that was removed from the campaign
+     */
+    public void remove(Part part) {
+        String signature = signatures.remove(part.getId());
+        if (null == signature) {
+            return;
+        }
+        spares.remove(part.getId());
+        TreeMap<Integer, Part> bucket = byType.get(signature);
+        if (null != bucket) {
+            bucket.remove(part.getId());
+            if (bucket.isEmpty()) {
+                byType.remove(signature);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates whether a part is a spare and which bucket it belongs in. This should be called
+     * after changing the unit or parent part of a part that is already in the campaign.
+     *
+     * @param part A part in the campaign
+     */
+    public void update(Part part) {
+        String signature = signatures.get(part.getId());
+        if (part.isSpare() && (null != signature) && signature.equals(getTypeSignature(part))) {
+            return;
+        }
+        remove(part);
+        add(part);
+    }
+
+    /**
+     * Removes all parts from the index.
+     */
+    public void clear() {
+        byType.clear();
+        spares.clear();
+        signatures.clear();
+    }
+
+    /**
+     * @return An unmodifiable view of all spare parts, in order of id
+     */
+    public Collection<Part> getSpareParts() {
+        return Collections.unmodifiableCollection(spares.values());
+    }
+
+    /**
+     * @param part A part to match
+     * @return     An unmodifiable view of all spare parts that have the same type signature as the
+     *             given part, in order of id.
+     */
+    public Collection<Part> getSparePartsOfType(Part part) {
+        TreeMap<Integer, Part> bucket = byType.get(getTypeSignature(part));
+        if (null == bucket) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(bucket.values());
+    }
+
+    /**
+     * Finds a spare part that the given part can be merged with.
+     *
+     * @param part The part to match
+     * @return     The spare part with the lowest id that is the same type and status as the given part,
+     *             or null if there is none.
+     */
+    public @Nullable Part findSparePart(Part part) {
+        for (Part spare : getSparePartsOfType(part)) {
+            if ((spare.getId() != part.getId()) && spare.isSpare()
+                    && part.isSamePartTypeAndStatus(spare)) {
+                return spare;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of spare parts in the index
+     */
+    public int size() {
+        return spares.size();
+    }
+}
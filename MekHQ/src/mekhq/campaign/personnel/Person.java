@@ -745,6 +745,7 @@ public class Person implements Serializable, MekHqXmlSerializable {
 
     public void setStatus(int s) {
         this.status = s;
+        updatePersonnelRegistry();
     }
 
     public int getIdleMonths() {
@@ -1206,6 +1207,7 @@ public class Person implements Serializable, MekHqXmlSerializable {
     public void setDoctorId(UUID t, int daysToWait) {
         this.doctorId = t;
         this.daysToWaitForHealing = daysToWait;
+        updatePersonnelRegistry();
     }
 
     public boolean checkNaturalHealing(int daysToWait) {
@@ -3070,6 +3072,15 @@ public class Person implements Serializable, MekHqXmlSerializable {
 
     public void setUnitId(UUID i) {
         unitId = i;
+        updatePersonnelRegistry();
+    }
+
+    /** Status, doctor and unit changes don't always come with an event, so tell the registry directly */
+    private void updatePersonnelRegistry() {
+        PersonnelRegistry registry = (null != campaign) ? campaign.getPersonnelRegistry() : null;
+        if (null != registry) {
+            registry.update(this);
+        }
     }
 
     public void removeTechUnitId(UUID i) {
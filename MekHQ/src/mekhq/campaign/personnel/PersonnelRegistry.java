@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2018 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.personnel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import megamek.common.event.Subscribe;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.event.PersonChangedEvent;
+import mekhq.campaign.event.PersonMedicalAssignmentEvent;
+import mekhq.campaign.event.ScenarioChangedEvent;
+
+/**
+ * Keeps the active personnel of a campaign indexed by the things the daily routines ask about:
+ * technicians, doctors, administrators, people in each role, the number of available astechs
+ * and medics, and the number of patients assigned to each doctor. Counting astechs or finding
+ * the techs no longer needs a scan of the whole roster.
+ *
+ * Each person is filed with a copy of the values they were indexed by, so changing a person
+ * only touches the indexes they are in. The registry is told about people joining or leaving
+ * the campaign directly by {@link Campaign}, listens to {@link PersonChangedEvent}s and its
+ * subclasses (including {@link mekhq.campaign.event.PersonTechAssignmentEvent}) while the campaign
+ * is being played (see {@link Campaign#registerEventHandlers()}), and is updated
+ * by the setters of {@link Person} that change a role, status, unit or doctor. Since not every
+ * change to skills goes through an event, the campaign also has the registry rebuilt once per
+ * day and after loading. Within the indexes, people keep the order of the campaign roster.
+ */
+public class PersonnelRegistry {
+    private final Campaign campaign;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private long nextOrder = 0;
+    /* Whether the indexes reflect the campaign; if not they are rebuilt on the next query */
+    private boolean valid = false;
+
+    private final NavigableSet<Entry> techs = new TreeSet<>(Entry.ROSTER_ORDER);
+    private final NavigableSet<Entry> doctors = new TreeSet<>(Entry.ROSTER_ORDER);
+    private final NavigableSet<Entry> admins = new TreeSet<>(Entry.ROSTER_ORDER);
+    private final Map<Integer, NavigableSet<Entry>> byRole = new HashMap<>();
+    private final Map<UUID, Integer> patients = new HashMap<>();
+    private int primaryAstechs = 0;
+    private int secondaryAstechs = 0;
+    private int medics = 0;
+
+    public PersonnelRegistry(Campaign campaign) {
+        this.campaign = campaign;
+    }
+
+    /** Adds a person who just joined the campaign */
+    public synchronized void add(Person person) {
+        if (!valid || (null == person.getId())) {
+            return;
+        }
+        Entry entry = new Entry(person, nextOrder++);
+        entries.put(person.getId(), entry);
+        index(entry);
+    }
+
+    /** Removes a person who just left the campaign */
+    public synchronized void remove(Person person) {
+        if (!valid || (null == person.getId())) {
+            return;
+        }
+        Entry entry = entries.remove(person.getId());
+        if (null != entry) {
+            unindex(entry);
+        }
+    }
+
+    /** Re-reads the indexed values of a person who is part of the campaign */
+    public synchronized void update(Person person) {
+        if (!valid || (null == person.getId())) {
+            return;
+        }
+        Entry old = entries.get(person.getId());
+        if ((null == old) || (old.person != person)) {
+            return;
+        }
+        Entry entry = new Entry(person, old.order);
+        if (!entry.sameAs(old)) {
+            unindex(old);
+            entries.put(person.getId(), entry);
+            index(entry);
+        }
+    }
+
+    /** Drops all indexes; they are rebuilt from the campaign roster when next needed */
+    public synchronized void invalidate() {
+        valid = false;
+        entries.clear();
+        techs.clear();
+        doctors.clear();
+        admins.clear();
+        byRole.clear();
+        patients.clear();
+        primaryAstechs = 0;
+        secondaryAstechs = 0;
+        medics = 0;
+    }
+
+    /** @return the active technicians, in roster order */
+    public synchronized List<Person> getTechs() {
+        validate();
+        return toPersonList(techs);
+    }
+
+    /** @return the active doctors, in roster order */
+    public synchronized List<Person> getDoctors() {
+        validate();
+        return toPersonList(doctors);
+    }
+
+    /** @return the active administrators, in roster order */
+    public synchronized List<Person> getAdmins() {
+        validate();
+        return toPersonList(admins);
+    }
+
+    /** @return the active people with the given primary or secondary role, in roster order */
+    public synchronized List<Person> getActiveInRole(int role) {
+        validate();
+        NavigableSet<Entry> set = byRole.get(role);
+        return (null == set) ? new ArrayList<>() : toPersonList(set);
+    }
+
+    /** @return the number of active, undeployed people whose primary role is astech */
+    public synchronized int getNumberPrimaryAstechs() {
+        validate();
+        return primaryAstechs;
+    }
+
+    /** @return the number of active, undeployed people whose secondary role is astech */
+    public synchronized int getNumberSecondaryAstechs() {
+        validate();
+        return secondaryAstechs;
+    }
+
+    /** @return the number of active, undeployed people with the medic role */
+    public synchronized int getNumberMedics() {
+        validate();
+        return medics;
+    }
+
+    /** @return the number of active people in the care of the doctor with the given id */
+    public synchronized int getPatientsFor(UUID doctorId) {
+        validate();
+        Integer count = patients.get(doctorId);
+        return (null == count) ? 0 : count.intValue();
+    }
+
+    @Subscribe
+    public void handle(PersonChangedEvent ev) {
+        update(ev.getPerson());
+        if (ev instanceof PersonMedicalAssignmentEvent) {
+            Person patient = ((PersonMedicalAssignmentEvent) ev).getPatient();
+            if (null != patient) {
+                update(patient);
+            }
+        }
+    }
+
+    @Subscribe
+    public void handle(ScenarioChangedEvent ev) {
+        // Deployment is a property of the units, so recheck everyone assigned to one
+        synchronized (this) {
+            if (!valid) {
+                return;
+            }
+            for (Entry entry : new ArrayList<>(entries.values())) {
+                if (null != entry.person.getUnitId()) {
+                    update(entry.person);
+                }
+            }
+        }
+    }
+
+    private void validate() {
+        if (valid) {
+            return;
+        }
+        valid = true;
+        nextOrder = 0;
+        for (Person person : campaign.getPersonnel()) {
+            if (null != person.getId()) {
+                Entry entry = new Entry(person, nextOrder++);
+                entries.put(person.getId(), entry);
+                index(entry);
+            }
+        }
+    }
+
+    private void index(Entry entry) {
+        if (!entry.active) {
+            return;
+        }
+        if (entry.tech) {
+            techs.add(entry);
+        }
+        if (entry.doctor) {
+            doctors.add(entry);
+        }
+        if (entry.admin) {
+            admins.add(entry);
+        }
+        byRole.computeIfAbsent(entry.primaryRole, r -> new TreeSet<>(Entry.ROSTER_ORDER)).add(entry);
+        byRole.computeIfAbsent(entry.secondaryRole, r -> new TreeSet<>(Entry.ROSTER_ORDER)).add(entry);
+        if (null != entry.doctorId) {
+            patients.merge(entry.doctorId, 1, Integer::sum);
+        }
+        if (!entry.deployed) {
+            if (entry.primaryRole == Person.T_ASTECH) {
+                primaryAstechs++;
+            }
+            if (entry.secondaryRole == Person.T_ASTECH) {
+                secondaryAstechs++;
+            }
+            if ((entry.primaryRole == Person.T_MEDIC) || (entry.secondaryRole == Person.T_MEDIC)) {
+                medics++;
+            }
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (!entry.active) {
+            return;
+        }
+        techs.remove(entry);
+        doctors.remove(entry);
+        admins.remove(entry);
+        removeFromRole(entry.primaryRole, entry);
+        removeFromRole(entry.secondaryRole, entry);
+        if (null != entry.doctorId) {
+            patients.computeIfPresent(entry.doctorId, (id, count) -> (count > 1) ? count - 1 : null);
+        }
+        if (!entry.deployed) {
+            if (entry.primaryRole == Person.T_ASTECH) {
+                primaryAstechs--;
+            }
+            if (entry.secondaryRole == Person.T_ASTECH) {
+                secondaryAstechs--;
+            }
+            if ((entry.primaryRole == Person.T_MEDIC) || (entry.secondaryRole == Person.T_MEDIC)) {
+                medics--;
+            }
+        }
+    }
+
+    private void removeFromRole(int role, Entry entry) {
+        NavigableSet<Entry> set = byRole.get(role);
+        if (null != set) {
+            set.remove(entry);
+            if (set.isEmpty()) {
+                byRole.remove(role);
+            }
+        }
+    }
+
+    private static List<Person> toPersonList(Collection<Entry> set) {
+        List<Person> result = new ArrayList<>(set.size());
+        for (Entry entry : set) {
+            result.add(entry.person);
+        }
+        return result;
+    }
+
+    /** A person together with the values they are currently indexed by */
+    private static final class Entry {
+        static final Comparator<Entry> ROSTER_ORDER = Comparator.comparingLong(e -> e.order);
+
+        final Person person;
+        /* Position in the campaign roster */
+        final long order;
+        final int primaryRole;
+        final int secondaryRole;
+        final boolean active;
+        final boolean deployed;
+        final boolean tech;
+        final boolean doctor;
+        final boolean admin;
+        final UUID doctorId;
+
+        Entry(Person person, long order) {
+            this.person = person;
+            this.order = order;
+            primaryRole = person.getPrimaryRole();
+            secondaryRole = person.getSecondaryRole();
+            active = person.isActive();
+            deployed = person.isDeployed();
+            tech = person.isTech();
+            doctor = person.isDoctor();
+            admin = person.isAdmin();
+            doctorId = person.getDoctorId();
+        }
+
+        boolean sameAs(Entry other) {
+            return (primaryRole == other.primaryRole) && (secondaryRole == other.secondaryRole)
+                    && (active == other.active) && (deployed == other.deployed) && (tech == other.tech)
+                    && (doctor == other.doctor) && (admin == other.admin)
+                    && ((null == doctorId) ? (null == other.doctorId) : doctorId.equals(other.doctorId));
+        }
+    }
+}
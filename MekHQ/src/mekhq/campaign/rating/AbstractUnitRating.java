@@ -41,10 +41,21 @@ import megamek.common.LightVehicleBay;
 import megamek.common.MechBay;
 import megamek.common.SmallCraftBay;
 import megamek.common.UnitType;
+import megamek.common.event.Subscribe;
 import megamek.common.logging.LogLevel;
 import megamek.common.logging.MMLogger;
 import mekhq.MekHQ;
 import mekhq.campaign.Campaign;
+import mekhq.campaign.event.AstechPoolChangedEvent;
+import mekhq.campaign.event.LoanEvent;
+import mekhq.campaign.event.MedicPoolChangedEvent;
+import mekhq.campaign.event.MissionEvent;
+import mekhq.campaign.event.NewDayEvent;
+import mekhq.campaign.event.OptionsChangedEvent;
+import mekhq.campaign.event.PersonEvent;
+import mekhq.campaign.event.ScenarioResolvedEvent;
+import mekhq.campaign.event.TransactionEvent;
+import mekhq.campaign.event.UnitEvent;
 import mekhq.campaign.mission.Mission;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.personnel.Skill;
@@ -108,7 +119,10 @@ public abstract class AbstractUnitRating implements IUnitRating {
     private BigDecimal supportPercent = BigDecimal.ZERO;
     private BigDecimal transportPercent = BigDecimal.ZERO;
     
-    private static boolean initialized = false;
+    private boolean initialized = false;
+    /* The score as of the last change to the campaign, see getScore() */
+    private int score = 0;
+    private boolean scoreKnown = false;
 
     /**
      * Default constructor.
@@ -120,12 +134,12 @@ public abstract class AbstractUnitRating implements IUnitRating {
         setInitialized(false);
     }
 
-    static boolean isInitialized() {
+    boolean isInitialized() {
         return initialized;
     }
 
-    private static void setInitialized(boolean initialized) {
-        AbstractUnitRating.initialized = initialized;
+    private void setInitialized(boolean initialized) {
+        this.initialized = initialized;
     }
 
     public void reInitialize() {
@@ -133,6 +147,71 @@ public abstract class AbstractUnitRating implements IUnitRating {
         initValues();
     }
 
+    /**
+     * The unit and personnel counts are worked out again the next time the rating is asked for.
+     */
+    private synchronized void invalidate() {
+        setInitialized(false);
+        scoreKnown = false;
+    }
+
+    /**
+     * Only the score is worked out again the next time the rating is asked for.
+     */
+    private synchronized void invalidateScore() {
+        scoreKnown = false;
+    }
+
+    @Subscribe
+    public void handle(UnitEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(PersonEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(MissionEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(ScenarioResolvedEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(NewDayEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(OptionsChangedEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(AstechPoolChangedEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(MedicPoolChangedEvent ev) {
+        invalidate();
+    }
+
+    @Subscribe
+    public void handle(TransactionEvent ev) {
+        invalidateScore();
+    }
+
+    @Subscribe
+    public void handle(LoanEvent ev) {
+        invalidateScore();
+    }
+
     public String getAverageExperience() {
         return getExperienceLevelName(calcAverageExperience());
     }
@@ -345,20 +424,31 @@ public abstract class AbstractUnitRating implements IUnitRating {
     }
 
     public String getUnitRating() {
-        int score = calculateUnitRatingScore();
+        int score = getScore();
         return getUnitRatingName(getUnitRating(score)) + " (" + score + ")";
     }
 
     public int getUnitRatingAsInteger() {
-        return getUnitRating(calculateUnitRatingScore());
+        return getUnitRating(getScore());
     }
 
-    public int getScore() {
-        return calculateUnitRatingScore();
+    /**
+     * The score is worked out once and then kept until something it depends on changes, as it is
+     * asked for by every contract, acquisition and personnel roll.
+     */
+    public synchronized int getScore() {
+        if (!isInitialized()) {
+            reInitialize();
+        }
+        if (!scoreKnown) {
+            score = calculateUnitRatingScore();
+            scoreKnown = true;
+        }
+        return score;
     }
 
     public int getModifier() {
-        return (calculateUnitRatingScore() / 10);
+        return (getScore() / 10);
     }
 
     /**
@@ -461,6 +551,7 @@ public abstract class AbstractUnitRating implements IUnitRating {
         setSupportPercent(BigDecimal.ZERO);
         setTransportPercent(BigDecimal.ZERO);
         setInitialized(true);
+        scoreKnown = false;
         clearSkillRatingCounts();
         getLogger().methodEnd(getClass(), "initValues()");
     }
@@ -477,7 +477,7 @@ public class CampaignOpsReputation extends AbstractUnitRating {
     @Override
     public String getUnitRating() {
         // Campaign Operations does not use letter-grades.
-        return getModifier() + " (" + calculateUnitRatingScore() + ")";
+        return getModifier() + " (" + getScore() + ")";
     }
 
     @Override
@@ -702,7 +702,7 @@ public class CampaignOpsReputation extends AbstractUnitRating {
 
     @Override
     public int getModifier() {
-        BigDecimal reputation = new BigDecimal(calculateUnitRatingScore());
+        BigDecimal reputation = new BigDecimal(getScore());
         return reputation.divide(BigDecimal.TEN, 0,
                                  RoundingMode.DOWN).intValue();
     }
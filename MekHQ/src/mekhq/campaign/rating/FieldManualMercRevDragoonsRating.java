@@ -687,7 +687,7 @@ public class FieldManualMercRevDragoonsRating extends AbstractUnitRating {
         }
 
         //Sort the transactions in reverse date order.
-        List<Transaction> transactions = campaign.getFinances().getAllTransactions();
+        List<Transaction> transactions = new ArrayList<>(campaign.getFinances().getAllTransactions());
         Comparator<Transaction> transactionDateCompare = new Comparator<Transaction>() {
             @Override
             public int compare(Transaction t1, Transaction t2) {
@@ -196,6 +196,7 @@ import mekhq.campaign.parts.equipment.MissingHeatSink;
 import mekhq.campaign.parts.equipment.MissingJumpJet;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.personnel.PersonnelOptions;
+import mekhq.campaign.personnel.PersonnelRegistry;
 import mekhq.campaign.personnel.SkillType;
 import mekhq.campaign.work.IAcquisitionWork;
 import mekhq.campaign.work.IPartWork;
@@ -275,6 +276,10 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     
     private MothballInfo mothballInfo;
 
+    //values derived from the entity and the parts, worked out when first needed
+    private EntityValues entityValues;
+    private PartValues partValues;
+
     public Unit() {
         this(null, null);
     }
@@ -569,6 +574,8 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
      * moment because I have made so many other changes in this version.
      */
     public void runDiagnostic(boolean checkForDestruction) {
+        // the entity may have been changed in place
+        entityChanged();
 
         //need to set up an array of part ids to avoid concurrent modification
         //problems because some updateCondition methods will remove the part and put
@@ -730,6 +737,7 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
 
     public void removePart(Part part) {
         parts.remove(part);
+        entityChanged();
     }
 
     /**
@@ -1217,59 +1225,23 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public double getCargoCapacity() {
-        double capacity = 0;
-        for (Bay bay : entity.getTransportBays()) {
-            if (bay instanceof CargoBay) {
-                capacity += bay.getCapacity();
-            }
-            if (bay instanceof PillionSeatCargoBay) {
-                capacity += bay.getCapacity();
-            }
-            if (bay instanceof StandardSeatCargoBay) {
-                capacity += bay.getCapacity();
-            }
-        }
-        return capacity;
+        return getEntityValues().cargoCapacity;
     }
 
     public double getRefrigeratedCargoCapacity() {
-        double capacity = 0;
-        for (Bay bay : entity.getTransportBays()) {
-            if (bay instanceof RefrigeratedCargoBay) {
-                capacity += bay.getCapacity();
-            }
-        }
-        return capacity;
+        return getEntityValues().refrigeratedCargoCapacity;
     }
 
     public double getLiquidCargoCapacity() {
-        double capacity = 0;
-        for (Bay bay : entity.getTransportBays()) {
-            if (bay instanceof LiquidCargoBay) {
-                capacity += bay.getCapacity();
-            }
-        }
-        return capacity;
+        return getEntityValues().liquidCargoCapacity;
     }
 
     public double getLivestockCargoCapacity() {
-        double capacity = 0;
-        for (Bay bay : entity.getTransportBays()) {
-            if (bay instanceof LivestockCargoBay) {
-                capacity += bay.getCapacity();
-            }
-        }
-        return capacity;
+        return getEntityValues().livestockCargoCapacity;
     }
 
     public double getInsulatedCargoCapacity() {
-        double capacity = 0;
-        for (Bay bay : entity.getTransportBays()) {
-            if (bay instanceof InsulatedCargoBay) {
-                capacity += bay.getCapacity();
-            }
-        }
-        return capacity;
+        return getEntityValues().insulatedCargoCapacity;
     }
 
     public int getDocks() {
@@ -1277,83 +1249,35 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public double getLightVehicleCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof LightVehicleBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().lightVehicleCapacity;
     }
 
     public double getHeavyVehicleCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof HeavyVehicleBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().heavyVehicleCapacity;
     }
 
     public double getBattleArmorCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof BattleArmorBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().battleArmorCapacity;
     }
 
     public double getInfantryCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof InfantryBay) {
-                bays += b.getCapacity() / ((InfantryBay) b).getPlatoonType().getWeight();
-            }
-        }
-        return bays;
+        return getEntityValues().infantryCapacity;
     }
 
     public double getASFCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof ASFBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().asfCapacity;
     }
 
     public double getSmallCraftCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof SmallCraftBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().smallCraftCapacity;
     }
 
     public double getMechCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof MechBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().mechCapacity;
     }
 
     public double getProtomechCapacity() {
-        double bays = 0;
-        for (Bay b : getEntity().getTransportBays()) {
-            if (b instanceof ProtomechBay) {
-                bays += b.getCapacity();
-            }
-        }
-        return bays;
+        return getEntityValues().protomechCapacity;
     }
 
     public double getUnitCostMultiplier() {
@@ -1528,9 +1452,18 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public static Unit generateInstanceFromXML(Node wn, Version version) {
-        final String METHOD_NAME = "generateInstanceFromXML(Node,Version)"; //$NON-NLS-1$
+        return generateInstanceFromXML(wn, version, null);
+    }
+
+    /**
+     * @param entity The unit's entity if it has already been read from the entity node, so that it
+     *               isn't parsed again; null to read it from the node
+     */
+    public static Unit generateInstanceFromXML(Node wn, Version version, @Nullable Entity entity) {
+        final String METHOD_NAME = "generateInstanceFromXML(Node,Version,Entity)"; //$NON-NLS-1$
 
         Unit retVal = new Unit();
+        retVal.entity = entity;
         NamedNodeMap attrs = wn.getAttributes();
         Node idNode = attrs.getNamedItem("id");
         if(version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
@@ -1611,7 +1544,9 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
                     else
                         retVal.mothballed = false;
                 } else if (wn2.getNodeName().equalsIgnoreCase("entity")) {
-                    retVal.entity = MekHqXmlUtil.getEntityFromXmlString(wn2);
+                    if (null == entity) {
+                        retVal.entity = MekHqXmlUtil.getEntityFromXmlString(wn2);
+                    }
                 } else if (wn2.getNodeName().equalsIgnoreCase("refit")) {
                     retVal.refit = Refit.generateInstanceFromXML(wn2, retVal, version);
                 } else if (wn2.getNodeName().equalsIgnoreCase("history")) {
@@ -1770,6 +1705,7 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     public void addPart(Part part) {
         part.setUnit(this);
         parts.add(part);
+        entityChanged();
     }
 
     /**
@@ -2730,6 +2666,7 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
 
     public void setParts(ArrayList<Part> newParts) {
         parts = newParts;
+        entityChanged();
     }
     
     public ArrayList<PodSpace> getPodSpace() {
@@ -3500,26 +3437,19 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public int getAeroCrewNeeds() {
-        return Compute.getAeroCrewNeeds(entity);
+        return getEntityValues().aeroCrewNeeds;
     }
 
     public int getFullCrewSize() {
-        return Compute.getFullCrewSize(entity);
+        return getEntityValues().fullCrewSize;
     }
 
     public int getTotalDriverNeeds() {
-        return Compute.getTotalDriverNeeds(entity);
+        return getEntityValues().totalDriverNeeds;
     }
 
     public int getTotalCrewNeeds() {
-        int nav = 0;
-        if(entity instanceof SmallCraft || entity instanceof Jumpship) {
-            if(entity instanceof Jumpship && !(entity instanceof SpaceStation)) {
-                nav = 1;
-            }
-            return getAeroCrewNeeds() - getTotalDriverNeeds() - nav;
-        }
-        return 0;
+        return getEntityValues().totalCrewNeeds;
     }
 
     public boolean canTakeMoreDrivers() {
@@ -3528,13 +3458,8 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public boolean canTakeMoreVesselCrew() {
-        int nCrew = vesselCrew.size();
-        int nav = 0;
         if(entity instanceof SmallCraft || entity instanceof Jumpship) {
-            if(entity instanceof Jumpship && !(entity instanceof SpaceStation)) {
-                nav = 1;
-            }
-            return nCrew < (getAeroCrewNeeds() - getTotalDriverNeeds() - nav);
+            return vesselCrew.size() < getTotalCrewNeeds();
         }
         return false;
     }
@@ -3562,7 +3487,7 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public int getTotalGunnerNeeds() {
-        return Compute.getTotalGunnerNeeds(entity);
+        return getEntityValues().totalGunnerNeeds;
     }
 
     public boolean usesSoloPilot() {
@@ -3764,7 +3689,15 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public void setScenarioId(int i) {
+        boolean changed = (scenarioId != i);
         this.scenarioId = i;
+        PersonnelRegistry registry = (changed && (null != campaign)) ? campaign.getPersonnelRegistry() : null;
+        if (null != registry) {
+            // Whether the crew counts as deployed has changed
+            for (Person p : getCrew()) {
+                registry.update(p);
+            }
+        }
     }
 
     public ArrayList<Person> getCrew() {
@@ -4131,8 +4064,12 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public int getMaintenanceTime() {
-        if(getEntity() instanceof Mech) {
-            switch(getEntity().getWeightClass()) {
+        return getEntityValues().maintenanceTime;
+    }
+
+    private static int calcMaintenanceTime(Entity entity) {
+        if(entity instanceof Mech) {
+            switch(entity.getWeightClass()) {
             case EntityWeightClass.WEIGHT_ULTRA_LIGHT:
                 return 30;
             case EntityWeightClass.WEIGHT_LIGHT:
@@ -4146,22 +4083,22 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
                 return  90;
             }
         }
-        if(getEntity() instanceof Protomech) {
+        if(entity instanceof Protomech) {
             return 20;
         }
-        if(getEntity() instanceof BattleArmor) {
+        if(entity instanceof BattleArmor) {
             return 10;
         }
-        if(getEntity() instanceof ConvFighter) {
+        if(entity instanceof ConvFighter) {
             return 45;
         }
-        if(getEntity() instanceof SmallCraft && !(getEntity() instanceof Dropship)) {
+        if(entity instanceof SmallCraft && !(entity instanceof Dropship)) {
             return 90;
         }
-        if(getEntity() instanceof Aero
-                && !(getEntity() instanceof Dropship)
-                && !(getEntity() instanceof Jumpship)) {
-            switch(getEntity().getWeightClass()) {
+        if(entity instanceof Aero
+                && !(entity instanceof Dropship)
+                && !(entity instanceof Jumpship)) {
+            switch(entity.getWeightClass()) {
             case EntityWeightClass.WEIGHT_LIGHT:
                 return 45;
             case EntityWeightClass.WEIGHT_MEDIUM:
@@ -4171,8 +4108,8 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
                 return  75;
             }
         }
-        if(getEntity() instanceof SupportTank) {
-            switch(getEntity().getWeightClass()) {
+        if(entity instanceof SupportTank) {
+            switch(entity.getWeightClass()) {
             case EntityWeightClass.WEIGHT_SMALL_SUPPORT:
                 return 20;
             case EntityWeightClass.WEIGHT_MEDIUM_SUPPORT:
@@ -4182,8 +4119,8 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
                 return  100;
             }
         }
-        if(getEntity() instanceof Tank) {
-            switch(getEntity().getWeightClass()) {
+        if(entity instanceof Tank) {
+            switch(entity.getWeightClass()) {
             case EntityWeightClass.WEIGHT_LIGHT:
                 return 30;
             case EntityWeightClass.WEIGHT_MEDIUM:
@@ -4237,6 +4174,10 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public int getQuality() {
+        return getPartValues().quality;
+    }
+
+    private int calcQuality() {
         int nParts = 0;
         int sumQuality = 0;
         for(Part p : getParts()) {
@@ -4283,12 +4224,7 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
     }
 
     public boolean isUnderRepair() {
-        for(Part p : getParts()) {
-            if(null != p.getTeamId()) {
-                return true;
-            }
-        }
-        return false;
+        return getPartValues().underRepair;
     }
 
     public String getLastMaintenanceReport() {
@@ -4305,6 +4241,149 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
 
     public void resetParts() {
         parts = new ArrayList<Part>();
+        entityChanged();
+    }
+
+    /**
+     * Forgets the values worked out from the parts of this unit. Called when a part changes its
+     * quality or the team working on it.
+     */
+    public void partsChanged() {
+        partValues = null;
+    }
+
+    /**
+     * Forgets the values worked out from the parts and the entity of this unit. Called when a part
+     * is added or removed, or when a diagnostic may have changed the entity in place.
+     */
+    public void entityChanged() {
+        partValues = null;
+        entityValues = null;
+    }
+
+    private PartValues getPartValues() {
+        PartValues values = partValues;
+        if (null == values) {
+            values = new PartValues(calcQuality(), calcUnderRepair());
+            partValues = values;
+        }
+        return values;
+    }
+
+    private EntityValues getEntityValues() {
+        EntityValues values = entityValues;
+        // checking the identity also catches the entity being replaced, e.g. by a refit
+        if ((null == values) || (values.entity != entity)) {
+            values = new EntityValues(entity);
+            entityValues = values;
+        }
+        return values;
+    }
+
+    private boolean calcUnderRepair() {
+        for(Part p : getParts()) {
+            if(null != p.getTeamId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class PartValues {
+        final int quality;
+        final boolean underRepair;
+
+        PartValues(int quality, boolean underRepair) {
+            this.quality = quality;
+            this.underRepair = underRepair;
+        }
+    }
+
+    /** What maintenance, crew assignments and transport need to know about the entity */
+    private static final class EntityValues {
+        final Entity entity;
+        final int maintenanceTime;
+        final int aeroCrewNeeds;
+        final int fullCrewSize;
+        final int totalDriverNeeds;
+        final int totalGunnerNeeds;
+        final int totalCrewNeeds;
+        double cargoCapacity;
+        double refrigeratedCargoCapacity;
+        double liquidCargoCapacity;
+        double livestockCargoCapacity;
+        double insulatedCargoCapacity;
+        double lightVehicleCapacity;
+        double heavyVehicleCapacity;
+        double battleArmorCapacity;
+        double infantryCapacity;
+        double asfCapacity;
+        double smallCraftCapacity;
+        double mechCapacity;
+        double protomechCapacity;
+
+        EntityValues(Entity entity) {
+            this.entity = entity;
+            maintenanceTime = calcMaintenanceTime(entity);
+            aeroCrewNeeds = Compute.getAeroCrewNeeds(entity);
+            fullCrewSize = Compute.getFullCrewSize(entity);
+            totalDriverNeeds = Compute.getTotalDriverNeeds(entity);
+            totalGunnerNeeds = Compute.getTotalGunnerNeeds(entity);
+            if(entity instanceof SmallCraft || entity instanceof Jumpship) {
+                int nav = (entity instanceof Jumpship && !(entity instanceof SpaceStation)) ? 1 : 0;
+                totalCrewNeeds = aeroCrewNeeds - totalDriverNeeds - nav;
+            } else {
+                totalCrewNeeds = 0;
+            }
+            // all the bays in one go
+            for (Bay bay : entity.getTransportBays()) {
+                if (bay instanceof CargoBay) {
+                    cargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof PillionSeatCargoBay) {
+                    cargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof StandardSeatCargoBay) {
+                    cargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof RefrigeratedCargoBay) {
+                    refrigeratedCargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof LiquidCargoBay) {
+                    liquidCargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof LivestockCargoBay) {
+                    livestockCargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof InsulatedCargoBay) {
+                    insulatedCargoCapacity += bay.getCapacity();
+                }
+                if (bay instanceof LightVehicleBay) {
+                    lightVehicleCapacity += bay.getCapacity();
+                }
+                if (bay instanceof HeavyVehicleBay) {
+                    heavyVehicleCapacity += bay.getCapacity();
+                }
+                if (bay instanceof BattleArmorBay) {
+                    battleArmorCapacity += bay.getCapacity();
+                }
+                if (bay instanceof InfantryBay) {
+                    infantryCapacity += bay.getCapacity() / ((InfantryBay) bay).getPlatoonType().getWeight();
+                }
+                if (bay instanceof ASFBay) {
+                    asfCapacity += bay.getCapacity();
+                }
+                if (bay instanceof SmallCraftBay) {
+                    smallCraftCapacity += bay.getCapacity();
+                }
+                if (bay instanceof MechBay) {
+                    mechCapacity += bay.getCapacity();
+                }
+                if (bay instanceof ProtomechBay) {
+                    protomechCapacity += bay.getCapacity();
+                }
+            }
+        }
     }
 
     /**
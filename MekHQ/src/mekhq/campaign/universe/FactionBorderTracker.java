@@ -29,6 +29,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.joda.time.DateTime;
 
@@ -58,6 +60,9 @@ import mekhq.campaign.event.NewDayEvent;
  */
 public class FactionBorderTracker {
     
+    /* The number of factions or faction pairs above which they are worked through in parallel */
+    private static final int PARALLEL_THRESHOLD = 64;
+
     private final RegionHex regionHex;
     private DateTime lastUpdate;
     private DateTime now;
@@ -77,6 +82,15 @@ public class FactionBorderTracker {
     private volatile boolean invalid = true;
     private volatile boolean cancelTask = false;
 
+    /* What the border data was last worked out from, so a change of date only needs to update
+     * the factions whose planets changed. */
+    private List<Planet> regionPlanets = Collections.emptyList();
+    private double builtCenterX;
+    private double builtCenterY;
+    private double builtRadius;
+    private volatile boolean fullRebuild = true;
+    private final Set<Faction> changedFactions = new HashSet<>();
+
     /**
      * Constructs a FactionBorderTracker with the default region of a 1000 ly radius around Terra.
      */
@@ -390,6 +404,7 @@ public class FactionBorderTracker {
         } else {
             factionBorderSize.remove(f);
         }
+        fullRebuild = true;
     }
     
     /**
@@ -405,6 +420,7 @@ public class FactionBorderTracker {
         isBorderSize = is;
         peripheryBorderSize = periphery;
         clanBorderSize = clan;
+        fullRebuild = true;
     }
     
     /**
@@ -428,52 +444,55 @@ public class FactionBorderTracker {
     /**
      * The task that checks all planets within the region and notes which are controlled by which factions
      * and which are within a certain distance of another faction's systems.
+     * 
+     * Once the borders have been worked out for the whole region, a change of date only works out again
+     * the factions which gained or lost a planet since the last update, and the borders between those and
+     * their neighbors. Everything is worked out again if the region or the border sizes change.
      */
     private synchronized void rebuildBorderData() {
         cancelTask = false;
         try {
-            List<Planet> planetList = new ArrayList<>();
-            Set<Faction> factionSet = new HashSet<>();
-            Set<Faction> oldFactions = new HashSet<>(borders.keySet());
-            for (Planet planet : getPlanetList()) {
-                if ((regionHex.radius < 0)
-                        || regionHex.contains(planet.getX(), planet.getY())) {
-                    planetList.add(planet);
-                    factionSet.addAll(planet.getFactionSet(now));
-                }
-                if (cancelTask) {
-                    return;
-                }
-            }
-            for (Faction f : factionSet) {
-                borders.put(f, new FactionBorders(f, now, planetList));
-                oldFactions.remove(f);
-            }
-            for (Faction f : oldFactions) {
-                borders.remove(f);
-                borderPlanets.remove(f);
-            }
-            if (cancelTask) {
-                return;
-            }
-            for (Faction us : factionSet) {
-                Map<Faction, List<Planet>> borderMap = new HashMap<>();
-                for (Faction them : factionSet) {
-                    if (!us.equals(them)) {
-                        double borderSize = Math.max(getBorderSize(us), getBorderSize(them));
-                        List<Planet> planets = borders.get(us).getBorderPlanets(borders.get(them), borderSize);
-                        borderMap.put(them, planets);
+            final DateTime when = now;
+            if (fullRebuild || !regionHex.isCenter(builtCenterX, builtCenterY)
+                    || (Math.abs(regionHex.radius - builtRadius) > RegionPerimeter.EPSILON)) {
+                // Stays set until a rebuild finishes, in case this one is canceled
+                fullRebuild = true;
+                List<Planet> planetList = new ArrayList<>();
+                for (Planet planet : getPlanetList()) {
+                    if ((regionHex.radius < 0)
+                            || regionHex.contains(planet.getX(), planet.getY())) {
+                        planetList.add(planet);
+                        changedFactions.addAll(planet.getFactionSet(when));
+                    }
+                    if (cancelTask) {
+                        return;
                     }
                 }
-                borderPlanets.put(us, borderMap);
-                if (cancelTask) {
-                    return;
+                regionPlanets = planetList;
+                builtCenterX = regionHex.center[0];
+                builtCenterY = regionHex.center[1];
+                builtRadius = regionHex.radius;
+                // Factions which are no longer in the region have to be removed
+                changedFactions.addAll(borders.keySet());
+            } else {
+                for (Planet planet : regionPlanets) {
+                    if (planet.hasFactionChangeBetween(lastUpdate, when)) {
+                        changedFactions.addAll(planet.getFactionSet(lastUpdate));
+                        changedFactions.addAll(planet.getFactionSet(when));
+                    }
+                    if (cancelTask) {
+                        return;
+                    }
                 }
             }
-            if (cancelTask) {
+            if (!changedFactions.isEmpty() && !updateFactions(when)) {
                 return;
             }
-            lastUpdate = now;
+            // Only forget the changes once they have all been worked out; a canceled update
+            // leaves them for the next one.
+            changedFactions.clear();
+            fullRebuild = false;
+            lastUpdate = when;
         } catch (Exception ex) {
             MekHQ.getLogger().error(getClass(), "recalculate()", ex.getMessage());
         } finally {
@@ -481,6 +500,64 @@ public class FactionBorderTracker {
             notify();
         }
     }
+
+    /**
+     * Works out the planets of each of the changed factions again, and the borders between them
+     * and every other faction in the region.
+     * 
+     * @param when The date to work out the borders for
+     * @return     Whether the update finished without being canceled
+     */
+    private boolean updateFactions(DateTime when) {
+        final List<Planet> planetList = regionPlanets;
+        List<FactionBorders> rebuilt = stream(changedFactions)
+                .map(f -> new FactionBorders(f, when, planetList))
+                .collect(Collectors.toList());
+        for (FactionBorders fb : rebuilt) {
+            if (fb.getPlanets().isEmpty()) {
+                borders.remove(fb.getFaction());
+                borderPlanets.remove(fb.getFaction());
+            } else {
+                borders.put(fb.getFaction(), fb);
+            }
+        }
+        for (Map<Faction, List<Planet>> borderMap : borderPlanets.values()) {
+            borderMap.keySet().retainAll(borders.keySet());
+        }
+        if (cancelTask) {
+            return false;
+        }
+        // Only the pairs with at least one changed faction need to be checked again
+        List<Faction[]> pairs = new ArrayList<>();
+        for (Faction us : borders.keySet()) {
+            for (Faction them : borders.keySet()) {
+                if (!us.equals(them) && (changedFactions.contains(us) || changedFactions.contains(them))) {
+                    pairs.add(new Faction[] { us, them });
+                }
+            }
+        }
+        List<List<Planet>> results = stream(pairs)
+                .map(pair -> cancelTask ? Collections.<Planet>emptyList()
+                        : borders.get(pair[0]).getBorderPlanets(borders.get(pair[1]),
+                                Math.max(getBorderSize(pair[0]), getBorderSize(pair[1]))))
+                .collect(Collectors.toList());
+        if (cancelTask) {
+            return false;
+        }
+        for (int i = 0; i < pairs.size(); i++) {
+            borderPlanets.computeIfAbsent(pairs.get(i)[0], f -> new ConcurrentHashMap<>())
+                .put(pairs.get(i)[1], results.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * @return A stream over the items, which is worked through in parallel if there are enough of them
+     *         to be worth it.
+     */
+    private static <T> Stream<T> stream(Collection<T> items) {
+        return (items.size() >= PARALLEL_THRESHOLD) ? items.parallelStream() : items.stream();
+    }
     
     /**
      * If this instance has been registered with the event bus, listens for new day events and
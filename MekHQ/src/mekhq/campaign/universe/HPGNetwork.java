@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2018 MegaMek team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.joda.time.DateTime;
+
+import megamek.common.EquipmentType;
+import mekhq.campaign.universe.Planet.PlanetaryEvent;
+import mekhq.campaign.universe.Planets.HPGLink;
+
+/**
+ * Keeps the set of HPG links up to date as the campaign date moves.
+ *
+ * HPG ratings only change on the dates of planetary events which set one, so the network is the
+ * same for every date between two such events. The index remembers which planets have an HPG
+ * event on which date; moving to another date only looks at the planets with events in between,
+ * and only the links touching a planet whose rating actually changed are replaced.
+ */
+class HPGNetwork {
+    /** Stands for "no HPG" in the rating array */
+    private static final int NO_HPG = -1;
+
+    /* Planets (by graph index) with an event setting the HPG rating, by date of the event */
+    private final TreeMap<DateTime, List<Integer>> changes = new TreeMap<>();
+    /* Planets whose events were edited since the last update */
+    private final Set<Planet> editedPlanets = new HashSet<>();
+
+    private JumpGraph graph;
+    /* The date of the last HPG change on or before the current date; null before the first one */
+    private DateTime currentChange;
+    private int[] ratings;
+    private Set<HPGLink> links;
+    private Collection<HPGLink> linksView;
+
+    /**
+     * @return the HPG links as of the given date. The collection is not modified later, so it's
+     *         safe to keep it until the network changes.
+     */
+    public synchronized Collection<HPGLink> getLinks(JumpGraph currentGraph, DateTime when) {
+        if(null == currentGraph) {
+            // Planets are still loading
+            return Collections.emptySet();
+        }
+        if(currentGraph != graph) {
+            rebuild(currentGraph, when);
+        } else {
+            update(when);
+        }
+        return linksView;
+    }
+
+    /**
+     * @return the date of the last change to the HPG network on or before the given date, or
+     *         <code>null</code> if there was none. Two dates with the same result have the same network.
+     */
+    public synchronized DateTime getLastChange(JumpGraph currentGraph, DateTime when) {
+        if(currentGraph != graph) {
+            rebuild(currentGraph, when);
+        }
+        return changes.floorKey(when);
+    }
+
+    /** Notes that the events of a planet were edited, so its part of the network needs to be rechecked */
+    public synchronized void planetChanged(Planet planet) {
+        editedPlanets.add(planet);
+    }
+
+    /** Forgets everything; the next query rebuilds the index from scratch */
+    public synchronized void clear() {
+        graph = null;
+        changes.clear();
+        editedPlanets.clear();
+        ratings = null;
+        links = null;
+        linksView = null;
+        currentChange = null;
+    }
+
+    private void rebuild(JumpGraph currentGraph, DateTime when) {
+        clear();
+        if(null == currentGraph) {
+            return;
+        }
+        graph = currentGraph;
+        for(int i = 0; i < graph.size(); i++) {
+            addChanges(i);
+        }
+        currentChange = changes.floorKey(when);
+        ratings = new int[graph.size()];
+        for(int i = 0; i < ratings.length; i++) {
+            ratings[i] = getRating(i, when);
+        }
+        links = new HashSet<>();
+        for(int i = 0; i < ratings.length; i++) {
+            if(ratings[i] == EquipmentType.RATING_A) {
+                final int endSlot = graph.endOfNeighbours(i, JumpGraph.MAX_RANGE);
+                for(int slot = graph.firstNeighbour(i); slot < endSlot; slot++) {
+                    int neighbour = graph.getNeighbour(slot);
+                    if(ratings[neighbour] != NO_HPG) {
+                        links.add(new HPGLink(graph.getPlanet(i), graph.getPlanet(neighbour), ratings[neighbour]));
+                    }
+                }
+            }
+        }
+        linksView = Collections.unmodifiableSet(new HashSet<>(links));
+    }
+
+    private void update(DateTime when) {
+        Set<Integer> candidates = new HashSet<>();
+        for(Planet planet : editedPlanets) {
+            int index = graph.indexOf(planet);
+            if(index >= 0) {
+                removeChanges(index);
+                addChanges(index);
+                candidates.add(index);
+            }
+        }
+        editedPlanets.clear();
+
+        DateTime newChange = changes.floorKey(when);
+        if(!Objects.equals(newChange, currentChange)) {
+            // Every planet with an HPG event between the two dates might have changed
+            Map<DateTime, List<Integer>> between;
+            if(null == currentChange) {
+                between = changes.headMap(newChange, true);
+            } else if(null == newChange) {
+                between = changes.headMap(currentChange, true);
+            } else if(currentChange.isBefore(newChange)) {
+                between = changes.subMap(currentChange, true, newChange, true);
+            } else {
+                between = changes.subMap(newChange, true, currentChange, true);
+            }
+            for(List<Integer> planets : between.values()) {
+                candidates.addAll(planets);
+            }
+            currentChange = newChange;
+        }
+        if(candidates.isEmpty()) {
+            return;
+        }
+
+        int[] newRatings = Arrays.copyOf(ratings, ratings.length);
+        List<Integer> changed = new ArrayList<>();
+        for(int index : candidates) {
+            newRatings[index] = getRating(index, when);
+            if(newRatings[index] != ratings[index]) {
+                changed.add(index);
+            }
+        }
+        if(changed.isEmpty()) {
+            return;
+        }
+        // Drop the links touching a changed planet as they were, then add them as they are now
+        for(int index : changed) {
+            updateLinks(index, ratings, false);
+        }
+        ratings = newRatings;
+        for(int index : changed) {
+            updateLinks(index, ratings, true);
+        }
+        // Callers may still be iterating over the previous collection
+        linksView = Collections.unmodifiableSet(new HashSet<>(links));
+    }
+
+    /** Adds or removes all links between the given planet and its neighbours for the given ratings */
+    private void updateLinks(int index, int[] planetRatings, boolean add) {
+        final Planet planet = graph.getPlanet(index);
+        final int endSlot = graph.endOfNeighbours(index, JumpGraph.MAX_RANGE);
+        for(int slot = graph.firstNeighbour(index); slot < endSlot; slot++) {
+            int neighbour = graph.getNeighbour(slot);
+            Planet other = graph.getPlanet(neighbour);
+            if((planetRatings[index] == EquipmentType.RATING_A) && (planetRatings[neighbour] != NO_HPG)) {
+                HPGLink link = new HPGLink(planet, other, planetRatings[neighbour]);
+                if(add) {
+                    links.add(link);
+                } else {
+                    links.remove(link);
+                }
+            }
+            if((planetRatings[neighbour] == EquipmentType.RATING_A) && (planetRatings[index] != NO_HPG)) {
+                HPGLink link = new HPGLink(other, planet, planetRatings[index]);
+                if(add) {
+                    links.add(link);
+                } else {
+                    links.remove(link);
+                }
+            }
+        }
+    }
+
+    private int getRating(int index, DateTime when) {
+        Integer hpg = graph.getPlanet(index).getHPG(when);
+        return (null != hpg) ? hpg.intValue() : NO_HPG;
+    }
+
+    private void addChanges(int index) {
+        Planet planet = graph.getPlanet(index);
+        if(null == planet.events) {
+            return;
+        }
+        for(Map.Entry<DateTime, PlanetaryEvent> event : planet.events.entrySet()) {
+            if(null != event.getValue().hpg) {
+                changes.computeIfAbsent(event.getKey(), k -> new ArrayList<>(1)).add(index);
+            }
+        }
+    }
+
+    private void removeChanges(int index) {
+        changes.values().removeIf(planets -> {
+            planets.remove(Integer.valueOf(index));
+            return planets.isEmpty();
+        });
+    }
+}
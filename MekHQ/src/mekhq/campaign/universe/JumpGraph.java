@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2018 MegaMek team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable snapshot of which planets lie within {@link #MAX_RANGE} light years of each other.
+ * Planets are numbered from 0 to {@link #size()} - 1. The neighbours of planet <code>i</code>
+ * occupy the slots from {@link #firstNeighbour(int)} up to (but excluding) {@link #endOfNeighbours(int, double)},
+ * sorted by distance, so the neighbours within any smaller range are a prefix of that list.
+ * As with {@link Planets#getNearbyPlanets(Planet, int)}, a planet is included in its own list of
+ * neighbours, at distance 0.
+ *
+ * The graph has to be rebuilt when planets are added or their coordinates change.
+ */
+public final class JumpGraph {
+    /** Jump range in light years */
+    public static final int JUMP_RANGE = 30;
+    /** Largest range stored in the graph, which is the HPG transmission range in light years */
+    public static final int MAX_RANGE = 50;
+
+    private final Planet[] planets;
+    private final Map<String, Integer> indexById;
+    /* The neighbours of planet i are in slots offsets[i] to offsets[i + 1] - 1 */
+    private final int[] offsets;
+    /* End of the slots of planet i within JUMP_RANGE */
+    private final int[] jumpEnds;
+    private final int[] neighbours;
+    private final double[] distances;
+
+    JumpGraph(Collection<Planet> planetList, Planets grid) {
+        planets = planetList.toArray(new Planet[0]);
+        indexById = new HashMap<>(planets.length * 2);
+        for(int i = 0; i < planets.length; i++) {
+            indexById.put(planets[i].getId(), i);
+        }
+
+        // Each planet's neighbour list is worked out independently, so that part runs in parallel
+        final int[][] planetNeighbours = new int[planets.length][];
+        final double[][] planetDistances = new double[planets.length][];
+        IntStream.range(0, planets.length).parallel().forEach(i -> {
+            final Planet planet = planets[i];
+            List<Planet> nearby = new ArrayList<>();
+            grid.visitNearbyPlanets(planet.getX(), planet.getY(), MAX_RANGE, nearby::add);
+            nearby.sort(Comparator.comparingDouble(planet::getDistanceTo));
+            int[] indices = new int[nearby.size()];
+            double[] planetDistance = new double[nearby.size()];
+            int count = 0;
+            for(Planet neighbour : nearby) {
+                Integer index = indexById.get(neighbour.getId());
+                if(null != index) {
+                    indices[count] = index;
+                    planetDistance[count] = planet.getDistanceTo(neighbour);
+                    count++;
+                }
+            }
+            planetNeighbours[i] = Arrays.copyOf(indices, count);
+            planetDistances[i] = Arrays.copyOf(planetDistance, count);
+        });
+
+        offsets = new int[planets.length + 1];
+        jumpEnds = new int[planets.length];
+        int slots = 0;
+        for(int[] list : planetNeighbours) {
+            slots += list.length;
+        }
+        neighbours = new int[slots];
+        distances = new double[slots];
+        int slot = 0;
+        for(int i = 0; i < planets.length; i++) {
+            offsets[i] = slot;
+            jumpEnds[i] = slot;
+            for(int j = 0; j < planetNeighbours[i].length; j++) {
+                neighbours[slot] = planetNeighbours[i][j];
+                distances[slot] = planetDistances[i][j];
+                slot++;
+                if(planetDistances[i][j] <= JUMP_RANGE) {
+                    jumpEnds[i] = slot;
+                }
+            }
+        }
+        offsets[planets.length] = slot;
+    }
+
+    /** @return the number of planets in the graph */
+    public int size() {
+        return planets.length;
+    }
+
+    public Planet getPlanet(int index) {
+        return planets[index];
+    }
+
+    /** @return the index of the planet, or -1 if the graph doesn't contain this planet object */
+    public int indexOf(Planet planet) {
+        if(null == planet) {
+            return -1;
+        }
+        Integer index = indexById.get(planet.getId());
+        return ((null != index) && (planets[index] == planet)) ? index : -1;
+    }
+
+    /** @return the first neighbour slot of the planet */
+    public int firstNeighbour(int index) {
+        return offsets[index];
+    }
+
+    /** @return the end of the neighbour slots of the planet within a range of {@link #MAX_RANGE} or less */
+    public int endOfNeighbours(int index, double range) {
+        if(range == JUMP_RANGE) {
+            return jumpEnds[index];
+        }
+        int end = offsets[index + 1];
+        if(range >= MAX_RANGE) {
+            return end;
+        }
+        int slot = offsets[index];
+        while((slot < end) && (distances[slot] <= range)) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /** @return the index of the planet in the given neighbour slot */
+    public int getNeighbour(int slot) {
+        return neighbours[slot];
+    }
+
+    /** @return the distance in light years to the planet in the given neighbour slot */
+    public double getDistance(int slot) {
+        return distances[slot];
+    }
+}
@@ -2,6 +2,7 @@ package mekhq.campaign.universe;
 
 import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,9 +24,8 @@ import mekhq.MekHQ;
 import mekhq.MekHqXmlUtil;
 
 /**
- * Instead of making this a static like Planets, we are just going to reload a years
- * worth of news items at the start of every year, to cut down on memory usage. If this 
- * slows things down too much on year turn over we can reconsider
+ * The news file is read once and kept by year. Each campaign then picks out a year's
+ * worth of news items at the start of every year, with their dates finalized.
  * @author Jay Lawson
  *
  */
@@ -49,6 +49,9 @@ public class News {
         }
     }
 
+    /* All news items from the file by year, read once and shared between campaigns */
+    private static Map<Integer, List<NewsItem>> newsByYear;
+
     //we need two hashes - one to access by date and the other by an id
     private Map<DateTime, List<NewsItem>> archive;
     private Map<Integer, NewsItem> news;
@@ -78,79 +81,100 @@ public class News {
             archive = new HashMap<>();
             news = new HashMap<>();
             int id = 0;
+            for(NewsItem item : getNewsForYear(year)) {
+                // The shared item stays as read, so the date is picked anew every time the year is loaded
+                NewsItem newsItem = new NewsItem(item);
+                newsItem.finalizeDate();
+                archive.computeIfAbsent(newsItem.getDate(), k -> new ArrayList<>()).add(newsItem);
+                newsItem.setId(id);
+                news.put(id, newsItem);
+                ++ id;
+            }
             MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
-                    "Starting load of news data for " + year + " from XML..."); //$NON-NLS-1$
+                    "loaded " + archive.size() + " days of news items for " + year); //$NON-NLS-1$
+        }
+    }
+    
+    /** @return the news items for the given year as read from the file, in file order */
+    private static List<NewsItem> getNewsForYear(int year) {
+        synchronized(LOADING_LOCK) {
+            if(null == newsByYear) {
+                newsByYear = readNews();
+            }
+            return newsByYear.getOrDefault(year, Collections.emptyList());
+        }
+    }
+    
+    /**
+     * Reads the news file once. Items are filed under every year they could be shown in, so
+     * an item with decade precision is listed for each year of its decade.
+     */
+    private static Map<Integer, List<NewsItem>> readNews() {
+        final String METHOD_NAME = "readNews()"; //$NON-NLS-1$
+        Map<Integer, List<NewsItem>> result = new HashMap<>();
+        MekHQ.getLogger().log(News.class, METHOD_NAME, LogLevel.INFO,
+                "Starting load of news data from XML..."); //$NON-NLS-1$
 
-            // Initialize variables.
-            Document xmlDoc = null;
+        // Initialize variables.
+        Document xmlDoc = null;
 
-            try(FileInputStream fis = new FileInputStream("data/universe/news.xml")) {
-                // Using factory get an instance of document builder
-                DocumentBuilder db = MekHqXmlUtil.newSafeDocumentBuilder();
-        
-                // Parse using builder to get DOM representation of the XML file
-                xmlDoc = db.parse(fis);
-            } catch (Exception ex) {
-                MekHQ.getLogger().error(getClass(), METHOD_NAME, ex);
-            }
-        
-            Element newsEle = xmlDoc.getDocumentElement();
-            NodeList nl = newsEle.getChildNodes();
-        
-            // Get rid of empty text nodes and adjacent text nodes...
-            // Stupid weird parsing of XML.  At least this cleans it up.
-            newsEle.normalize(); 
-        
-            // Okay, lets iterate through the children, eh?
-            for (int x = 0; x < nl.getLength(); x++) {
-                Node wn = nl.item(x);
-        
-                if (wn.getParentNode() != newsEle)
-                    continue;
-        
-                int xc = wn.getNodeType();
-        
-                if (xc == Node.ELEMENT_NODE) {
-                    // This is what we really care about.
-                    // All the meat of our document is in this node type, at this
-                    // level.
-                    // Okay, so what element is it?
-                    String xn = wn.getNodeName();
-        
-                    if (xn.equalsIgnoreCase("newsItem")) {
-                        NewsItem newsItem = null;
-                        try {
-                            newsItem = (NewsItem) unmarshaller.unmarshal(wn);
-                        } catch(JAXBException e) {
-                            MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
-                            continue;
-                        }
-                        if(null == newsItem.getDate()) {
-                            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
-                                    "The date is null for news Item " + newsItem.getHeadline()); //$NON-NLS-1$
-                        }
-                        if(!newsItem.isInYear(year)) {
-                            continue;
-                        }
-                        List<NewsItem> items;
-                        newsItem.finalizeDate();
-                        if(null == archive.get(newsItem.getDate())) {
-                            items = new ArrayList<NewsItem>();
-                            items.add(newsItem);
-                            archive.put(newsItem.getDate(), items);
-                        } else {
-                            items = archive.get(newsItem.getDate());
-                            items.add(newsItem);
-                            archive.put(newsItem.getDate(), items);
-                        }
-                        newsItem.setId(id);
-                        news.put(id, newsItem);
-                        ++ id;
+        try(FileInputStream fis = new FileInputStream("data/universe/news.xml")) {
+            // Using factory get an instance of document builder
+            DocumentBuilder db = MekHqXmlUtil.newSafeDocumentBuilder();
+    
+            // Parse using builder to get DOM representation of the XML file
+            xmlDoc = db.parse(fis);
+        } catch (Exception ex) {
+            MekHQ.getLogger().error(News.class, METHOD_NAME, ex);
+            return result;
+        }
+    
+        Element newsEle = xmlDoc.getDocumentElement();
+        NodeList nl = newsEle.getChildNodes();
+    
+        // Get rid of empty text nodes and adjacent text nodes...
+        // Stupid weird parsing of XML.  At least this cleans it up.
+        newsEle.normalize(); 
+    
+        // Okay, lets iterate through the children, eh?
+        for (int x = 0; x < nl.getLength(); x++) {
+            Node wn = nl.item(x);
+    
+            if (wn.getParentNode() != newsEle)
+                continue;
+    
+            int xc = wn.getNodeType();
+    
+            if (xc == Node.ELEMENT_NODE) {
+                // This is what we really care about.
+                // All the meat of our document is in this node type, at this
+                // level.
+                // Okay, so what element is it?
+                String xn = wn.getNodeName();
+    
+                if (xn.equalsIgnoreCase("newsItem")) {
+                    NewsItem newsItem = null;
+                    try {
+                        newsItem = (NewsItem) unmarshaller.unmarshal(wn);
+                    } catch(JAXBException e) {
+                        MekHQ.getLogger().error(News.class, METHOD_NAME, e);
+                        continue;
+                    }
+                    if(null == newsItem.getDate()) {
+                        MekHQ.getLogger().log(News.class, METHOD_NAME, LogLevel.ERROR,
+                                "The date is null for news Item " + newsItem.getHeadline()); //$NON-NLS-1$
+                        continue;
+                    }
+                    int firstYear = newsItem.getYear();
+                    int lastYear = (newsItem.getDatePrecision() == NewsItem.Precision.DECADE) ? firstYear + 9 : firstYear;
+                    for(int year = firstYear; year <= lastYear; ++ year) {
+                        result.computeIfAbsent(year, k -> new ArrayList<>()).add(newsItem);
                     }
                 }
-            }   
-            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
-                    "loaded " + archive.size() + " days of news items for " + year); //$NON-NLS-1$
+            }
         }
+        MekHQ.getLogger().log(News.class, METHOD_NAME, LogLevel.INFO,
+                "loaded news items for " + result.size() + " years"); //$NON-NLS-1$
+        return result;
     }
 }
\ No newline at end of file
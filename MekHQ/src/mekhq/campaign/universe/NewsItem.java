@@ -75,6 +75,18 @@ public class NewsItem {
         this.service = null;
     }
     
+    /** Creates a copy of a news item, for example to finalize its date without changing the original */
+    public NewsItem(NewsItem other) {
+        this.date = other.date;
+        this.datePrecision = other.datePrecision;
+        this.headline = other.headline;
+        this.description = other.description;
+        this.service = other.service;
+        this.location = other.location;
+        this.dateString = other.dateString;
+        this.id = other.id;
+    }
+    
     public String getHeadline() {
         return headline;
     }
@@ -119,6 +131,10 @@ public class NewsItem {
         id = i;
     }
     
+    public Precision getDatePrecision() {
+        return datePrecision;
+    }
+    
     public int getYear() {
         return date.getYear();
     }
@@ -126,8 +126,9 @@ public class Planet implements Serializable {
     @SuppressWarnings("unused")
     private UUID uniqueIdentifier;
     private String id;
-    private String name;
-    private String shortName;
+    // Package-private so that the planet name index can read the names without any events applied
+    String name;
+    String shortName;
     private Integer sysPos;
 
     //Star data (to be factored out)
@@ -228,6 +229,13 @@ public class Planet implements Serializable {
      */
     @XmlTransient
     TreeMap<DateTime, PlanetaryEvent> events;
+    /**
+     * The combined event data in effect from each event date onwards, built on demand from
+     * the events and discarded whenever they change.
+     */
+    private transient volatile TreeMap<DateTime, PlanetaryEvent> timeline;
+    /** The result of the last timeline lookup, shared by all date-dependent getters */
+    private transient volatile TimelineSnapshot lastSnapshot;
     
     //a hash to keep track of dynamic garrison changes
     //TreeMap<DateTime, List<String>> garrisonHistory;
@@ -542,6 +550,8 @@ public class Planet implements Serializable {
             event.date = when;
             events.put(when, event);
         }
+        // The caller is likely to change the event
+        clearEventCache();
         return event;
     }
     
@@ -560,18 +570,60 @@ public class Planet implements Serializable {
     }
     
     protected <T> T getEventData(DateTime when, T defaultValue, EventGetter<T> getter) {
-        if( null == when || null == events || null == getter ) {
+        if( null == when || null == getter ) {
             return defaultValue;
         }
-        T result = defaultValue;
-        for( DateTime date : events.navigableKeySet() ) {
-            if( date.isAfter(when) ) {
-                break;
+        PlanetaryEvent data = getEventData(when);
+        return (null != data) ? Utilities.nonNull(getter.get(data), defaultValue) : defaultValue;
+    }
+
+    /**
+     * @return a combined event holding the latest value set by any event on or before the given
+     *         date for each attribute, or <code>null</code> if there are no such events.
+     */
+    private PlanetaryEvent getEventData(DateTime when) {
+        TreeMap<DateTime, PlanetaryEvent> currentTimeline = timeline;
+        if( null == currentTimeline ) {
+            currentTimeline = buildTimeline();
+            timeline = currentTimeline;
+        }
+        TimelineSnapshot snapshot = lastSnapshot;
+        if( (null != snapshot) && (snapshot.timeline == currentTimeline) && (snapshot.millis == when.getMillis()) ) {
+            return snapshot.data;
+        }
+        Map.Entry<DateTime, PlanetaryEvent> entry = currentTimeline.floorEntry(when);
+        PlanetaryEvent data = (null != entry) ? entry.getValue() : null;
+        lastSnapshot = new TimelineSnapshot(currentTimeline, when.getMillis(), data);
+        return data;
+    }
+
+    private TreeMap<DateTime, PlanetaryEvent> buildTimeline() {
+        // Ordered by instant, so that a lookup finds the same events the old linear scan did
+        TreeMap<DateTime, PlanetaryEvent> result = new TreeMap<>();
+        if( null != events ) {
+            PlanetaryEvent previous = null;
+            for( Map.Entry<DateTime, PlanetaryEvent> entry : events.entrySet() ) {
+                PlanetaryEvent combined = new PlanetaryEvent();
+                if( null != previous ) {
+                    combined.replaceDataFrom(previous);
+                }
+                combined.copyDataFrom(entry.getValue());
+                combined.date = entry.getKey();
+                result.put(entry.getKey(), combined);
+                previous = combined;
             }
-            result = Utilities.nonNull(getter.get(events.get(date)), result);
         }
         return result;
     }
+
+    /**
+     * Discards the cached event timeline. This needs to be called after changing an event
+     * obtained from {@link #getEvent(DateTime)}; {@link #getOrCreateEvent(DateTime)} already does so.
+     */
+    public void clearEventCache() {
+        timeline = null;
+        lastSnapshot = null;
+    }
     
     /** @return events for this year. Never returns <i>null</i>. */
     public List<PlanetaryEvent> getEvents(int year) {
@@ -591,15 +643,11 @@ public class Planet implements Serializable {
     }
     
     public String getName(DateTime when) {
-        return getEventData(when, name, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.name; }
-        });
+        return getEventData(when, name, e -> e.name);
     }
 
     public String getShortName(DateTime when) {
-        return getEventData(when, shortName, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.shortName; }
-        });
+        return getEventData(when, shortName, e -> e.shortName);
     }
     
     public List<String> getNames() {
@@ -622,9 +670,7 @@ public class Planet implements Serializable {
     }
     
     public SocioIndustrialData getSocioIndustrial(DateTime when) {
-        return getEventData(when, socioIndustrial, new EventGetter<SocioIndustrialData>() {
-            @Override public SocioIndustrialData get(PlanetaryEvent e) { return e.socioIndustrial; }
-        });
+        return getEventData(when, socioIndustrial, e -> e.socioIndustrial);
     }
 
     public String getSocioIndustrialText(DateTime when) {
@@ -633,9 +679,7 @@ public class Planet implements Serializable {
     }
 
     public Integer getHPG(DateTime when) {
-        return getEventData(when, hpg, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.hpg; }
-        });
+        return getEventData(when, hpg, e -> e.hpg);
     }
 
     public String getHPGClass(DateTime when) {
@@ -643,9 +687,7 @@ public class Planet implements Serializable {
     }
 
     public Integer getPopulationRating(DateTime when) {
-        return getEventData(when, populationRating, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.populationRating; }
-        });
+        return getEventData(when, populationRating, e -> e.populationRating);
     }
     
     public String getPopulationRatingString(DateTime when) {
@@ -654,15 +696,11 @@ public class Planet implements Serializable {
     }
     
     public String getGovernment(DateTime when) {
-        return getEventData(when, government, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.government; }
-        });
+        return getEventData(when, government, e -> e.government);
     }
 
     public Integer getControlRating(DateTime when) {
-        return getEventData(when, controlRating, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.controlRating; }
-        });
+        return getEventData(when, controlRating, e -> e.controlRating);
     }
     
     public String getControlRatingString(DateTime when) {
@@ -671,9 +709,7 @@ public class Planet implements Serializable {
     }
     
     public LifeForm getLifeForm(DateTime when) {
-        return getEventData(when, null != lifeForm ? lifeForm : LifeForm.NONE, new EventGetter<LifeForm>() {
-            @Override public LifeForm get(PlanetaryEvent e) { return e.lifeForm; }
-        });
+        return getEventData(when, null != lifeForm ? lifeForm : LifeForm.NONE, e -> e.lifeForm);
     }
 
     public String getLifeFormName(DateTime when) {
@@ -681,9 +717,7 @@ public class Planet implements Serializable {
     }
 
     public Climate getClimate(DateTime when) {
-        return getEventData(when, climate, new EventGetter<Climate>() {
-            @Override public Climate get(PlanetaryEvent e) { return e.climate; }
-        });
+        return getEventData(when, climate, e -> e.climate);
     }
 
     public String getClimateName(DateTime when) {
@@ -692,21 +726,15 @@ public class Planet implements Serializable {
     }
 
     public Integer getPercentWater(DateTime when) {
-        return getEventData(when, percentWater, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.percentWater; }
-        });
+        return getEventData(when, percentWater, e -> e.percentWater);
     }
 
     public Integer getTemperature(DateTime when) {
-        return getEventData(when, temperature, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.temperature; }
-        });
+        return getEventData(when, temperature, e -> e.temperature);
     }
     
     public Integer getPressure(DateTime when) {
-        return getEventData(when, pressure, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.pressure; }
-        });
+        return getEventData(when, pressure, e -> e.pressure);
     }
     
     public String getPressureName(DateTime when) {
@@ -715,51 +743,56 @@ public class Planet implements Serializable {
     }
 
     public Double getPressureAtm(DateTime when) {
-        return getEventData(when, pressureAtm, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.pressureAtm; }
-        });
+        return getEventData(when, pressureAtm, e -> e.pressureAtm);
     }
 
     public Double getAtmMass(DateTime when) {
-        return getEventData(when, atmMass, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.atmMass; }
-        });
+        return getEventData(when, atmMass, e -> e.atmMass);
     }
 
     public String getAtmosphere(DateTime when) {
-        return getEventData(when, atmosphere, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.atmosphere; }
-        });
+        return getEventData(when, atmosphere, e -> e.atmosphere);
     }
 
     public Double getAlbedo(DateTime when) {
-        return getEventData(when, albedo, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.albedo; }
-        });
+        return getEventData(when, albedo, e -> e.albedo);
     }
 
     public Double getGreenhouseEffect(DateTime when) {
-        return getEventData(when, greenhouseEffect, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.greenhouseEffect; }
-        });
+        return getEventData(when, greenhouseEffect, e -> e.greenhouseEffect);
     }
 
     public Integer getHabitability(DateTime when) {
-        return getEventData(when, habitability, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.habitability; }
-        });
+        return getEventData(when, habitability, e -> e.habitability);
     }
 
     public List<String> getFactions(DateTime when) {
-        List<String> retVal = getEventData(when, factions, new EventGetter<List<String>>() {
-            @Override public List<String> get(PlanetaryEvent e) { return e.faction; }
-        });
+        List<String> retVal = getEventData(when, factions, e -> e.faction);
         if (retVal != null) {
             return retVal;
         }
         return Collections.emptyList();
     }
 
+    /**
+     * @return whether any event between the two dates, in either order, changes the factions
+     *         owning this planet. Events on either date are counted, so this may say there is a
+     *         change where there is none, but never the other way around.
+     */
+    public boolean hasFactionChangeBetween(DateTime from, DateTime to) {
+        if ((null == from) || (null == to) || (null == events)) {
+            return false;
+        }
+        DateTime start = from.isAfter(to) ? to : from;
+        DateTime end = from.isAfter(to) ? from : to;
+        for (PlanetaryEvent event : events.subMap(start, true, end, true).values()) {
+            if (null != event.faction) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static Set<Faction> getFactionsFrom(Collection<String> codes) {
         if (null == codes) {
             return Collections.emptySet();
@@ -788,15 +821,11 @@ public class Planet implements Serializable {
     // Stellar event data, to be moved
     
     public Boolean isNadirCharge(DateTime when) {
-        return getEventData(when, nadirCharge, new EventGetter<Boolean>() {
-            @Override public Boolean get(PlanetaryEvent e) { return e.nadirCharge; }
-        });
+        return getEventData(when, nadirCharge, e -> e.nadirCharge);
     }
 
     public boolean isZenithCharge(DateTime when) {
-        return getEventData(when, zenithCharge, new EventGetter<Boolean>() {
-            @Override public Boolean get(PlanetaryEvent e) { return e.zenithCharge; }
-        });
+        return getEventData(when, zenithCharge, e -> e.zenithCharge);
     }
 
     public String getRechargeStationsText(DateTime when) {
@@ -1033,6 +1062,7 @@ public class Planet implements Serializable {
             factionChanges.clear();
         }
         factionChanges = null;
+        clearEventCache();
     }
     
     @SuppressWarnings("unused")
@@ -1124,6 +1154,7 @@ public class Planet implements Serializable {
                             
                             if(!dryRun) {
                                 this.events.put(event.date, event);
+                                clearEventCache();
                             }
                         }
                     }
@@ -1236,7 +1267,9 @@ public class Planet implements Serializable {
         return EquipmentType.RATING_C;
     }
 
-    public static final class SocioIndustrialData {
+    public static final class SocioIndustrialData implements Serializable {
+        private static final long serialVersionUID = -3446296428474578491L;
+
         public static final SocioIndustrialData NONE = new SocioIndustrialData();
         static {
             NONE.tech = EquipmentType.RATING_X;
@@ -1396,7 +1429,9 @@ public class Planet implements Serializable {
 
     /** A class representing some event, possibly changing planetary information */
     @XmlRootElement(name="event")
-    public static final class PlanetaryEvent {
+    public static final class PlanetaryEvent implements Serializable {
+        private static final long serialVersionUID = 6170245224961432712L;
+
         @XmlJavaTypeAdapter(DateAdapter.class)
         public DateTime date;
         public String message;
@@ -1510,11 +1545,24 @@ public class Planet implements Serializable {
         }
     }
 
-    // @FunctionalInterface in Java 8, or just use Function<PlanetaryEvent, T>
+    @FunctionalInterface
     private static interface EventGetter<T> {
         T get(PlanetaryEvent e);
     }
     
+    /** The timeline entry found for a given date */
+    private static final class TimelineSnapshot {
+        final TreeMap<DateTime, PlanetaryEvent> timeline;
+        final long millis;
+        final PlanetaryEvent data;
+
+        TimelineSnapshot(TreeMap<DateTime, PlanetaryEvent> timeline, long millis, PlanetaryEvent data) {
+            this.timeline = timeline;
+            this.millis = millis;
+            this.data = data;
+        }
+    }
+    
     /** BT planet types */
     public static enum PlanetaryType {
         SMALL_ASTEROID, MEDIUM_ASTEROID, DWARF_TERRESTRIAL, TERRESTRIAL, GIANT_TERRESTRIAL, GAS_GIANT, ICE_GIANT;
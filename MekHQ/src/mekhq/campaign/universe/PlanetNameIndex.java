@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2018 MegaMek team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.time.DateTime;
+
+import mekhq.campaign.universe.Planet.PlanetaryEvent;
+
+/**
+ * Case-insensitive lookup of planets by any full or short name they have had. Each name is
+ * stored with the period during which the planet carried it, so a lookup for a given date is a
+ * hash probe followed by a check of the (usually single) matching entry.
+ */
+class PlanetNameIndex {
+    private final Map<String, List<Entry>> entries = new HashMap<>();
+    /* The keys each planet was filed under, so they can be removed again when its names change */
+    private final Map<Planet, Set<String>> keysByPlanet = new HashMap<>();
+
+    /** Replaces the contents of the index with the names of the given planets */
+    public synchronized void rebuild(Collection<Planet> planets) {
+        entries.clear();
+        keysByPlanet.clear();
+        for(Planet planet : planets) {
+            add(planet);
+        }
+    }
+
+    /** Re-reads the names of a single planet, for example after its events have been changed */
+    public synchronized void update(Planet planet) {
+        remove(planet);
+        add(planet);
+    }
+
+    public synchronized void remove(Planet planet) {
+        Set<String> keys = keysByPlanet.remove(planet);
+        if(null == keys) {
+            return;
+        }
+        for(String key : keys) {
+            List<Entry> list = entries.get(key);
+            if(null != list) {
+                list.removeIf(entry -> planet.equals(entry.planet));
+                if(list.isEmpty()) {
+                    entries.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the planet carrying the given full name at the given date, or failing that the one
+     *         carrying it as a short name, or <code>null</code> if there is none.
+     */
+    public synchronized Planet find(String name, DateTime when) {
+        List<Entry> list = entries.get(name.toLowerCase(Locale.ROOT));
+        if(null == list) {
+            return null;
+        }
+        Planet shortNameMatch = null;
+        for(Entry entry : list) {
+            if(entry.isValidAt(when)) {
+                if(!entry.shortName) {
+                    return entry.planet;
+                }
+                if(null == shortNameMatch) {
+                    shortNameMatch = entry.planet;
+                }
+            }
+        }
+        return shortNameMatch;
+    }
+
+    private void add(Planet planet) {
+        Set<String> keys = new HashSet<>();
+        addNames(planet, false, keys);
+        addNames(planet, true, keys);
+        if(!keys.isEmpty()) {
+            keysByPlanet.put(planet, keys);
+        }
+    }
+
+    /**
+     * Files every value the planet's name (or short name) takes over time, each valid from the
+     * event that set it until the next event that changes it.
+     */
+    private void addNames(Planet planet, boolean shortName, Set<String> keys) {
+        String current = shortName ? planet.shortName : planet.name;
+        DateTime from = null;
+        if(null != planet.events) {
+            for(Map.Entry<DateTime, PlanetaryEvent> event : planet.events.entrySet()) {
+                String next = shortName ? event.getValue().shortName : event.getValue().name;
+                if(null != next) {
+                    addEntry(new Entry(planet, shortName, from, event.getKey()), current, keys);
+                    current = next;
+                    from = event.getKey();
+                }
+            }
+        }
+        addEntry(new Entry(planet, shortName, from, null), current, keys);
+    }
+
+    private void addEntry(Entry entry, String name, Set<String> keys) {
+        if(null == name) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        entries.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+        keys.add(key);
+    }
+
+    private static final class Entry {
+        final Planet planet;
+        final boolean shortName;
+        /** Inclusive, <code>null</code> for no lower bound */
+        final DateTime from;
+        /** Exclusive, <code>null</code> for no upper bound */
+        final DateTime until;
+
+        Entry(Planet planet, boolean shortName, DateTime from, DateTime until) {
+            this.planet = planet;
+            this.shortName = shortName;
+            this.from = from;
+            this.until = until;
+        }
+
+        boolean isValidAt(DateTime when) {
+            if(null == when) {
+                // Without a date, planets are known by their names before any events
+                return (null == from);
+            }
+            return ((null == from) || !from.isAfter(when)) && ((null == until) || until.isAfter(when));
+        }
+    }
+}
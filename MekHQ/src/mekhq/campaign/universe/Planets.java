@@ -18,17 +18,33 @@
  */
 package mekhq.campaign.universe;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -41,9 +57,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -57,12 +75,10 @@ import org.joda.time.DateTime;
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Node;
 
-import megamek.common.EquipmentType;
 import megamek.common.logging.LogLevel;
 import megamek.common.util.EncodeControl;
 import mekhq.MekHQ;
 import mekhq.MekHqXmlUtil;
-import mekhq.Utilities;
 import mekhq.campaign.universe.Planet.PlanetaryEvent;
 
 public class Planets {
@@ -71,12 +87,27 @@ public class Planets {
     
     private static ResourceBundle resourceMap = ResourceBundle.getBundle("mekhq.resources.Planets", new EncodeControl()); //$NON-NLS-1$
 
+    /**
+     * Binary snapshot of the merged planet data, kept next to the default planets file and used while
+     * neither the source files nor the code which reads and stores them have changed
+     */
+    private static final String SNAPSHOT_FILE = "planets.cache"; //$NON-NLS-1$
+    /** Change this whenever the layout of the snapshot file itself changes */
+    private static final int SNAPSHOT_VERSION = 2;
+    /** Classes outside MekHQ which the planets are made of, see {@link SnapshotInputStream} */
+    private static final Set<String> SNAPSHOT_LIBRARY_CLASSES = new HashSet<>(Arrays.asList(
+            "java.lang.Boolean", "java.lang.Double", "java.lang.Enum", "java.lang.Integer", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            "java.lang.Long", "java.lang.Number", "java.util.ArrayList", "java.util.UUID")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    /* Joda-Time's dates are written along with their chronology and time zone stubs */
+    private static final String SNAPSHOT_JODA_PACKAGE = "org.joda.time."; //$NON-NLS-1$
+
     // Marshaller / unmarshaller instances
+    private static JAXBContext context;
     private static Marshaller marshaller;
     private static Unmarshaller unmarshaller;
     static {
         try {
-            JAXBContext context = JAXBContext.newInstance(LocalPlanetList.class, Planet.class);
+            context = JAXBContext.newInstance(LocalPlanetList.class, Planet.class);
             marshaller = context.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
@@ -110,13 +141,7 @@ public class Planets {
         planets = null;
         getInstance();
         if(waitForFinish) {
-            try {
-                while(!planets.isInitialized()) {
-                    Thread.sleep(10);
-                }
-            } catch(InterruptedException iex) {
-                MekHQ.getLogger().error(Planets.class, "reload(boolean)", iex); //$NON-NLS-1$
-            }
+            planets.whenLoaded().join();
         }
     }
 
@@ -124,14 +149,19 @@ public class Planets {
     /* organizes systems into a grid of 30lyx30ly squares so we can find
      * nearby systems without iterating through the entire planet list. */
     private HashMap<Integer, Map<Integer, Set<Planet>>> planetGrid = new HashMap<>();
+    private final PlanetNameIndex nameIndex = new PlanetNameIndex();
+    /* Neighbours of each planet, built after loading and dropped whenever planets are added or moved */
+    private volatile JumpGraph jumpGraph;
+    /* Planets with a news message, by the day of the message; built on first use and dropped when events change */
+    private volatile Map<Integer, List<Planet>> newsIndex;
     
-    // HPG Network cache (to not recalculate all the damn time)
-    private Collection<Planets.HPGLink> hpgNetworkCache = null;
-    private DateTime hpgNetworkCacheDate = null;
+    // HPG network, updated as HPG ratings change
+    private final HPGNetwork hpgNetwork = new HPGNetwork();
     
     private Thread loader;
     private boolean initialized = false;
     private boolean initializing = false;
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
     
     private Planets() {}
 
@@ -175,11 +205,49 @@ public class Planets {
     }
          
     public List<Planet> getNearbyPlanets(final Planet planet, int distance) {
-        return getNearbyPlanets(planet.getX(), planet.getY(), distance);
+        JumpGraph graph = getJumpGraph();
+        int index = (null != graph) ? graph.indexOf(planet) : -1;
+        if((index < 0) || (distance > JumpGraph.MAX_RANGE)) {
+            return getNearbyPlanets(planet.getX(), planet.getY(), distance);
+        }
+        // The graph already has the neighbours sorted by distance
+        int end = graph.endOfNeighbours(index, distance);
+        List<Planet> neighbors = new ArrayList<>(end - graph.firstNeighbour(index));
+        for(int slot = graph.firstNeighbour(index); slot < end; slot++) {
+            neighbors.add(graph.getPlanet(graph.getNeighbour(slot)));
+        }
+        return neighbors;
     }
        
     public void visitNearbyPlanets(final Planet planet, final int distance, Consumer<Planet> visitor) {
-        visitNearbyPlanets(planet.getX(), planet.getY(), distance, visitor);
+        JumpGraph graph = getJumpGraph();
+        int index = (null != graph) ? graph.indexOf(planet) : -1;
+        if((index < 0) || (distance > JumpGraph.MAX_RANGE)) {
+            visitNearbyPlanets(planet.getX(), planet.getY(), distance, visitor);
+            return;
+        }
+        int end = graph.endOfNeighbours(index, distance);
+        for(int slot = graph.firstNeighbour(index); slot < end; slot++) {
+            visitor.accept(graph.getPlanet(graph.getNeighbour(slot)));
+        }
+    }
+
+    /**
+     * @return the neighbours of every planet within {@link JumpGraph#MAX_RANGE}, or <code>null</code>
+     *         while the planets are still loading
+     */
+    public JumpGraph getJumpGraph() {
+        JumpGraph graph = jumpGraph;
+        if((null == graph) && initialized) {
+            synchronized(LOADING_LOCK) {
+                graph = jumpGraph;
+                if(null == graph) {
+                    graph = new JumpGraph(planetList.values(), this);
+                    jumpGraph = graph;
+                }
+            }
+        }
+        return graph;
     }
     
     /**
@@ -238,6 +306,10 @@ public class Planets {
         if(null == name) {
             return null;
         }
+        if(initialized) {
+            return nameIndex.find(name, when);
+        }
+        // Still loading, so the index isn't built yet
         name = name.toLowerCase(Locale.ROOT);
         for(Planet planet : planetList.values()) {
             if(null != planet) {
@@ -256,50 +328,69 @@ public class Planets {
 
     public List<NewsItem> getPlanetaryNews(DateTime when) {
         List<NewsItem> news = new ArrayList<>();
-        for(Planet planet : planetList.values()) {
-            if(null != planet) {
-                Planet.PlanetaryEvent event = planet.getEvent(when);
-                if((null != event) && (null != event.message)) {
-                    NewsItem item = new NewsItem();
-                    item.setHeadline(event.message);
-                    item.setDate(event.date);
-                    item.setLocation(planet.getPrintableName(when));
-                    news.add(item);
-                }
+        List<Planet> newsPlanets = getNewsIndex().get(getDayKey(when));
+        if(null == newsPlanets) {
+            return news;
+        }
+        for(Planet planet : newsPlanets) {
+            Planet.PlanetaryEvent event = planet.getEvent(when);
+            if((null != event) && (null != event.message)) {
+                NewsItem item = new NewsItem();
+                item.setHeadline(event.message);
+                item.setDate(event.date);
+                item.setLocation(planet.getPrintableName(when));
+                news.add(item);
             }
         }
         return news;
     }
     
+    private Map<Integer, List<Planet>> getNewsIndex() {
+        Map<Integer, List<Planet>> index = newsIndex;
+        if(null == index) {
+            index = new HashMap<>();
+            for(Planet planet : planetList.values()) {
+                if((null == planet) || (null == planet.events)) {
+                    continue;
+                }
+                for(Map.Entry<DateTime, Planet.PlanetaryEvent> event : planet.events.entrySet()) {
+                    if(null != event.getValue().message) {
+                        index.computeIfAbsent(getDayKey(event.getKey()), k -> new ArrayList<>(1)).add(planet);
+                    }
+                }
+            }
+            if(initialized) {
+                newsIndex = index;
+            }
+        }
+        return index;
+    }
+    
+    /** @return a key for the calendar day of the date, matching the date-only ordering of planetary events */
+    private static int getDayKey(DateTime when) {
+        return (when.getYear() * 10000) + (when.getMonthOfYear() * 100) + when.getDayOfMonth();
+    }
+    
     /** Clean up the local HPG network cache */
     public void recalcHPGNetwork() {
-        hpgNetworkCacheDate = null;
+        hpgNetwork.clear();
     }
     
     public Collection<Planets.HPGLink> getHPGNetwork(DateTime when) {
-        if((null != when) && when.equals(hpgNetworkCacheDate)) {
-            return hpgNetworkCache;
-        }
-        
-        Set<HPGLink> result = new HashSet<>();
-        for(Planet planet : planetList.values()) {
-            Integer hpg = planet.getHPG(when);
-            if((null != hpg) && (hpg.intValue() == EquipmentType.RATING_A)) {
-                Collection<Planet> neighbors = getNearbyPlanets(planet, 50);
-                for(Planet neighbor : neighbors) {
-                    hpg = neighbor.getHPG(when);
-                    if(null != hpg) {
-                        HPGLink link = new HPGLink(planet, neighbor, hpg.intValue());
-                        if(!result.contains(link)) {
-                            result.add(link);
-                        }
-                    }
-                }
-            }
-        }
-        hpgNetworkCache = result;
-        hpgNetworkCacheDate = when;
-        return result;
+        return hpgNetwork.getLinks(getJumpGraph(), when);
+    }
+    
+    /**
+     * @return the date of the last change to the HPG network on or before the given date, or
+     *         <code>null</code> if there was none
+     */
+    public DateTime getHPGNetworkChangeDate(DateTime when) {
+        return hpgNetwork.getLastChange(getJumpGraph(), when);
+    }
+    
+    /** @return <code>true</code> if any HPG links differ between the two dates */
+    public boolean hasHPGNetworkChanged(DateTime since, DateTime when) {
+        return !Objects.equals(getHPGNetworkChangeDate(since), getHPGNetworkChangeDate(when));
     }
     
     // Customisation and export helper methods
@@ -326,6 +417,9 @@ public class Planets {
                     }
                 }
             }
+            nameIndex.update(planet);
+            hpgNetwork.planetChanged(planet);
+            newsIndex = null;
         }
         return true;
     }
@@ -389,56 +483,243 @@ public class Planets {
             generatePlanets();
         } catch (ParseException e) {
             MekHQ.getLogger().error(getClass(), "initialize()", e); //$NON-NLS-1$
+        } finally {
+            // Don't leave anyone waiting if loading failed
+            loaded.complete(null);
         }
     }
     
     private void done() {
         initialized = true;
         initializing = false;
+        loaded.complete(null);
     }
 
     public boolean isInitialized() {
         return initialized;
     }
 
-    private void updatePlanets(FileInputStream source) {
-        final String METHOD_NAME = "updatePlanets(FileInputStream)"; //$NON-NLS-1$
-        // JAXB unmarshaller closes the stream it doesn't own. Bad JAXB. BAD.
-        try(InputStream is = new FilterInputStream(source) {
-                @Override
-                public void close() { /* ignore */ }
-            }) {
-            // Reset the file stream
-            source.getChannel().position(0);
+    /** @return a future completed once the planets have been loaded, or loading has failed */
+    public CompletableFuture<Void> whenLoaded() {
+        return loaded;
+    }
 
-            LocalPlanetList planets = unmarshaller.unmarshal(
+    /**
+     * Reads a single planet file. Each call uses its own unmarshaller, so files can be read in parallel.
+     * @return the planets in the file, or <code>null</code> if it couldn't be read
+     */
+    private LocalPlanetList readPlanets(File source) {
+        final String METHOD_NAME = "readPlanets(File)"; //$NON-NLS-1$
+        try(InputStream is = new BufferedInputStream(new FileInputStream(source))) {
+            return context.createUnmarshaller().unmarshal(
                     MekHqXmlUtil.createSafeXmlSource(is), LocalPlanetList.class).getValue();
+        } catch (JAXBException | IOException e) {
+            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
+                    "Exception trying to parse " + source.getPath() + " - ignoring."); //$NON-NLS-1$ //$NON-NLS-2$
+            MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
+            return null;
+        }
+    }
 
-            // Run through the list again, this time creating and updating planets as we go
-            for( Planet planet : planets.list ) {
-                Planet oldPlanet = planetList.get(planet.getId());
-                if( null == oldPlanet ) {
-                    planetList.put(planet.getId(), planet);
-                } else {
-                    // Update with new data
-                    oldPlanet.copyDataFrom(planet);
-                    planet = oldPlanet;
+    /** Adds the planets read from one file to the list, or updates the ones already in it */
+    private void updatePlanets(LocalPlanetList planets) {
+        for( Planet planet : planets.list ) {
+            Planet oldPlanet = planetList.get(planet.getId());
+            if( null == oldPlanet ) {
+                planetList.put(planet.getId(), planet);
+            } else {
+                // Update with new data
+                oldPlanet.copyDataFrom(planet);
+            }
+        }
+        
+        // Process planet deletions
+        for( String planetId : planets.toDelete ) {
+            if( null != planetId ) {
+                planetList.remove(planetId);
+            }
+        }
+    }
+    
+    /** @return the files planet data is read from, in the order they need to be applied */
+    private static List<File> getPlanetSources(String planetsPath, String defaultFilePath) {
+        List<File> sources = new ArrayList<>();
+        sources.add(new File(defaultFilePath));
+        File[] files = new File(planetsPath).listFiles(
+                (dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".xml")); //$NON-NLS-1$
+        if( null != files ) {
+            // Same order as Utilities.parseXMLFiles()
+            Arrays.sort(files, Comparator.comparing(File::getPath));
+            for( File file : files ) {
+                if( file.isFile() ) {
+                    sources.add(file);
                 }
             }
-            
-            // Process planet deletions
-            for( String planetId : planets.toDelete ) {
-                if( null != planetId ) {
-                    planetList.remove(planetId);
+        }
+        return sources;
+    }
+    
+    /**
+     * @return a hash over the names and contents of the given files, the MekHQ version and the compiled
+     *         classes stored in the snapshot, so that changing any of them invalidates the snapshot
+     */
+    private static String hashPlanetSources(List<File> sources) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] buffer = new byte[65536];
+        for( File source : sources ) {
+            digest.update(source.getPath().getBytes(StandardCharsets.UTF_8));
+            if( source.isFile() ) {
+                try(InputStream is = new FileInputStream(source)) {
+                    updateDigest(digest, is, buffer);
                 }
             }
-        } catch (JAXBException e) {
-            MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
-        } catch(IOException e) {
-            MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
+        }
+        String version = ResourceBundle.getBundle("mekhq.resources.MekHQ", new EncodeControl()) //$NON-NLS-1$
+                .getString("Application.version"); //$NON-NLS-1$
+        digest.update(version.getBytes(StandardCharsets.UTF_8));
+        for( Class<?> c : getSnapshotClasses() ) {
+            String classFile = c.getName().substring(c.getName().lastIndexOf('.') + 1) + ".class"; //$NON-NLS-1$
+            try(InputStream is = c.getResourceAsStream(classFile)) {
+                if( null == is ) {
+                    // Without the class file changes to the class can't be detected
+                    throw new IOException("Cannot read " + classFile); //$NON-NLS-1$
+                }
+                digest.update(c.getName().getBytes(StandardCharsets.UTF_8));
+                updateDigest(digest, is, buffer);
+            }
+        }
+        return new BigInteger(1, digest.digest()).toString(16);
+    }
+    
+    private static void updateDigest(MessageDigest digest, InputStream is, byte[] buffer) throws IOException {
+        int read;
+        while((read = is.read(buffer)) > 0) {
+            digest.update(buffer, 0, read);
         }
     }
     
+    /**
+     * @return the MekHQ classes which are written to the snapshot along with the planets, found by
+     *         following the serialized fields from {@link Planet}, in a stable order
+     */
+    static List<Class<?>> getSnapshotClasses() {
+        Set<Class<?>> found = new HashSet<>();
+        List<Class<?>> result = new ArrayList<>();
+        addSnapshotClass(Planet.class, found, result);
+        result.sort(Comparator.comparing(Class::getName));
+        return result;
+    }
+    
+    private static void addSnapshotClass(Type type, Set<Class<?>> found, List<Class<?>> result) {
+        if( type instanceof ParameterizedType ) {
+            addSnapshotClass(((ParameterizedType) type).getRawType(), found, result);
+            for( Type arg : ((ParameterizedType) type).getActualTypeArguments() ) {
+                addSnapshotClass(arg, found, result);
+            }
+        } else if( type instanceof GenericArrayType ) {
+            addSnapshotClass(((GenericArrayType) type).getGenericComponentType(), found, result);
+        } else if( type instanceof Class<?> ) {
+            Class<?> c = (Class<?>) type;
+            while( c.isArray() ) {
+                c = c.getComponentType();
+            }
+            if( !c.getName().startsWith("mekhq.") || !found.add(c) ) { //$NON-NLS-1$
+                return;
+            }
+            result.add(c);
+            for( Class<?> current = c; (null != current) && current.getName().startsWith("mekhq."); //$NON-NLS-1$
+                    current = current.getSuperclass() ) {
+                if( current != c ) {
+                    addSnapshotClass(current, found, result);
+                }
+                for( Field field : current.getDeclaredFields() ) {
+                    int modifiers = field.getModifiers();
+                    if( !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) ) {
+                        addSnapshotClass(field.getGenericType(), found, result);
+                    }
+                }
+            }
+        }
+    }
+    
+    /** @return the planets from the snapshot, or <code>null</code> if it's missing or out of date */
+    @SuppressWarnings("unchecked")
+    private List<Planet> readPlanetSnapshot(File snapshot, String sourceHash) {
+        if( (null == sourceHash) || !snapshot.isFile() ) {
+            return null;
+        }
+        try(ObjectInputStream in = new SnapshotInputStream(new BufferedInputStream(new FileInputStream(snapshot)))) {
+            if( (in.readInt() != SNAPSHOT_VERSION) || !sourceHash.equals(in.readUTF()) ) {
+                return null;
+            }
+            return (List<Planet>) in.readObject();
+        } catch (Exception e) {
+            MekHQ.getLogger().log(getClass(), "readPlanetSnapshot(File,String)", LogLevel.WARNING, //$NON-NLS-1$
+                    "Could not read planet snapshot, reloading from XML: " + e); //$NON-NLS-1$
+            return null;
+        }
+    }
+    
+    /**
+     * Reads a planet snapshot, refusing any class the planets aren't made of. The snapshot lives in
+     * the data directory, so it must not be able to make MekHQ create arbitrary objects.
+     */
+    static class SnapshotInputStream extends ObjectInputStream {
+        private static Set<String> allowed;
+
+        SnapshotInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        static synchronized boolean isAllowed(String className) {
+            if( null == allowed ) {
+                allowed = new HashSet<>(SNAPSHOT_LIBRARY_CLASSES);
+                for( Class<?> c : getSnapshotClasses() ) {
+                    allowed.add(c.getName());
+                }
+            }
+            return allowed.contains(className) || className.startsWith(SNAPSHOT_JODA_PACKAGE);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if( !isAllowed(desc.getName()) ) {
+                throw new InvalidClassException(desc.getName(), "Not part of a planet snapshot"); //$NON-NLS-1$
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            throw new InvalidClassException("Proxy classes are not part of a planet snapshot"); //$NON-NLS-1$
+        }
+    }
+    
+    private void writePlanetSnapshot(File snapshot, String sourceHash, List<Planet> planets) {
+        if( null == sourceHash ) {
+            return;
+        }
+        try(ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(snapshot)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeUTF(sourceHash);
+            out.writeObject(planets);
+        } catch (IOException e) {
+            MekHQ.getLogger().log(getClass(), "writePlanetSnapshot(File,String,List<Planet>)", LogLevel.WARNING, //$NON-NLS-1$
+                    "Could not write planet snapshot: " + e); //$NON-NLS-1$
+            snapshot.delete();
+        }
+    }
+    
+    private void logPhase(String phase, long startNanos) {
+        MekHQ.getLogger().log(getClass(), "generatePlanets()", LogLevel.INFO, //$NON-NLS-1$
+                String.format(Locale.ROOT, "%s took %.3fs.", phase, (System.nanoTime() - startNanos) / 1e9)); //$NON-NLS-1$
+    }
+    
     private void generatePlanets() throws DOMException, ParseException {
         generatePlanets("data/universe/planets", "data/universe/planets.xml");
     }
@@ -572,6 +853,12 @@ public class Planets {
             }
         }
         
+        if(!dryRun) {
+            // Coordinates and events may have changed
+            jumpGraph = null;
+            newsIndex = null;
+        }
+        
         MekHQ.getLogger().log(getClass(), "importPlanetsFromTSV", LogLevel.INFO, "\r\n" + planetLog.toString());
         String report = "Planet import: " + matchedImportPlanets.size() + " planets in TSV found in current planet list.\r\n" +
                 unmatchedImportPlanets.size() + " planets in TSV not found in and added to current planet list.\r\nSee log file for details.";
@@ -682,6 +969,9 @@ public class Planets {
      */
     private void addPlanet(Planet planet) { 
         this.planetList.put(planet.getId(), planet);
+        nameIndex.update(planet);
+        jumpGraph = null;
+        newsIndex = null;
         
         int x = (int)(planet.getX()/30.0);
         int y = (int)(planet.getY()/30.0);
@@ -733,6 +1023,8 @@ public class Planets {
                 planetList = new ConcurrentHashMap<>();
             }
             planetList.clear();
+            jumpGraph = null;
+            newsIndex = null;
             if( null == planetGrid ) {
                 planetGrid = new HashMap<>();
             }
@@ -749,24 +1041,58 @@ public class Planets {
             }
             planetGrid.clear();
             
-            // Step 2: Read the default file
-            try(FileInputStream fis = new FileInputStream(defaultFilePath)) { //$NON-NLS-1$
-                updatePlanets(fis);
-            } catch (Exception ex) {
-                MekHQ.getLogger().error(getClass(), METHOD_NAME, ex);
+            // Step 2: Use the snapshot of the merged data if the source files haven't changed
+            long phaseStart = System.nanoTime();
+            List<File> sources = getPlanetSources(planetsPath, defaultFilePath);
+            String sourceHash = null;
+            try {
+                sourceHash = hashPlanetSources(sources);
+            } catch (IOException e) {
+                MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
             }
+            File snapshotFile = new File(new File(defaultFilePath).getAbsoluteFile().getParentFile(), SNAPSHOT_FILE);
+            List<Planet> snapshot = readPlanetSnapshot(snapshotFile, sourceHash);
+            logPhase((null != snapshot) ? "Reading planet snapshot" : "Checking planet snapshot", phaseStart); //$NON-NLS-1$ //$NON-NLS-2$
             
-            // Step 3: Load all the xml files within the planets subdirectory, if it exists
-            Utilities.parseXMLFiles(planetsPath, this::updatePlanets);
+            if( null != snapshot ) {
+                for( Planet planet : snapshot ) {
+                    planetList.put(planet.getId(), planet);
+                }
+            } else {
+                // Step 3: Parse the default file and all the xml files within the planets subdirectory
+                // in parallel, then apply them in order
+                phaseStart = System.nanoTime();
+                List<LocalPlanetList> parsed = sources.parallelStream()
+                        .map(this::readPlanets).collect(Collectors.toList());
+                logPhase(String.format(Locale.ROOT, "Parsing %d planet files", sources.size()), phaseStart); //$NON-NLS-1$
+                
+                phaseStart = System.nanoTime();
+                for( LocalPlanetList planets : parsed ) {
+                    if( null != planets ) {
+                        updatePlanets(planets);
+                    }
+                }
+                List<Planet> toRemove = new ArrayList<>();
+                for( Planet planet : planetList.values() ) {
+                    if((null == planet.getX()) || (null == planet.getY())) {
+                        MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
+                                String.format("Planet \"%s\" is missing coordinates", planet.getId())); //$NON-NLS-1$
+                        toRemove.add(planet);
+                    }
+                }
+                for(Planet planet : toRemove) {
+                    planetList.remove(planet.getId());
+                }
+                logPhase("Merging planet data", phaseStart); //$NON-NLS-1$
+                
+                phaseStart = System.nanoTime();
+                writePlanetSnapshot(snapshotFile, sourceHash, new ArrayList<>(planetList.values()));
+                logPhase("Writing planet snapshot", phaseStart); //$NON-NLS-1$
+            }
             
-            List<Planet> toRemove = new ArrayList<>();
+            // Step 4: Build the lookup structures
+            phaseStart = System.nanoTime();
             for (Planet planet : planetList.values()) {
-                if((null == planet.getX()) || (null == planet.getY())) {
-                    MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
-                            String.format("Planet \"%s\" is missing coordinates", planet.getId())); //$NON-NLS-1$
-                    toRemove.add(planet);
-                    continue;
-                }
                 int x = (int)(planet.getX()/30.0);
                 int y = (int)(planet.getY()/30.0);
                 if (planetGrid.get(x) == null) {
@@ -779,9 +1105,10 @@ public class Planets {
                     planetGrid.get(x).get(y).add(planet);
                 }
             }
-            for(Planet planet : toRemove) {
-                planetList.remove(planet.getId());
-            }
+            nameIndex.rebuild(planetList.values());
+            jumpGraph = new JumpGraph(planetList.values(), this);
+            newsIndex = getNewsIndex();
+            logPhase("Building planet grid and indexes", phaseStart); //$NON-NLS-1$
             done();
         }
         MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
@@ -789,6 +1116,7 @@ public class Planets {
                         "Loaded a total of %d planets in %.3fs.", //$NON-NLS-1$
                         planetList.size(), (System.currentTimeMillis() - currentTime) / 1000.0));
         // Planetary sanity check time!
+        long phaseStart = System.nanoTime();
         for(Planet planet : planetList.values()) {
             List<Planet> veryClosePlanets = getNearbyPlanets(planet, 1);
             if(veryClosePlanets.size() > 1) {
@@ -802,6 +1130,7 @@ public class Planets {
                 }
             }
         }
+        logPhase("Planet sanity check", phaseStart); //$NON-NLS-1$
     }
     
     @XmlRootElement(name="planets")
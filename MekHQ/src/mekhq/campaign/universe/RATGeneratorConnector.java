@@ -33,6 +33,7 @@ import megamek.client.ratgenerator.UnitTable;
 import megamek.common.EntityMovementMode;
 import megamek.common.MechSummary;
 import megamek.common.UnitType;
+import mekhq.DataLoader;
 
 /**
  * Provides access to RATGenerator through IUnitGenerator interface.
@@ -45,13 +46,7 @@ public class RATGeneratorConnector extends AbstractUnitGenerator implements IUni
 	
 	/* Initialize RATGenerator and load the data for the current game year */
 	public RATGeneratorConnector(int year) {
-		while (!RATGenerator.getInstance().isInitialized()) {
-			try {
-				Thread.sleep(50);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		}
+		DataLoader.whenReady(() -> RATGenerator.getInstance().isInitialized()).join();
 		RATGenerator.getInstance().loadYear(year);
 	}
 	
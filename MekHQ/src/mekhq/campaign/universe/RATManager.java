@@ -51,6 +51,7 @@ import megamek.common.MechSummary;
 import megamek.common.UnitType;
 import megamek.common.event.Subscribe;
 import megamek.common.logging.LogLevel;
+import mekhq.DataLoader;
 import mekhq.MekHQ;
 import mekhq.MekHqXmlUtil;
 import mekhq.campaign.event.OptionsChangedEvent;
@@ -143,13 +144,7 @@ public class RATManager extends AbstractUnitGenerator implements IUnitGenerator
             return false;
         }
         /* Need RUG to be loaded for validation */
-        while (!RandomUnitGenerator.getInstance().isInitialized()) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
+        DataLoader.whenReady(() -> RandomUnitGenerator.getInstance().isInitialized()).join();
         File f = new File(RATINFO_DIR, fileNames.get(name));
         FileInputStream fis = null;
 
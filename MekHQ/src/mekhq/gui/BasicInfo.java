@@ -1,6 +1,7 @@
 package mekhq.gui;
 
 import java.awt.Color;
+import java.awt.Container;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Image;
@@ -9,16 +10,19 @@ import java.util.LinkedHashMap;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
+import javax.swing.CellRendererPane;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
 import megamek.client.ui.swing.util.PlayerColors;
 import megamek.common.Crew;
+import megamek.common.Entity;
 import mekhq.IconPackage;
 import mekhq.campaign.force.Force;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.unit.Unit;
+import mekhq.gui.utilities.RenderedImageCache;
 
 /**
  * An extension of JPanel that is intended to be used for visual table renderers
@@ -36,6 +40,7 @@ public class BasicInfo extends JPanel {
         private JLabel lblImage;
         private JLabel lblLoad;
         IconPackage icons;
+        private final Runnable onImageLoaded = this::repaintOwner;
         
 
         public BasicInfo(IconPackage i) {
@@ -116,20 +121,32 @@ public class BasicInfo extends JPanel {
             if(null == icons.getMechTiles()) { 
                 return null;
             }
-            Image base = icons.getMechTiles().imageFor(u.getEntity(), this, -1);
-            if (null == base) {
-                return null;
-            }
-            int tint = PlayerColors.getColorRGB(u.campaign.getColorIndex());
-            EntityImage entityImage = new EntityImage(base, tint, getCamo(u), this);
-            return entityImage.loadPreviewImage();
+            final Entity entity = u.getEntity();
+            final int tint = PlayerColors.getColorRGB(u.campaign.getColorIndex());
+            final String camoCategory = u.getCamoCategory();
+            final String camoFileName = u.getCamoFileName();
+            // The tileset picks the image by chassis and model, or else by type and weight
+            String key = "unit:" + entity.getShortNameRaw() + '|' + entity.getUnitType() + '|' //$NON-NLS-1$
+                    + entity.getWeightClass() + '|' + camoCategory + '/' + camoFileName + '|' + tint;
+            return icons.getRenderedImages().get(key, () -> {
+                Image base = icons.getMechTiles().imageFor(entity, this, -1);
+                if (null == base) {
+                    return null;
+                }
+                EntityImage entityImage = new EntityImage(base, tint, getCamo(camoCategory, camoFileName), this);
+                return RenderedImageCache.toBufferedImage(entityImage.loadPreviewImage());
+            }, onImageLoaded);
         }
         
         protected Image getCamo(Unit unit) {
+            return getCamo(unit.getCamoCategory(), unit.getCamoFileName());
+        }
+
+        private Image getCamo(String category, String fileName) {
             // Try to get the player's camo file.
             Image camo = null;
             try {
-                camo = (Image) icons.getCamos().getItem(unit.getCamoCategory(), unit.getCamoFileName());
+                camo = (Image) icons.getCamos().getItem(category, fileName);
             } catch (Exception err) {
                 err.printStackTrace();
             }
@@ -154,26 +171,20 @@ public class BasicInfo extends JPanel {
                 filename = "default.gif";
             }
 
-            // Try to get the player's portrait file.
-            Image portrait = null;
-            try {
-                portrait = (Image) icons.getPortraits().getItem(category, filename);
-                if (null == portrait) {
-                    // the image could not be found so switch to default one
-                    p.setPortraitCategoryOverride(Crew.ROOT_PORTRAIT);
-                    category = "";
-                    p.setPortraitFileNameOverride(Crew.PORTRAIT_NONE);
-                    filename = "default.gif";
-                    portrait = (Image) icons.getPortraits().getItem(category, filename);
-                }
-                // make sure no images are longer than 72 pixels
-                if (null != portrait) {
-                    portrait = portrait.getScaledInstance(-1, 58,
-                            Image.SCALE_SMOOTH);
-                    setImage(portrait);
-                }
-            } catch (Exception err) {
-                err.printStackTrace();
+            if (null == icons.getPortraits()) {
+                return;
+            }
+            // make sure no images are longer than 72 pixels
+            Image portrait = icons.getScaledPortrait(category, filename, -1, 58, onImageLoaded);
+            if (icons.isPortraitMissing(category, filename)) {
+                // the image could not be found so switch to default one
+                p.setPortraitCategoryOverride(Crew.ROOT_PORTRAIT);
+                p.setPortraitFileNameOverride(Crew.PORTRAIT_NONE);
+            }
+            if (null != portrait) {
+                setImage(portrait);
+            } else {
+                clearImage();
             }
         }
         
@@ -191,22 +202,22 @@ public class BasicInfo extends JPanel {
              filename = "empty.png";
             }
 
-            // Try to get the player's portrait file.
-            Image portrait = null;
-            try {
-             portrait = IconPackage.buildForceIcon(category, filename, icons.getForceIcons(), iconMap);
-            if(null != portrait) {
-                portrait = portrait.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-            } else {
-                portrait = (Image) icons.getForceIcons().getItem("", "empty.png");
-                if(null != portrait) {
-                    portrait = portrait.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-                }
-            }
-            return portrait;
-            } catch (Exception err) {
-                err.printStackTrace();
+            if (null == icons.getForceIcons()) {
                 return null;
             }
+            return icons.getScaledForceIcon(category, filename, iconMap, 58, -1, onImageLoaded);
        }
+
+        /**
+         * Repaints whatever this renders for once an image it asked for is ready. When used as a
+         * renderer, this sits in the CellRendererPane of the table, list or tree it renders for.
+         */
+        protected void repaintOwner() {
+            Container parent = getParent();
+            if ((parent instanceof CellRendererPane) && (null != parent.getParent())) {
+                parent.getParent().repaint();
+            } else {
+                repaint();
+            }
+        }
     }
\ No newline at end of file
@@ -31,6 +31,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -40,16 +42,15 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
-import java.util.Calendar;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.UUID;
-import java.util.Vector;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBoxMenuItem;
@@ -91,6 +92,7 @@ import megamek.common.loaders.EntityLoadingException;
 import megamek.common.logging.LogLevel;
 import megamek.common.options.PilotOptions;
 import megamek.common.util.EncodeControl;
+import mekhq.DataLoader;
 import mekhq.IconPackage;
 import mekhq.MekHQ;
 import mekhq.MekHqXmlUtil;
@@ -98,6 +100,8 @@ import mekhq.Utilities;
 import mekhq.Version;
 import mekhq.campaign.Campaign;
 import mekhq.campaign.CampaignOptions;
+import mekhq.campaign.DayAdvanceRunner;
+import mekhq.campaign.DayAdvanceRunner.Nag;
 import mekhq.campaign.RandomSkillPreferences;
 import mekhq.campaign.event.AssetEvent;
 import mekhq.campaign.event.AstechPoolChangedEvent;
@@ -112,9 +116,6 @@ import mekhq.campaign.event.ReportEvent;
 import mekhq.campaign.event.TransactionEvent;
 import mekhq.campaign.event.UnitEvent;
 import mekhq.campaign.force.Force;
-import mekhq.campaign.mission.AtBContract;
-import mekhq.campaign.mission.AtBScenario;
-import mekhq.campaign.mission.Mission;
 import mekhq.campaign.mission.Scenario;
 import mekhq.campaign.parts.Part;
 import mekhq.campaign.parts.Refit;
@@ -161,6 +162,7 @@ import mekhq.gui.dialog.UnitMarketDialog;
 import mekhq.gui.dialog.UnitSelectorDialog;
 import mekhq.gui.model.PartsTableModel;
 import mekhq.io.FileType;
+import mekhq.io.ParallelGzipOutputStream;
 
 /**
  * The application's main frame.
@@ -172,6 +174,7 @@ public class CampaignGUI extends JPanel {
     public static final int MAX_START_HEIGHT = 900;
     // the max quantity when mass purchasing parts, hiring, etc. using the JSpinner
     public static final int MAX_QUANTITY_SPINNER = 1000;
+    private static final int SAVE_BUFFER_SIZE = 64 * 1024;
 
     private JFrame frame;
 
@@ -1470,91 +1473,49 @@ public class CampaignGUI extends JPanel {
     }// GEN-LAST:event_btnAdvanceDayActionPerformed
 
     public boolean nagShortMaintenance() {
-        if (!getCampaign().getCampaignOptions().checkMaintenance()) {
-            return false;
-        }
-        Vector<Unit> notMaintained = new Vector<Unit>();
-        int totalAstechMinutesNeeded = 0;
-        for (Unit u : getCampaign().getUnits()) {
-            if (u.requiresMaintenance() && null == u.getTech()) {
-                notMaintained.add(u);
-            } else {
-                // only add astech minutes for non-crewed units
-                if (null == u.getEngineer()) {
-                    totalAstechMinutesNeeded += (u.getMaintenanceTime() * 6);
-                }
-            }
+        if ((DayAdvanceRunner.countUnmaintainedUnits(getCampaign()) > 0)
+                && !showNag(Nag.UNMAINTAINED_UNITS, Nag.UNMAINTAINED_UNITS.getMessage())) {
+            return true;
         }
-
-        if (notMaintained.size() > 0) {
-            if (JOptionPane.YES_OPTION != JOptionPane
-                    .showConfirmDialog(
-                            null,
-                            "You have unmaintained units. Do you really wish to advance the day?",
-                            "Unmaintained Units", JOptionPane.YES_NO_OPTION)) {
-                return true;
-            }
-        }
-
-        int minutesAvail = getCampaign().getPossibleAstechPoolMinutes();
-        if (getCampaign().isOvertimeAllowed()) {
-            minutesAvail += getCampaign().getPossibleAstechPoolOvertime();
+        int needed = DayAdvanceRunner.getAstechShortage(getCampaign());
+        if ((needed > 0) && !showNag(Nag.ASTECH_SHORTAGE, Nag.ASTECH_SHORTAGE.getMessage(needed))) {
+            return true;
         }
-        if (minutesAvail < totalAstechMinutesNeeded) {
-            int needed = (int) Math
-                    .ceil((totalAstechMinutesNeeded - minutesAvail) / 480D);
-            if (JOptionPane.YES_OPTION != JOptionPane.showConfirmDialog(null,
-                    "You do not have enough astechs to provide for full maintenance. You need "
-                            + needed
-                            + " more astech(s). Do you wish to proceed?",
-                    "Astech shortage", JOptionPane.YES_NO_OPTION)) {
-                return true;
-            }
-        }
-
         return false;
     }
 
     public boolean nagShortDeployments() {
-        if (getCampaign().getCalendar().get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
-            return false;
-        }
-        for (Mission m : getCampaign().getMissions()) {
-            if (!m.isActive() || !(m instanceof AtBContract)
-                    || !getCampaign().getLocation().isOnPlanet()) {
-                continue;
-            }
-            if (getCampaign().getDeploymentDeficit((AtBContract) m) > 0) {
-                return 0 != JOptionPane
-                        .showConfirmDialog(
-                                null,
-                                "You have not met the deployment levels required by contract. Do your really wish to advance the day?",
-                                "Unmet deployment requirements",
-                                JOptionPane.YES_NO_OPTION);
-            }
-        }
-        return false;
+        return DayAdvanceRunner.hasDeploymentDeficit(getCampaign())
+                && !showNag(Nag.UNMET_DEPLOYMENT, Nag.UNMET_DEPLOYMENT.getMessage());
     }
 
     public boolean nagOutstandingScenarios() {
-        for (Mission m : getCampaign().getMissions()) {
-            if (!m.isActive() || !(m instanceof AtBContract)) {
-                continue;
-            }
-            for (Scenario s : m.getScenarios()) {
-                if (!s.isCurrent() || !(s instanceof AtBScenario)) {
-                    continue;
-                }
-                if (getCampaign().getDate().equals(s.getDate())) {
-                    return 0 != JOptionPane
-                            .showConfirmDialog(
-                                    null,
-                                    "You have a pending battle. Failure to deploy will result in a defeat and a minor contract breach. Do your really wish to advance the day?",
-                                    "Pending battle", JOptionPane.YES_NO_OPTION);
-                }
-            }
+        return DayAdvanceRunner.hasPendingBattle(getCampaign())
+                && !showNag(Nag.PENDING_BATTLE, Nag.PENDING_BATTLE.getMessage());
+    }
+
+    /**
+     * Asks the player about a condition which should be dealt with before advancing the day. Must
+     * be called on the event dispatch thread.
+     *
+     * @return <code>true</code> to advance the day anyway
+     */
+    public boolean showNag(Nag nag, String message) {
+        switch (nag) {
+            case OVERDUE_LOANS:
+                JOptionPane.showMessageDialog(null, message, nag.getTitle(), JOptionPane.WARNING_MESSAGE);
+                return false;
+            case UNRESOLVED_PAYOUTS:
+            case RETIREMENT_ROLL:
+                // Stopping here means going to the retirement dialog
+                Object[] options = { (nag == Nag.RETIREMENT_ROLL) ? "Show Retirement Dialog" : "Show Payout Dialog",
+                        (nag == Nag.RETIREMENT_ROLL) ? "Not Now" : "Cancel" };
+                return JOptionPane.YES_OPTION != JOptionPane.showOptionDialog(null, message, nag.getTitle(),
+                        JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE, null, options, options[0]);
+            default:
+                return JOptionPane.YES_OPTION == JOptionPane.showConfirmDialog(null, message, nag.getTitle(),
+                        JOptionPane.YES_NO_OPTION);
         }
-        return false;
     }
 
     private void hirePerson(java.awt.event.ActionEvent evt) {
@@ -1623,14 +1584,20 @@ public class CampaignGUI extends JPanel {
         try {
             os = fos = new FileOutputStream(file);
             if (path.endsWith(".gz")) {
-                os = new GZIPOutputStream(fos);
+                os = new ParallelGzipOutputStream(fos, getApplication().getSaveCompressionLevel());
+            } else {
+                os = new BufferedOutputStream(fos, SAVE_BUFFER_SIZE);
             }
 
-            pw = new PrintWriter(new OutputStreamWriter(os, "UTF-8"));
+            pw = new PrintWriter(new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8),
+                    SAVE_BUFFER_SIZE));
             getCampaign().writeToXml(pw);
-            pw.flush();
             pw.close();
             fos.close();
+            // PrintWriter doesn't throw, so make sure nothing went wrong before trusting the file
+            if (pw.checkError()) {
+                throw new IOException("Error writing " + file); //$NON-NLS-1$
+            }
             // delete the backup file because we didn't need it
             if (backupFile.exists()) {
                 backupFile.delete();
@@ -1731,18 +1698,9 @@ public class CampaignGUI extends JPanel {
             miRetirementDefectionDialog.setVisible(getCampaign()
                     .getCampaignOptions().getUseAtB());
             if (getCampaign().getCampaignOptions().getUseAtB()) {
-                int loops = 0;
-                while (!RandomUnitGenerator.getInstance().isInitialized()
-                    || !RandomNameGenerator.getInstance().isInitialized()) {
-                    try {
-                        Thread.sleep(50);
-                        if (++loops > 20) {
-                            // Wait for up to a second
-                            break;
-                        }
-                    } catch (InterruptedException ignore) {
-                    }
-                }
+                // Wait for up to a second
+                DataLoader.waitUntil(() -> RandomUnitGenerator.getInstance().isInitialized()
+                        && RandomNameGenerator.getInstance().isInitialized(), 1, TimeUnit.SECONDS);
             } else {
                 getCampaign().shutdownAtB();
             }
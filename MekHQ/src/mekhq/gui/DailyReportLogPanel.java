@@ -53,7 +53,8 @@ public class DailyReportLogPanel extends JPanel {
     private static final long serialVersionUID = -6512675362473724385L;
 
     JTextPane txtLog;
-    String logText = new String();
+    /* The HTML shown; only ever appended to between refreshes */
+    StringBuilder logText = new StringBuilder();
 
     public DailyReportLogPanel(ReportHyperlinkListener listener) {
         txtLog = new JTextPane() {
@@ -83,17 +84,22 @@ public class DailyReportLogPanel extends JPanel {
     }
 
     public void clearLogPanel() {
-        logText = "";
+        logText.setLength(0);
         txtLog.setText("");
     }
 
     public void refreshLog(String s) {
-    	if(logText.equals(s)) {
-    		return;
-    	}
-        logText = s;
+        if ((logText.length() > 0) && s.startsWith(logText.toString())) {
+            // Usually the report only grew since it was shown, so just add the rest
+            if (s.length() > logText.length()) {
+                insertText(s.substring(logText.length()));
+            }
+            return;
+        }
+        logText.setLength(0);
+        logText.append(s);
         //txtLog.setText(logText); -- NO. BAD. DON'T DO THIS.
-        Reader stringReader = new StringReader(logText);
+        Reader stringReader = new StringReader(s);
         HTMLEditorKit htmlKit = new HTMLEditorKit();
         HTMLDocument blank = (HTMLDocument) htmlKit.createDefaultDocument();
         try {
@@ -109,22 +115,27 @@ public class DailyReportLogPanel extends JPanel {
 		String addedText = Utilities.combineString(newReports, ""); //$NON-NLS-1$z
 		if((null != addedText) && (addedText.length() > 0)) {
 		    if (logText.length() > 0) {
-    			HTMLDocument doc = (HTMLDocument) txtLog.getDocument();
-    			try {
-    				// Element 0 is <head>, Element 1 is <body>
-    				doc.insertBeforeEnd(doc.getDefaultRootElement().getElement(1).getElement(0), addedText);
-    				logText = logText + addedText;
-    			} catch (BadLocationException | IOException e) {
-    				// Shouldn't happen
-    			}
-    			txtLog.setCaretPosition(doc.getLength());
+		        insertText(addedText);
 		    } else {
 		        refreshLog(addedText);
 		    }
 		}
 	}
 
+	/** Adds to the end of the document already shown, without parsing it all again */
+	private void insertText(String addedText) {
+		HTMLDocument doc = (HTMLDocument) txtLog.getDocument();
+		try {
+			// Element 0 is <head>, Element 1 is <body>
+			doc.insertBeforeEnd(doc.getDefaultRootElement().getElement(1).getElement(0), addedText);
+			logText.append(addedText);
+		} catch (BadLocationException | IOException e) {
+			// Shouldn't happen
+		}
+		txtLog.setCaretPosition(doc.getLength());
+	}
+
     public String getLogText() {
-        return logText;
+        return logText.toString();
     }
 }
\ No newline at end of file
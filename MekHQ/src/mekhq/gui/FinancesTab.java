@@ -26,8 +26,9 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 import javax.swing.BorderFactory;
@@ -72,6 +73,8 @@ import mekhq.campaign.event.PartEvent;
 import mekhq.campaign.event.ScenarioResolvedEvent;
 import mekhq.campaign.event.TransactionEvent;
 import mekhq.campaign.event.UnitEvent;
+import mekhq.campaign.finances.Finances;
+import mekhq.campaign.finances.Ledger;
 import mekhq.campaign.finances.Transaction;
 import mekhq.campaign.mission.Contract;
 import mekhq.gui.adapter.FinanceTableMouseAdapter;
@@ -235,12 +238,12 @@ public final class FinancesTab extends CampaignGuiTab {
     
     private XYDataset setupFinanceDataset() {
     	TimeSeries s1 = new TimeSeries("C-Bills"); // NOI18N
-    	ArrayList<Transaction> transactions = getCampaign().getFinances().getAllTransactions();
+    	Finances finances = getCampaign().getFinances();
+    	List<Transaction> transactions = finances.getAllTransactions();
+    	Ledger ledger = finances.getLedger();
     	Calendar cal = Calendar.getInstance();
     	
-    	long balance = 0;
     	for (int i = 0; i < transactions.size(); i++) {
-    		balance += transactions.get(i).getAmount();
     		cal.setTime(transactions.get(i).getDate());
     		// since there may be more than one entry per day and the dataset for the graph can only have one entry per day
     		// we use addOrUpdate() which assumes transactions are in sequential order by date so we always have the most
@@ -248,7 +251,7 @@ public final class FinancesTab extends CampaignGuiTab {
     		s1.addOrUpdate(new Day(cal.get(Calendar.DAY_OF_MONTH),
     				cal.get(Calendar.MONTH)+1, // Gregorian and Julian calendars start at 0: https://docs.oracle.com/javase/7/docs/api/java/util/Calendar.html#MONTH
     				cal.get(Calendar.YEAR)), 
-    				balance);
+    				ledger.getBalanceAfter(i));
     	}
                 
         TimeSeriesCollection dataset = new TimeSeriesCollection();
@@ -260,42 +263,15 @@ public final class FinancesTab extends CampaignGuiTab {
     private CategoryDataset setupMonthlyDataset() {
     	SimpleDateFormat df = new SimpleDateFormat("MMM-yyyy");
     	DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-    	ArrayList<Transaction> transactions = getCampaign().getFinances().getAllTransactions();
     	Calendar cal = Calendar.getInstance();
     	
-    	String pastMonthYear = "";
-    	long monthlyRevenue = 0;
-    	long monthlyExpenditures = 0;
-    	for (int i = 0; i < transactions.size(); i++) {
-    		cal.setTime(transactions.get(i).getDate());
-    		
-    		if (pastMonthYear.equals(df.format(cal.getTime()))) {
-    			if (transactions.get(i).getAmount() > 0) {
-    				monthlyRevenue += transactions.get(i).getAmount();
-    			} else {
-    				monthlyExpenditures += Math.abs(transactions.get(i).getAmount());
-    			}
-    		} else {
-    			// as long as we're not at the first transaction, add the previous month and reset
-    			if (i != 0) {
-    				dataset.addValue(monthlyRevenue, resourceMap.getString("graphMonthlyRevenue.text"), pastMonthYear);
-    				dataset.addValue(monthlyExpenditures, resourceMap.getString("graphMonthlyExpenditures.text"), pastMonthYear);
-    				monthlyRevenue = 0;
-    				monthlyExpenditures = 0;
-    			}
-    			pastMonthYear = df.format(cal.getTime());
-    			if (transactions.get(i).getAmount() > 0) {
-    				monthlyRevenue = transactions.get(i).getAmount();
-    			} else {
-    				monthlyExpenditures = Math.abs(transactions.get(i).getAmount());
-    			}
-    		}
-    		
-    		// if we're at the last transaction, save it off
-			if (i == transactions.size()-1) {
-				dataset.addValue(monthlyRevenue, resourceMap.getString("graphMonthlyRevenue.text"), pastMonthYear);
-				dataset.addValue(monthlyExpenditures, resourceMap.getString("graphMonthlyExpenditures.text"), pastMonthYear);
-			}
+    	// the ledger keeps the totals for each month keyed by year * 12 + month, in date order
+    	for (Map.Entry<Integer, long[]> entry : getCampaign().getFinances().getLedger().getMonthlyTotals().entrySet()) {
+    		cal.clear();
+    		cal.set(entry.getKey() / 12, entry.getKey() % 12, 1);
+    		String monthYear = df.format(cal.getTime());
+    		dataset.addValue(entry.getValue()[Ledger.CREDITS], resourceMap.getString("graphMonthlyRevenue.text"), monthYear);
+    		dataset.addValue(entry.getValue()[Ledger.DEBITS], resourceMap.getString("graphMonthlyExpenditures.text"), monthYear);
     	}
         
         return dataset;
@@ -404,7 +380,7 @@ public final class FinancesTab extends CampaignGuiTab {
 
     public void refreshFinancialTransactions() {
         SwingUtilities.invokeLater(() -> { 
-            financeModel.setData(getCampaign().getFinances().getAllTransactions());
+            financeModel.setData(getCampaign().getFinances());
             loanModel.setData(getCampaign().getFinances().getAllLoans());
             refreshFinancialReport();
         });
@@ -2,8 +2,10 @@ package mekhq.gui;
 
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Container;
 import java.awt.Image;
 
+import javax.swing.CellRendererPane;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JTree;
@@ -23,6 +25,7 @@ public class ForceRenderer extends DefaultTreeCellRenderer {
     private static final long serialVersionUID = -553191867660269247L;
 
     private IconPackage icons;
+    private final Runnable onIconLoaded = this::repaintTree;
 
     public ForceRenderer(IconPackage i) {
         icons = i;
@@ -157,30 +160,27 @@ public class ForceRenderer extends DefaultTreeCellRenderer {
         if ((null == category) || (null == filename) || Crew.PORTRAIT_NONE.equals(filename)) {
             filename = "default.gif";
         }
-        // Try to get the unit's portrait file.
-        Image portrait = null;
-        try {
-            portrait = (Image) getIconPackage().getPortraits().getItem(category, filename);
-            if(null != portrait) {
-                portrait = portrait.getScaledInstance(58, -1, Image.SCALE_DEFAULT);
-            } else {
-                portrait = (Image) getIconPackage().getPortraits().getItem("", "default.gif");
-                if(null != portrait) {
-                    portrait = portrait.getScaledInstance(58, -1, Image.SCALE_DEFAULT);
-                }
-            }
-            return new ImageIcon(portrait);
-        } catch (Exception err) {
-            err.printStackTrace();
+        if (null == getIconPackage().getPortraits()) {
             return null;
         }
+        Image portrait = getIconPackage().getScaledPortrait(category, filename, 58, -1, onIconLoaded);
+        return (null == portrait) ? null : new ImageIcon(portrait);
     }
 
     protected Icon getIconFrom(Force force) {
-        Image forceImage = IconPackage.buildForceIcon(force.getIconCategory(), force.getIconFileName(), getIconPackage().getForceIcons(), force.getIconMap());
-        if(null != forceImage) {
-            forceImage = forceImage.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
+        if (null == getIconPackage().getForceIcons()) {
+            return null;
+        }
+        Image forceImage = getIconPackage().getScaledForceIcon(force.getIconCategory(), force.getIconFileName(),
+                force.getIconMap(), 58, -1, onIconLoaded);
+        return (null == forceImage) ? null : new ImageIcon(forceImage);
+    }
+
+    /* Called once an icon is ready; the renderer sits in the CellRendererPane of the tree */
+    private void repaintTree() {
+        Container parent = getParent();
+        if ((parent instanceof CellRendererPane) && (null != parent.getParent())) {
+            parent.getParent().repaint();
         }
-        return new ImageIcon(forceImage);
     }
 }
\ No newline at end of file
@@ -141,6 +141,9 @@ public class InterstellarMapPanel extends JPanel {
     private transient double maxX;
     private transient double maxY;
     private transient DateTime now;
+    /* The HPG links last drawn, and the date they were fetched for */
+    private transient Collection<Planets.HPGLink> hpgNetwork;
+    private transient DateTime hpgNetworkDate;
 
     public InterstellarMapPanel(Campaign c, CampaignGUI view) {
         campaign = c;
@@ -589,10 +592,14 @@ public class InterstellarMapPanel extends JPanel {
                     }
                 }
 
-                // Brute-force HPG network drawing. Will be optimised
                 if(optHPGNetwork.isSelected()) {
-                    // Grab the network from the planet manager
-                    Collection<Planets.HPGLink> hpgNetwork = Planets.getInstance().getHPGNetwork(now);
+                    // Only grab the network from the planet manager again once it has changed
+                    if((null == hpgNetwork) || !now.equals(hpgNetworkDate)) {
+                        if((null == hpgNetwork) || Planets.getInstance().hasHPGNetworkChanged(hpgNetworkDate, now)) {
+                            hpgNetwork = Planets.getInstance().getHPGNetwork(now);
+                        }
+                        hpgNetworkDate = now;
+                    }
                     
                     for(Planet planet : planets) {
                         if(isPlanetVisible(planet, true)) {
@@ -1158,7 +1165,7 @@ public class InterstellarMapPanel extends JPanel {
         List<Planet.PlanetaryEvent> result = editor.getChangedEvents();
         if((null != result) && !result.isEmpty()) {
             Planets.getInstance().updatePlanetaryEvents(p.getId(), result, true);
-            Planets.getInstance().recalcHPGNetwork();
+            hpgNetwork = null;
             repaint();
             notifyListeners();
         }
@@ -31,6 +31,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
 
 import megamek.common.event.Subscribe;
 import megamek.common.util.EncodeControl;
@@ -209,8 +210,11 @@ public final class MapTab extends CampaignGuiTab implements ActionListener {
 
     @Subscribe
     public void handle(NewDayEvent ev) {
-        panMap.repaint();
-        suggestPlanet.setSuggestData(getCampaign().getPlanetNames());
+        // Days may be advanced on a background thread
+        SwingUtilities.invokeLater(() -> {
+            panMap.repaint();
+            suggestPlanet.setSuggestData(getCampaign().getPlanetNames());
+        });
     }
 
     @Subscribe
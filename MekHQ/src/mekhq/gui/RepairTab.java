@@ -483,7 +483,7 @@ public final class RepairTab extends CampaignGuiTab implements ITechWorkPanel {
                     part.setTeamId(tech.getId());
                     wasNull = true;
                 }
-                target = getCampaign().getTargetFor(part, tech);
+                target = getCampaign().getRepairTargetCache().getTargetFor(part, tech);
                 if (wasNull) { // If it was null, make it null again
                     part.setTeamId(null);
                 }
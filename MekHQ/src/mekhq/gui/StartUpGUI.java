@@ -16,14 +16,18 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.text.MessageFormat;
 import java.util.ResourceBundle;
 
 import javax.swing.Box;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
 
 import megamek.common.util.EncodeControl;
 import mekhq.MekHQ;
+import mekhq.TaskGraph;
 import mekhq.Utilities;
 import mekhq.gui.dialog.DataLoadingDialog;
 /**
@@ -38,9 +42,15 @@ public class StartUpGUI extends javax.swing.JPanel {
 	JFrame frame;
 	File lastSave;
 	Image imgSplash;
+	private final TaskGraph loading;
+	private final TaskGraph.Listener loadingListener = this::taskFinished;
 	   
-	public StartUpGUI(MekHQ app) {
+	/**
+	 * @param loading the data being loaded in the background, whose progress is shown; may be null
+	 */
+	public StartUpGUI(MekHQ app, TaskGraph loading) {
         this.app = app;
+        this.loading = loading;
         lastSave = Utilities.lastFileModified(MekHQ.CAMPAIGN_DIRECTORY, new FilenameFilter() {
             public boolean accept(File dir, String name) {
                 return name.toLowerCase().endsWith(".cpnx") || name.toLowerCase().endsWith(".xml");
@@ -134,6 +144,19 @@ public class StartUpGUI extends javax.swing.JPanel {
         buttonPanel.add(Box.createRigidArea(new Dimension(0,5)));
         buttonPanel.add(btnQuit);
         add(buttonPanel, BorderLayout.PAGE_END);
+
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        add(progressBar, BorderLayout.PAGE_START);
+        if (null != loading) {
+            progressBar.setMaximum(loading.size());
+            progressBar.setString(resourceMap.getString("loadingData.text"));
+            progressBar.setVisible(true);
+            loading.addListener(loadingListener);
+            // Some tasks may have finished before the listener was added
+            showProgress(null, loading.getTimings().size());
+        }
                 
         Dimension dim = Toolkit.getDefaultToolkit().getScreenSize();
 	    
@@ -168,6 +191,31 @@ public class StartUpGUI extends javax.swing.JPanel {
         g.drawImage(imgSplash, 1, 1, null);
       }
 
+    /** Called on the loader thread which finished the task */
+    private void taskFinished(String name, long millis, Throwable error, int finished, int total) {
+        if (finished == total) {
+            loading.removeListener(loadingListener);
+        }
+        ResourceBundle resourceMap = ResourceBundle.getBundle("mekhq.resources.StartUpDialog", new EncodeControl()); //$NON-NLS-1$
+        String text = MessageFormat.format(resourceMap.getString((null == error) ? "loadedTask.text" : "failedTask.text"), //$NON-NLS-1$ //$NON-NLS-2$
+                name, millis, finished, total);
+        SwingUtilities.invokeLater(() -> showProgress(text, finished));
+    }
+
+    private void showProgress(String text, int finished) {
+        // Updates may arrive out of order when tasks finish at the same time
+        if (finished < progressBar.getValue()) {
+            return;
+        }
+        progressBar.setValue(finished);
+        if (null != text) {
+            progressBar.setString(text);
+        }
+        if (finished >= progressBar.getMaximum()) {
+            progressBar.setVisible(false);
+        }
+    }
+
     private void newCampaign() {
     	loadCampaign(null);
     }
@@ -185,4 +233,5 @@ public class StartUpGUI extends javax.swing.JPanel {
     private javax.swing.JButton btnLoadGame;
     private javax.swing.JButton btnLastSave;
     private javax.swing.JButton btnQuit;
+    private JProgressBar progressBar;
 }
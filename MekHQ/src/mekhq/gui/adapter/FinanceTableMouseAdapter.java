@@ -13,6 +13,7 @@ import javax.swing.event.MouseInputAdapter;
 import mekhq.MekHQ;
 import mekhq.campaign.event.TransactionChangedEvent;
 import mekhq.campaign.event.TransactionVoidedEvent;
+import mekhq.campaign.finances.Finances;
 import mekhq.campaign.finances.Transaction;
 import mekhq.gui.CampaignGUI;
 import mekhq.gui.dialog.EditTransactionDialog;
@@ -37,24 +38,26 @@ public class FinanceTableMouseAdapter extends MouseInputAdapter implements
         String command = action.getActionCommand();
         Transaction transaction = financeModel.getTransaction(financeTable
                 .getSelectedRow());
-        int row = financeTable.getSelectedRow();
         if (null == transaction) {
             return;
         }
+        Finances finances = gui.getCampaign().getFinances();
         if (command.equalsIgnoreCase("DELETE")) {
-            gui.getCampaign().addReport(transaction.voidTransaction());
-            financeModel.deleteTransaction(row);
-            MekHQ.triggerEvent(new TransactionVoidedEvent(transaction));
+            String report = finances.voidTransaction(transaction);
+            if (null != report) {
+                gui.getCampaign().addReport(report);
+                MekHQ.triggerEvent(new TransactionVoidedEvent(transaction));
+            }
         } else if (command.contains("EDIT")) {
             EditTransactionDialog dialog = new EditTransactionDialog(
                     transaction, gui.getFrame(), true);
             dialog.setVisible(true);
             if (!transaction.equals(dialog.getOldTransaction())) {
-	            financeModel.setTransaction(row, transaction);
-	            MekHQ.triggerEvent(new TransactionChangedEvent(dialog.getOldTransaction(), transaction));
-	            gui.getCampaign().addReport(
-	                    transaction.updateTransaction(dialog
-	                            .getOldTransaction()));
+                String report = finances.updateTransaction(dialog.getOldTransaction(), transaction);
+                MekHQ.triggerEvent(new TransactionChangedEvent(dialog.getOldTransaction(), transaction));
+                if (null != report) {
+                    gui.getCampaign().addReport(report);
+                }
             }
         }
     }
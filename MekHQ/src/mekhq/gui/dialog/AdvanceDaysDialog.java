@@ -16,6 +16,7 @@ import java.util.GregorianCalendar;
 import java.util.ResourceBundle;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.List;
 
 import javax.swing.JButton;
 import javax.swing.JDialog;
@@ -23,11 +24,12 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSpinner;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
 
-import megamek.common.event.Subscribe;
 import megamek.common.util.EncodeControl;
 import mekhq.MekHQ;
-import mekhq.campaign.event.ReportEvent;
+import mekhq.campaign.DayAdvanceRunner;
+import mekhq.campaign.DayAdvanceRunner.Nag;
 import mekhq.gui.CampaignGUI;
 import mekhq.gui.DailyReportLogPanel;
 import mekhq.gui.ReportHyperlinkListener;
@@ -45,6 +47,8 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
     private DailyReportLogPanel logPanel;
     private CampaignGUI gui;
     private ReportHyperlinkListener listener;
+    /* Set while days are being advanced */
+    private DayAdvanceRunner runner;
 
     public AdvanceDaysDialog(Frame owner, CampaignGUI gui, ReportHyperlinkListener listener) {
         super(owner, true);
@@ -83,10 +87,10 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
 
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
-                // We need to unregister here as unregistering in the actionPerformed
-                // method will lead to incorrect behaviour if the user tries to advance
-                // days again without exiting this dialog
-                MekHQ.unregisterHandler(this);
+                // Don't leave the days running with nobody watching
+                if (null != runner) {
+                    runner.cancel();
+                }
             }
         });
     }
@@ -96,10 +100,8 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
      */
     @Override
     public void actionPerformed(ActionEvent event) {
-        if (event.getSource().equals(btnStart) || event.getSource().equals(btnNextMonth)) {
+        if ((null == runner) && (event.getSource().equals(btnStart) || event.getSource().equals(btnNextMonth))) {
             int days = (int)spnDays.getValue();
-            boolean firstDay = true;
-            MekHQ.registerHandler(this);
             if (event.getSource().equals(btnNextMonth)) {
                 //Use java.time to get the number of days to next month.
                 //We already need Java 8 anyway, and this is much easier and more accurate.
@@ -109,49 +111,52 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
                 days = Math.abs((int)duration.toDays());
             }
 
-            int numDays;
-            for (numDays = days; numDays > 0; numDays--) {
-                if (gui.getCampaign().checkOverDueLoans()
-                        || gui.nagShortMaintenance()
-                        || (gui.getCampaign().getCampaignOptions().getUseAtB())
-                        && (gui.nagShortDeployments() || gui.nagOutstandingScenarios())) {
-                    break;
-                }
-                if (gui.getCampaign().checkRetirementDefections()
-                        || gui.getCampaign().checkYearlyRetirements()) {
-                    gui.showRetirementDefectionDialog();
-                    break;
-                }
-                if(!gui.getCampaign().newDay()) {
-                    break;
-                }
-                //String newLogString = logPanel.getLogText();
-                //newLogString = newLogString.concat(gui.getCampaign().getCurrentReportHTML());
-                if(firstDay) {
-                    logPanel.refreshLog(gui.getCampaign().getCurrentReportHTML());
-                    firstDay = false;
-                } else {
-                    logPanel.appendLog(Collections.singletonList("<hr/>")); //$NON-NLS-1$
-                    logPanel.appendLog(gui.getCampaign().fetchAndClearNewReports());
-                }
-            }
+            // Each day runs on the event dispatch thread, where the tabs read the campaign, but
+            // the thread is let go between the days so the log fills in as they go by
+            btnStart.setEnabled(false);
+            btnNextMonth.setEnabled(false);
+            runner = new DayAdvanceRunner(gui.getCampaign())
+                    .setNagHandler(gui::showNag)
+                    .setReportListener(this::showReports);
+            runner.start(days, SwingUtilities::invokeAndWait)
+                    .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> finish(result, error)));
+        }
+    }
+
+    private void showReports(int day, List<String> reports) {
+        if (day == 1) {
+            logPanel.clearLogPanel();
+        } else {
+            logPanel.appendLog(Collections.singletonList("<hr/>")); //$NON-NLS-1$
+        }
+        logPanel.appendLog(reports);
+    }
 
+    /**
+     * @param result how the run went, or null if it failed
+     * @param error  what the run failed with, or null if it didn't
+     */
+    private void finish(DayAdvanceRunner.Result result, Throwable error) {
+        runner = null;
+        if (null != error) {
+            MekHQ.getLogger().error(getClass(), "finish(Result,Throwable)", error); //$NON-NLS-1$
+        } else {
             // We couldn't advance all days for some reason,
             // set the spinner to the number of remaining days
-            if (numDays > 0) {
-                this.spnDays.setValue(numDays);
+            if (result.getDaysRemaining() > 0) {
+                this.spnDays.setValue(result.getDaysRemaining());
+            }
+            if ((result.getNag() == Nag.UNRESOLVED_PAYOUTS) || (result.getNag() == Nag.RETIREMENT_ROLL)) {
+                gui.showRetirementDefectionDialog();
             }
-
-            gui.refreshCalendar();
-            gui.refreshLocation();
-            gui.initReport();
-
-            gui.refreshAllTabs();
         }
-    }
-    
-    @Subscribe(priority = 1)
-    public void reportOverride(ReportEvent ev) {
-        ev.cancel();
+
+        // Events about the individual changes were held back while the days ran
+        gui.refreshCalendar();
+        gui.refreshLocation();
+        gui.initReport();
+        gui.refreshAllTabs();
+        btnStart.setEnabled(true);
+        btnNextMonth.setEnabled(true);
     }
 }
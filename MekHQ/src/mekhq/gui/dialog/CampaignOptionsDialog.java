@@ -462,6 +462,8 @@ public class CampaignOptionsDialog extends javax.swing.JDialog {
     // Miscellaneous tab
     private JPanel panMisc;
     private JCheckBox chkHistoricalDailyLog;
+    private JSpinner spnAutosaveInterval;
+    private JSpinner spnMaxAutosaves;
 
     /**
      * Creates new form CampaignOptionsDialog
@@ -667,7 +669,7 @@ public class CampaignOptionsDialog extends javax.swing.JDialog {
                 
         chkSupportStaffOnly = new JCheckBox();
         
-        panMisc = new JPanel();
+        panMisc = new JPanel(new GridBagLayout());
         chkHistoricalDailyLog = new JCheckBox();
 
         ResourceBundle resourceMap = ResourceBundle.getBundle("mekhq.resources.CampaignOptionsDialog", new EncodeControl()); //$NON-NLS-1$
@@ -4362,6 +4364,30 @@ public class CampaignOptionsDialog extends javax.swing.JDialog {
         gridBagConstraints.anchor = java.awt.GridBagConstraints.NORTHWEST;
         panMisc.add(chkHistoricalDailyLog, gridBagConstraints);
 
+        spnAutosaveInterval = new JSpinner(new SpinnerNumberModel(options.getAutosaveInterval(), 0, 365, 1));
+        spnAutosaveInterval.setToolTipText(resourceMap.getString("lblAutosaveInterval.toolTipText")); // NOI18N
+        JPanel panAutosaveInterval = new JPanel();
+        panAutosaveInterval.add(spnAutosaveInterval);
+        panAutosaveInterval.add(new JLabel(resourceMap.getString("lblAutosaveInterval.text"))); // NOI18N
+        gridBagConstraints = new java.awt.GridBagConstraints();
+        gridBagConstraints.gridx = 0;
+        gridBagConstraints.gridy = 1;
+        gridBagConstraints.anchor = java.awt.GridBagConstraints.NORTHWEST;
+        panMisc.add(panAutosaveInterval, gridBagConstraints);
+
+        spnMaxAutosaves = new JSpinner(new SpinnerNumberModel(options.getMaxAutosaves(), 1, 20, 1));
+        spnMaxAutosaves.setToolTipText(resourceMap.getString("lblMaxAutosaves.toolTipText")); // NOI18N
+        JPanel panMaxAutosaves = new JPanel();
+        panMaxAutosaves.add(spnMaxAutosaves);
+        panMaxAutosaves.add(new JLabel(resourceMap.getString("lblMaxAutosaves.text"))); // NOI18N
+        gridBagConstraints = new java.awt.GridBagConstraints();
+        gridBagConstraints.gridx = 0;
+        gridBagConstraints.gridy = 2;
+        gridBagConstraints.weightx = 1.0;
+        gridBagConstraints.weighty = 1.0;
+        gridBagConstraints.anchor = java.awt.GridBagConstraints.NORTHWEST;
+        panMisc.add(panMaxAutosaves, gridBagConstraints);
+
         tabOptions.addTab(resourceMap.getString("misc.TabConstraints.tabTitle"), scrMisc);
 
         gridBagConstraints = new java.awt.GridBagConstraints();
@@ -4725,6 +4751,8 @@ public class CampaignOptionsDialog extends javax.swing.JDialog {
         options.setMaxAcquisitions(Integer.parseInt(txtMaxAcquisitions.getText()));
 
         options.setHistoricalDailyLog(chkHistoricalDailyLog.isSelected());
+        options.setAutosaveInterval((Integer) spnAutosaveInterval.getModel().getValue());
+        options.setMaxAutosaves((Integer) spnMaxAutosaves.getModel().getValue());
 
         options.setNDiceTransitTime((Integer) spnNDiceTransitTime.getModel().getValue());
         options.setConstantTransitTime((Integer) spnConstantTransitTime.getModel().getValue());
@@ -26,7 +26,6 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.ResourceBundle;
@@ -39,12 +38,10 @@ import javax.swing.JOptionPane;
 import javax.swing.JProgressBar;
 import javax.swing.SwingWorker;
 
-import megamek.client.RandomNameGenerator;
-import megamek.common.MechSummaryCache;
-import megamek.common.QuirksHandler;
 import megamek.common.logging.LogLevel;
 import megamek.common.options.GameOptions;
 import megamek.common.util.EncodeControl;
+import mekhq.DataLoader;
 import mekhq.MekHQ;
 import mekhq.NullEntityException;
 import mekhq.campaign.Campaign;
@@ -52,10 +49,6 @@ import mekhq.campaign.CampaignFactory;
 import mekhq.campaign.GamePreset;
 import mekhq.campaign.event.OptionsChangedEvent;
 import mekhq.campaign.mod.am.InjuryTypes;
-import mekhq.campaign.personnel.Bloodname;
-import mekhq.campaign.universe.Faction;
-import mekhq.campaign.universe.Planets;
-import mekhq.campaign.universe.RATManager;
 import mekhq.campaign.universe.RandomFactionGenerator;
 
 public class DataLoadingDialog extends JDialog implements PropertyChangeListener {
@@ -127,48 +120,14 @@ public class DataLoadingDialog extends JDialog implements PropertyChangeListener
             
             //Initialize progress property.
             setProgress(0);
-            try {
-            	Faction.generateFactions();
-            } catch (Exception ex) {
-    			ex.printStackTrace();
-            }
-            try {
-            	Bloodname.loadBloodnameData();
-            } catch (Exception ex) {
-    			ex.printStackTrace();
-            }
-            try {
-            	//Load values needed for CampaignOptionsDialog
-            	RATManager.populateCollectionNames();
-            } catch (Exception ex) {
-    			ex.printStackTrace();
-            }
-            while (!Planets.getInstance().isInitialized()) {
-                //Sleep for up to one second.
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException ignore) {
-
-                }
-            }
-            RandomNameGenerator.getInstance();
-           setProgress(1);
-            try {
-                QuirksHandler.initQuirksList();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            while (!MechSummaryCache.getInstance().isInitialized()) {
-                //Sleep for up to one second.
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException ignore) {
-                	ignore.printStackTrace();
-                }
-            }
+            // The loading was started when MekHQ started; wait for what is still missing
+            DataLoader.start(app);
+            DataLoader.await(DataLoader.FACTIONS, DataLoader.BLOODNAMES, DataLoader.RAT_COLLECTIONS,
+                    DataLoader.PLANETS);
+            setProgress(1);
+            DataLoader.await(DataLoader.QUIRKS, DataLoader.UNIT_CACHE);
             setProgress(2);
-    		//load in directory items and tilesets
-    		app.getIconPackage().loadDirectories();
+            DataLoader.await(DataLoader.ICONS);
             setProgress(3);
             boolean newCampaign = false;
             if(null == fileCampaign) {
@@ -29,10 +29,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.Collections;
-import java.util.Date;
+import java.util.List;
 import java.util.ResourceBundle;
-import java.util.concurrent.TimeUnit;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -156,21 +154,17 @@ public class HistoricalDailyReportDialog extends JDialog {
     }
 
     private void updateLogPanel(Integer days) {
-        logPanel.clearLogPanel();
-        Date trackDay = null;
-        long currentTime = gui.getCampaign().getDate().getTime();
-        for (LogEntry log : gui.getCampaign().inMemoryLogHistory) {
-            long diff = currentTime - log.getDate().getTime();
-            if (TimeUnit.DAYS.convert(diff, TimeUnit.MILLISECONDS) < days) {
-                if (!log.getDate().equals(trackDay)) {
-                    logPanel.appendLog(Collections.singletonList("<hr>"));
-                    logPanel.appendLog(Collections.singletonList("<b>"+dateFormat.format(log.getDate())+"</b>"));
-                    logPanel.appendLog(Collections.singletonList("<br><br>"));
-                    trackDay = log.getDate();
-                }
-                logPanel.appendLog(Collections.singletonList(log.getDesc()+"<br>"));
+        // Put the whole log together first, the panel is much faster at showing it in one go
+        StringBuilder sb = new StringBuilder();
+        for (List<LogEntry> day : gui.getCampaign().getInMemoryLogHistory().getDays(gui.getCampaign().getDate(), days)) {
+            sb.append("<hr>")
+                .append("<b>").append(dateFormat.format(day.get(0).getDate())).append("</b>")
+                .append("<br><br>");
+            for (LogEntry log : day) {
+                sb.append(log.getDesc()).append("<br>");
             }
         }
+        logPanel.clearLogPanel();
+        logPanel.refreshLog(sb.toString());
     }
 }
-
@@ -331,6 +331,7 @@ public class NewPlanetaryEventDialog extends JDialog {
                 String field = check.getName();
                 if(check.isSelected()) {
                     cleanEventField(getCurrentEvent(), field);
+                    planet.clearEventCache();
                     updateDate();
                 }
             }
@@ -438,6 +439,7 @@ public class NewPlanetaryEventDialog extends JDialog {
                 if(chooser.isChanged()) {
                     event.faction = chooser.getResult();
                     event.custom = true;
+                    planet.clearEventCache();
                     updateDate();
                 }
             }
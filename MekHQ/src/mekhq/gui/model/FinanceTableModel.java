@@ -10,6 +10,8 @@ import javax.swing.JTable;
 import javax.swing.SwingConstants;
 import javax.swing.table.DefaultTableCellRenderer;
 
+import mekhq.campaign.finances.Finances;
+import mekhq.campaign.finances.Ledger;
 import mekhq.campaign.finances.Transaction;
 
 /**
@@ -26,10 +28,21 @@ public class FinanceTableModel extends DataTableModel {
     public final static int COL_BALANCE  =   5;
     public final static int N_COL          = 6;
 
+    private Ledger ledger;
+
     public FinanceTableModel() {
         data = new ArrayList<Transaction>();
     }
 
+    /**
+     * Fills the table with the transactions from a campaign's finances. The balance column is
+     * taken from the running balances kept by the finances ledger.
+     */
+    public void setData(Finances finances) {
+        ledger = finances.getLedger();
+        setData(finances.getAllTransactions());
+    }
+
     public int getRowCount() {
         return data.size();
     }
@@ -62,10 +75,6 @@ public class FinanceTableModel extends DataTableModel {
     public Object getValueAt(int row, int col) {
         Transaction transaction = getTransaction(row);
         long amount = transaction.getAmount();
-        long balance = 0;
-        for(int i = 0; i <= row; i++) {
-            balance += getTransaction(i).getAmount();
-        }
         DecimalFormat formatter = new DecimalFormat();
         if(col == COL_CATEGORY) {
             return transaction.getCategoryName();
@@ -88,7 +97,7 @@ public class FinanceTableModel extends DataTableModel {
             }
         }
         if(col == COL_BALANCE) {
-            return formatter.format(balance);
+            return formatter.format(ledger.getBalanceAfter(row));
         }
         if(col == COL_DATE) {
             SimpleDateFormat shortDateFormat = new SimpleDateFormat("MM/dd/yyyy");
@@ -133,15 +142,6 @@ public class FinanceTableModel extends DataTableModel {
         return (Transaction)data.get(row);
     }
 
-    public void setTransaction(int row, Transaction transaction) {
-        //FIXME
-        //data.set(row, transaction);
-    }
-
-    public void deleteTransaction(int row) {
-        data.remove(row);
-    }
-
     public FinanceTableModel.Renderer getRenderer() {
         return new FinanceTableModel.Renderer();
     }
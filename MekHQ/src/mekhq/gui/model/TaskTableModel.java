@@ -4,6 +4,7 @@ import java.awt.Component;
 import java.awt.Image;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -15,7 +16,6 @@ import megamek.common.TargetRoll;
 import mekhq.IconPackage;
 import mekhq.campaign.parts.MissingPart;
 import mekhq.campaign.parts.Part;
-import mekhq.campaign.parts.PartInventory;
 import mekhq.campaign.parts.PodSpace;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.personnel.Skill;
@@ -49,6 +49,17 @@ public class TaskTableModel extends DataTableModel {
         this.panel = panel;
     }
     
+    @Override
+    public void setData(List<?> array) {
+        List<IPartWork> tasks = new ArrayList<>();
+        for (Object task : array) {
+            tasks.add((IPartWork) task);
+        }
+        // Look up all the replacement parts now rather than while painting
+        gui.getCampaign().getRepairTargetCache().precompute(tasks);
+        super.setData(array);
+    }
+
     public Object getValueAt(int row, int col) {
         return ((IPartWork) data.get(row)).getDesc();
     }
@@ -101,14 +112,15 @@ public class TaskTableModel extends DataTableModel {
             	availableLevel = REPAIR_STATE.SCHEDULED;
             } else {            	
             	if (part instanceof MissingPart) {
-            		if (!((MissingPart)part).isReplacementAvailable()) {
-	            		PartInventory inventories = gui.getCampaign().getPartInventory(((MissingPart) part).getNewPart());
-	            		
-	            		if ((inventories.getTransit() > 0) || (inventories.getOrdered() > 0)) {
-	            			availableLevel = REPAIR_STATE.IN_TRANSIT;
-	            		} else {
-	            			availableLevel = REPAIR_STATE.NOT_AVAILABLE;
-	            		}
+            		switch (gui.getCampaign().getRepairTargetCache().getReplacementStatus((MissingPart) part)) {
+            			case IN_TRANSIT:
+            				availableLevel = REPAIR_STATE.IN_TRANSIT;
+            				break;
+            			case NOT_AVAILABLE:
+            				availableLevel = REPAIR_STATE.NOT_AVAILABLE;
+            				break;
+            			default:
+            				break;
             		}
             	} else if (part instanceof PodSpace && !part.isSalvaging()) {
             	    Matcher m = Pattern.compile(".*(\\d+)/(\\d+).*(\\d+) in transit, (\\d+) on order.*").matcher(part.getDetails());
@@ -166,7 +178,7 @@ public class TaskTableModel extends DataTableModel {
 	                }
 	                
 	                if (null != tech) {
-	                	TargetRoll roll = gui.getCampaign().getTargetFor(part, tech);
+	                	TargetRoll roll = gui.getCampaign().getRepairTargetCache().getTargetFor(part, tech);
 	                	
 	                	if ((roll.getValue() == TargetRoll.IMPOSSIBLE) || (roll.getValue() == TargetRoll.AUTOMATIC_FAIL) || (roll.getValue() == TargetRoll.CHECK_FALSE)) {
 	                		availableLevel = REPAIR_STATE.BLOCKED;
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.gui.utilities;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import megamek.common.event.Subscribe;
+import mekhq.MekHQ;
+import mekhq.campaign.event.OptionsChangedEvent;
+
+/**
+ * Keeps the images drawn by the table, list and tree renderers, such as the unit icons with the
+ * camo applied and the scaled portraits, so they aren't built again every time a cell is painted.
+ *
+ * Images are made on a background thread. Until an image is ready the renderer gets null and
+ * draws the cell without it; once it is ready the renderer is told, so it can repaint. The least
+ * recently used images are dropped once the images kept take up more memory than allowed.
+ *
+ * The keys should include everything the image is made from, so that changing a portrait or camo
+ * simply leads to a different key. The cache is cleared when the campaign options change, as the
+ * campaign colour and camo are used for every unit icon.
+ */
+public class RenderedImageCache {
+    /* Stands for an image which could not be made, so it isn't tried again for every paint */
+    private static final Image NONE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private final long maxBytes;
+    private long bytes = 0;
+    private int generation = 0;
+    private final LinkedHashMap<Object, Image> images = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Object, List<Runnable>> pending = new HashMap<>();
+    private final ExecutorService loader = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "Image loader"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    /**
+     * @param maxBytes about how much memory the images kept may use
+     */
+    public RenderedImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets an image, starting to make it if it isn't there yet.
+     *
+     * @param key        everything the image is made from
+     * @param factory    makes the image; this is called on a background thread. It may return
+     *                   null if there is no image.
+     * @param whenLoaded called on the event dispatch thread once the image has been made, if it
+     *                   wasn't there yet; may be null
+     * @return the image, or null if it is still being made or there is none
+     */
+    public Image get(Object key, Callable<Image> factory, Runnable whenLoaded) {
+        final int startGeneration;
+        synchronized (this) {
+            Image image = images.get(key);
+            if (null != image) {
+                return (NONE == image) ? null : image;
+            }
+            List<Runnable> callbacks = pending.get(key);
+            if (null != callbacks) {
+                if ((null != whenLoaded) && !callbacks.contains(whenLoaded)) {
+                    callbacks.add(whenLoaded);
+                }
+                return null;
+            }
+            callbacks = new ArrayList<>();
+            if (null != whenLoaded) {
+                callbacks.add(whenLoaded);
+            }
+            pending.put(key, callbacks);
+            startGeneration = generation;
+        }
+        loader.execute(() -> load(key, factory, startGeneration));
+        return null;
+    }
+
+    /** Drops all images, for instance because what they were made from has changed */
+    public synchronized void clear() {
+        images.clear();
+        pending.clear();
+        bytes = 0;
+        generation++;
+    }
+
+    /** @return about how much memory the images kept take up */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    @Subscribe
+    public void handleOptionsChanged(OptionsChangedEvent ev) {
+        clear();
+    }
+
+    private void load(Object key, Callable<Image> factory, int startGeneration) {
+        Image image = null;
+        try {
+            image = factory.call();
+        } catch (Exception ex) {
+            MekHQ.getLogger().error(getClass(), "load(Object,Callable<Image>,int)", ex); //$NON-NLS-1$
+        }
+        if (null == image) {
+            image = NONE;
+        }
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (startGeneration != generation) {
+                // Cleared while this was being made, so it may be out of date
+                return;
+            }
+            callbacks = pending.remove(key);
+            images.put(key, image);
+            bytes += sizeOf(image);
+            trim();
+        }
+        if ((null != callbacks) && !callbacks.isEmpty()) {
+            SwingUtilities.invokeLater(() -> callbacks.forEach(Runnable::run));
+        }
+    }
+
+    private void trim() {
+        Iterator<Image> iter = images.values().iterator();
+        while ((bytes > maxBytes) && (images.size() > 1) && iter.hasNext()) {
+            bytes -= sizeOf(iter.next());
+            iter.remove();
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        if (NONE == image) {
+            return 0;
+        }
+        return 4L * Math.max(0, image.getWidth(null)) * Math.max(0, image.getHeight(null));
+    }
+
+    /**
+     * Scales an image the same way as {@link Image#getScaledInstance(int, int, int)} with
+     * {@link Image#SCALE_SMOOTH}, but does the scaling right away rather than each time it is
+     * painted.
+     *
+     * @param width  the width to scale to, or -1 to keep the aspect ratio
+     * @param height the height to scale to, or -1 to keep the aspect ratio
+     * @return the scaled image, or null if the image is null or could not be loaded
+     */
+    public static BufferedImage scale(Image image, int width, int height) {
+        if (null == image) {
+            return null;
+        }
+        return toBufferedImage(new ImageIcon(image).getImage().getScaledInstance(width, height,
+                Image.SCALE_SMOOTH));
+    }
+
+    /**
+     * @return the image drawn into a buffered image, waiting for it to be loaded first if needed,
+     *         or null if the image is null or could not be loaded
+     */
+    public static BufferedImage toBufferedImage(Image image) {
+        if (null == image) {
+            return null;
+        }
+        if (image instanceof BufferedImage) {
+            return (BufferedImage) image;
+        }
+        // ImageIcon waits for the image to be loaded
+        Image loaded = new ImageIcon(image).getImage();
+        int width = loaded.getWidth(null);
+        int height = loaded.getHeight(null);
+        if ((width <= 0) || (height <= 0)) {
+            return null;
+        }
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = result.createGraphics();
+        try {
+            g2d.drawImage(loaded, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return result;
+    }
+}
@@ -23,6 +23,7 @@ package mekhq.gui.view;
 
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Container;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Image;
@@ -38,6 +39,7 @@ import java.util.ResourceBundle;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
+import javax.swing.CellRendererPane;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -868,6 +870,7 @@ public class AtBScenarioViewPanel extends JPanel {
 
     protected class ForceStubRenderer extends DefaultTreeCellRenderer {
         private static final long serialVersionUID = 4076620029822185784L;
+        private final Runnable onIconLoaded = this::repaintTree;
 
         public ForceStubRenderer() {
 
@@ -916,23 +919,11 @@ public class AtBScenarioViewPanel extends JPanel {
             if ((null == category) || (null == filename) || Crew.PORTRAIT_NONE.equals(filename)) {
                 filename = "default.gif";
             }
-            // Try to get the player's portrait file.
-            Image portrait = null;
-            try {
-                portrait = (Image) icons.getPortraits().getItem(category, filename);
-                if(null != portrait) {
-                    portrait = portrait.getScaledInstance(50, -1, Image.SCALE_DEFAULT);
-                } else {
-                    portrait = (Image) icons.getPortraits().getItem("", "default.gif");
-                    if(null != portrait) {
-                        portrait = portrait.getScaledInstance(50, -1, Image.SCALE_DEFAULT);
-                    }
-                }
-                return new ImageIcon(portrait);
-            } catch (Exception err) {
-                err.printStackTrace();
+            if (null == icons.getPortraits()) {
                 return null;
             }
+            Image portrait = icons.getScaledPortrait(category, filename, 50, -1, onIconLoaded);
+            return (null == portrait) ? null : new ImageIcon(portrait);
         }
 
         protected Icon getIconFrom(ForceStub force) {
@@ -949,24 +940,20 @@ public class AtBScenarioViewPanel extends JPanel {
                 filename = "empty.png";
             }
 
-            // Try to get the player's portrait file.
-            Image portrait = null;
-            try {
-                portrait = IconPackage.buildForceIcon(category, filename, icons.getForceIcons(), iconMap);
-               if(null != portrait) {
-                portrait = portrait.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-            } else {
-                portrait = (Image) icons.getForceIcons().getItem("", "empty.png");
-                if(null != portrait) {
-                    portrait = portrait.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-                }
-                }
-                return new ImageIcon(portrait);
-            } catch (Exception err) {
-                err.printStackTrace();
+            if (null == icons.getForceIcons()) {
                 return null;
             }
+            Image portrait = icons.getScaledForceIcon(category, filename, iconMap, 58, -1, onIconLoaded);
+            return (null == portrait) ? null : new ImageIcon(portrait);
        }
+
+        /* Called once an icon is ready; the renderer sits in the CellRendererPane of the tree */
+        private void repaintTree() {
+            Container parent = getParent();
+            if ((parent instanceof CellRendererPane) && (null != parent.getParent())) {
+                parent.getParent().repaint();
+            }
+        }
     }
 
     protected class EntityListModel implements TreeModel {
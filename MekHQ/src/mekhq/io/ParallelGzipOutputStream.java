@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream writing the standard gzip format, like {@link java.util.zip.GZIPOutputStream},
+ * which compresses the data in blocks on several threads at once.
+ *
+ * Each block is compressed on its own, using the end of the block before it as the dictionary so
+ * it compresses nearly as well as a single stream, and ends on a byte boundary so the compressed
+ * blocks can simply be written one after the other. The output can be read by any gzip reader.
+ * Only a few blocks are compressed ahead of the writer, so memory use stays bounded however much
+ * is written.
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /* The largest distance a deflate back reference can reach */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService COMPRESSORS = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread thread = new Thread(r, "Gzip compressor"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private final int level;
+    private final int blockSize;
+    private final CRC32 crc = new CRC32();
+    private long totalIn = 0;
+    private byte[] block;
+    private int blockLength = 0;
+    /* The last input written before the current block */
+    private byte[] dictionary = null;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private boolean closed = false;
+
+    /**
+     * @param out   the stream to write the compressed data to
+     * @param level the compression level, from {@link Deflater#NO_COMPRESSION} to
+     *              {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level) throws IOException {
+        this(out, level, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ParallelGzipOutputStream(OutputStream out, int level, int blockSize) throws IOException {
+        super(out);
+        if ((level < Deflater.DEFAULT_COMPRESSION) || (level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level " + level); //$NON-NLS-1$
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Invalid block size " + blockSize); //$NON-NLS-1$
+        }
+        this.level = level;
+        this.blockSize = blockSize;
+        block = new byte[blockSize];
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        crc.update(b);
+        totalIn++;
+        block[blockLength++] = (byte) b;
+        if (blockLength == blockSize) {
+            submitBlock(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off < 0) || (len < 0) || (off + len > b.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        crc.update(b, off, len);
+        totalIn += len;
+        while (len > 0) {
+            int count = Math.min(len, blockSize - blockLength);
+            System.arraycopy(b, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+            if (blockLength == blockSize) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * Compresses everything written so far and passes it on. This ends the current block early,
+     * so calling it often makes the compression worse.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (blockLength > 0) {
+            submitBlock(false);
+        }
+        while (!pending.isEmpty()) {
+            writeNextBlock();
+        }
+        out.flush();
+    }
+
+    /** Writes the last block and the gzip trailer and closes the underlying stream */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            submitBlock(true);
+            while (!pending.isEmpty()) {
+                writeNextBlock();
+            }
+            writeInt((int) crc.getValue());
+            writeInt((int) totalIn);
+            out.flush();
+        } finally {
+            closed = true;
+            for (Future<byte[]> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed"); //$NON-NLS-1$
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        final byte[] input = block;
+        final int length = blockLength;
+        final byte[] dict = dictionary;
+        dictionary = nextDictionary(dict, input, length);
+        pending.add(COMPRESSORS.submit(() -> compress(input, length, dict, last)));
+        block = new byte[blockSize];
+        blockLength = 0;
+        // Don't get too far ahead of the output
+        while (pending.size() > 2 * THREADS) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        try {
+            out.write(pending.peek().get());
+            pending.remove();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing"); //$NON-NLS-1$
+        } catch (ExecutionException e) {
+            throw new IOException("Could not compress", e.getCause()); //$NON-NLS-1$
+        }
+    }
+
+    private void writeInt(int i) throws IOException {
+        out.write(i & 0xff);
+        out.write((i >> 8) & 0xff);
+        out.write((i >> 16) & 0xff);
+        out.write((i >> 24) & 0xff);
+    }
+
+    /** @return the last {@link #DICTIONARY_SIZE} bytes of the dictionary followed by the input */
+    private static byte[] nextDictionary(byte[] dict, byte[] input, int length) {
+        if (length >= DICTIONARY_SIZE) {
+            return Arrays.copyOfRange(input, length - DICTIONARY_SIZE, length);
+        }
+        int fromDict = (null == dict) ? 0 : Math.min(dict.length, DICTIONARY_SIZE - length);
+        byte[] result = new byte[fromDict + length];
+        if (fromDict > 0) {
+            System.arraycopy(dict, dict.length - fromDict, result, 0, fromDict);
+        }
+        System.arraycopy(input, 0, result, fromDict, length);
+        return result;
+    }
+
+    private byte[] compress(byte[] input, int length, byte[] dict, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if ((null != dict) && (dict.length > 0)) {
+                deflater.setDictionary(dict);
+            }
+            deflater.setInput(input, 0, length);
+            ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[16 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // A sync flush ends the block on a byte boundary without ending the stream
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
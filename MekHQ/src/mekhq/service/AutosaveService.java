@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.service;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import megamek.common.event.Subscribe;
+import megamek.common.logging.LogLevel;
+import mekhq.MekHQ;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.CampaignOptions;
+import mekhq.campaign.event.NewDayEvent;
+import mekhq.io.ParallelGzipOutputStream;
+
+/**
+ * Saves the campaign every few days, as set in the campaign options, without holding up the game.
+ *
+ * At the end of the day the campaign is written out to XML in memory. This is the snapshot of the
+ * campaign as it was that day; the game carries on as soon as it is taken, while compressing it
+ * and writing it to disk happens on a background thread. The newest autosaves are kept, numbered
+ * from 1 for the most recent one. If the previous autosave is still being written when the next
+ * one is due, the new one waits for the next day rather than piling up snapshots in memory.
+ */
+public class AutosaveService {
+    public static final String AUTOSAVE_DIRECTORY = "autosave"; //$NON-NLS-1$
+
+    private final File directory;
+    private final IntSupplier compressionLevel;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Autosave"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Campaign lastCampaign = null;
+    private int daysSinceAutosave = 0;
+    private Future<?> pendingSave = null;
+
+    /**
+     * @param directory        where the autosaves go
+     * @param compressionLevel supplies the compression level to use for each save
+     */
+    public AutosaveService(File directory, IntSupplier compressionLevel) {
+        this.directory = directory;
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Saves the campaign after every other handler has dealt with the new day, so their changes are
+     * part of the save. This is the lowest priority which can't overflow when the event bus compares
+     * two priorities.
+     */
+    @Subscribe(priority = Integer.MIN_VALUE / 2)
+    public void handleNewDay(NewDayEvent ev) {
+        final String METHOD_NAME = "handleNewDay(NewDayEvent)"; //$NON-NLS-1$
+
+        Campaign campaign = ev.getCampaign();
+        if (campaign != lastCampaign) {
+            lastCampaign = campaign;
+            daysSinceAutosave = 0;
+        }
+        CampaignOptions options = campaign.getCampaignOptions();
+        if ((options.getAutosaveInterval() <= 0) || (++daysSinceAutosave < options.getAutosaveInterval())) {
+            return;
+        }
+        if (isSaving()) {
+            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
+                    "Previous autosave is still being written, trying again tomorrow"); //$NON-NLS-1$
+            return;
+        }
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream(1024 * 1024);
+        PrintWriter pw = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(snapshot, StandardCharsets.UTF_8), 64 * 1024));
+        try {
+            campaign.writeToXml(pw);
+        } catch (Exception ex) {
+            MekHQ.getLogger().error(getClass(), METHOD_NAME, ex);
+            return;
+        } finally {
+            pw.close();
+        }
+        if (pw.checkError()) {
+            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
+                    "Could not write the campaign for the autosave"); //$NON-NLS-1$
+            return;
+        }
+        daysSinceAutosave = 0;
+
+        final String name = fileName(campaign);
+        final int keep = options.getMaxAutosaves();
+        synchronized (this) {
+            pendingSave = writer.submit(() -> write(snapshot, name, keep));
+        }
+    }
+
+    /** @return true while an autosave is being written to disk */
+    public synchronized boolean isSaving() {
+        return (null != pendingSave) && !pendingSave.isDone();
+    }
+
+    /**
+     * Waits for the autosave being written, if any, to be finished
+     *
+     * @return false if it was still being written when the time ran out
+     */
+    public boolean waitForPendingSave(long timeout, TimeUnit unit) {
+        final String METHOD_NAME = "waitForPendingSave(long,TimeUnit)"; //$NON-NLS-1$
+
+        Future<?> save;
+        synchronized (this) {
+            save = pendingSave;
+        }
+        if (null == save) {
+            return true;
+        }
+        try {
+            save.get(timeout, unit);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            MekHQ.getLogger().error(getClass(), METHOD_NAME, ex);
+            return save.isDone();
+        }
+    }
+
+    /** @return the file the autosave with the given number has for the campaign of the given file name */
+    public File getAutosaveFile(String name, int number) {
+        return new File(directory, name + "-autosave-" + number + ".cpnx.gz"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /** @return the campaign's name, turned into something any file system accepts */
+    static String fileName(Campaign campaign) {
+        String name = (null == campaign.getName()) ? "" : campaign.getName().trim(); //$NON-NLS-1$
+        name = name.replaceAll("[^\\p{Alnum} _.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+        return name.isEmpty() ? "campaign" : name; //$NON-NLS-1$
+    }
+
+    private void write(ByteArrayOutputStream snapshot, String name, int keep) {
+        final String METHOD_NAME = "write(ByteArrayOutputStream,String,int)"; //$NON-NLS-1$
+
+        File temp = new File(directory, name + "-autosave.tmp"); //$NON-NLS-1$
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Could not create " + directory); //$NON-NLS-1$
+            }
+            try (OutputStream out = new ParallelGzipOutputStream(new FileOutputStream(temp),
+                    compressionLevel.getAsInt())) {
+                snapshot.writeTo(out);
+            }
+            // Only touch the older autosaves once the new one is safely on disk
+            Files.deleteIfExists(getAutosaveFile(name, keep).toPath());
+            for (int i = keep - 1; i >= 1; i--) {
+                File older = getAutosaveFile(name, i);
+                if (older.exists()) {
+                    Files.move(older.toPath(), getAutosaveFile(name, i + 1).toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            File target = getAutosaveFile(name, 1);
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
+                    "Campaign autosaved to " + target); //$NON-NLS-1$
+        } catch (Exception ex) {
+            MekHQ.getLogger().error(getClass(), METHOD_NAME, ex);
+            temp.delete();
+        }
+    }
+}
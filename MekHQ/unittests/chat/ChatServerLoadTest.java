@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package chat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import mekhq.LoadTest;
+
+/**
+ * Connects a few dozen clients to a local chat server, has some of them talk, and checks how
+ * long each message takes to reach every client.
+ */
+@Category(LoadTest.class)
+public class ChatServerLoadTest {
+    private static final int CLIENTS = 40;
+    private static final int SENDERS = 4;
+    private static final int MESSAGES_PER_SENDER = 25;
+    // generous, since only the loopback interface is involved
+    private static final double MAX_MEDIAN_MS = 50;
+    private static final double MAX_99TH_PERCENTILE_MS = 500;
+
+    private ChatServer server;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @Before
+    public void startServer() throws IOException {
+        server = new ChatServer(0);
+        server.start();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        server.die();
+    }
+
+    @Test(timeout = 60000)
+    public void testFanOutLatency() throws Exception {
+        final int expected = SENDERS * MESSAGES_PER_SENDER;
+        final CountDownLatch connected = new CountDownLatch(CLIENTS);
+        final CountDownLatch done = new CountDownLatch(CLIENTS);
+        final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<PrintWriter> writers = new ArrayList<>();
+
+        for (int i = 0; i < CLIENTS; i++) {
+            Socket socket = new Socket("localhost", server.getPort());
+            sockets.add(socket);
+            writers.add(new PrintWriter(socket.getOutputStream(), true));
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Thread thread = new Thread(() -> {
+                try {
+                    // every client says hello once, so we know the server has seen them all
+                    int hellos = 0;
+                    int received = 0;
+                    String line;
+                    while ((received < expected) && ((line = reader.readLine()) != null)) {
+                        if (line.startsWith("hello")) {
+                            if (++hellos == CLIENTS) {
+                                connected.countDown();
+                            }
+                            continue;
+                        }
+                        long sent = Long.parseLong(line.substring(line.indexOf(':') + 1));
+                        latencies.add(System.nanoTime() - sent);
+                        received++;
+                    }
+                    if (received == expected) {
+                        done.countDown();
+                    }
+                } catch (IOException ex) {
+                    // socket closed at the end of the test
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        // a line sent before its client was accepted would not reach those accepted later
+        long deadline = System.currentTimeMillis() + 30000;
+        while (server.getClientCount() < CLIENTS) {
+            assertFalse("the server did not accept all clients", System.currentTimeMillis() > deadline);
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < CLIENTS; i++) {
+            writers.get(i).println("hello " + i);
+        }
+        assertTrue("not all clients connected", connected.await(30, TimeUnit.SECONDS));
+
+        for (int m = 0; m < MESSAGES_PER_SENDER; m++) {
+            for (int s = 0; s < SENDERS; s++) {
+                writers.get(s).println("[sender" + s + "]:" + System.nanoTime());
+            }
+        }
+        assertTrue("not all messages arrived", done.await(30, TimeUnit.SECONDS));
+
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        assertEquals(CLIENTS * expected, sorted.size());
+        Collections.sort(sorted);
+        double median = sorted.get(sorted.size() / 2) / 1e6;
+        double percentile99 = sorted.get(sorted.size() * 99 / 100) / 1e6;
+        assertTrue("median latency " + median + " ms", median <= MAX_MEDIAN_MS);
+        assertTrue("99th percentile latency " + percentile99 + " ms", percentile99 <= MAX_99TH_PERCENTILE_MS);
+    }
+}
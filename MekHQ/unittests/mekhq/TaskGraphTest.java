@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TaskGraphTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testDependenciesRunFirst() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        TaskGraph graph = new TaskGraph();
+        graph.add("a", () -> order.add("a"));
+        graph.add("b", () -> order.add("b"), "a");
+        graph.add("c", () -> order.add("c"), "a", "b");
+        graph.start(pool);
+        graph.getAll().get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, order.size());
+        assertTrue(order.indexOf("a") < order.indexOf("b"));
+        assertTrue(order.indexOf("b") < order.indexOf("c"));
+        Map<String, Long> timings = graph.getTimings();
+        assertEquals(3, timings.size());
+    }
+
+    @Test
+    public void testIndependentTasksRunTogether() throws Exception {
+        // Each task waits for the other to have started, which only works if both run at once
+        CountDownLatch started = new CountDownLatch(2);
+        TaskGraph graph = new TaskGraph();
+        graph.add("a", () -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        });
+        graph.add("b", () -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        });
+        graph.start(pool);
+        graph.getAll().get(10, TimeUnit.SECONDS);
+        assertEquals(0, started.getCount());
+    }
+
+    @Test
+    public void testFailureIsReportedAndDependentsStillRun() throws Exception {
+        List<String> failed = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> later = new CompletableFuture<>();
+        TaskGraph graph = new TaskGraph();
+        graph.add("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+        graph.addAsync("async", () -> later);
+        graph.add("after", () -> { }, "broken", "async");
+        graph.addListener((name, millis, error, finished, total) -> {
+            if (null != error) {
+                failed.add(name);
+            }
+        });
+        graph.start(pool);
+        graph.get("broken").get(5, TimeUnit.SECONDS);
+        assertTrue(!graph.get("after").isDone());
+
+        later.complete(null);
+        graph.get("after").get(5, TimeUnit.SECONDS);
+        assertEquals(1, failed.size());
+        assertEquals("broken", failed.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDependencyIsRejected() {
+        new TaskGraph().add("a", () -> { }, "b");
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import megamek.common.event.MMEvent;
+import megamek.common.event.Subscribe;
+import mekhq.MekHQ;
+import mekhq.TestUtilities;
+import mekhq.campaign.DayAdvanceRunner.Nag;
+import mekhq.campaign.DayAdvanceRunner.Result;
+import mekhq.campaign.DayAdvanceRunner.StopReason;
+import mekhq.campaign.event.AstechPoolChangedEvent;
+import mekhq.campaign.event.DayEndingEvent;
+import mekhq.campaign.event.NewDayEvent;
+import mekhq.campaign.finances.Finances;
+import mekhq.campaign.personnel.PersonnelRegistry;
+import mekhq.campaign.personnel.RetirementDefectionTracker;
+
+public class DayAdvanceRunnerTest {
+
+    /* Notes the events which reach it; when the day ends it changes the campaign the way other
+     * handlers do, which raises an event that shouldn't be delivered during a run */
+    public static class EventRecorder {
+        final List<Class<? extends MMEvent>> received = new ArrayList<>();
+
+        @Subscribe
+        public void handle(DayEndingEvent ev) {
+            received.add(ev.getClass());
+            ev.getCampaign().increaseAstechPool(1);
+        }
+
+        @Subscribe
+        public void handle(NewDayEvent ev) {
+            received.add(ev.getClass());
+        }
+
+        @Subscribe
+        public void handle(AstechPoolChangedEvent ev) {
+            received.add(ev.getClass());
+        }
+    }
+
+    private EventRecorder recorder;
+
+    @After
+    public void tearDown() {
+        if (null != recorder) {
+            MekHQ.unregisterHandler(recorder);
+        }
+    }
+
+    private static Campaign mockCampaign(long overdueLoans) {
+        Campaign campaign = Mockito.mock(Campaign.class);
+        Finances finances = Mockito.mock(Finances.class);
+        Mockito.when(finances.checkOverdueLoanPayments(campaign)).thenReturn(overdueLoans);
+        Mockito.when(campaign.getFinances()).thenReturn(finances);
+        CampaignOptions options = Mockito.mock(CampaignOptions.class);
+        Mockito.when(options.checkMaintenance()).thenReturn(false);
+        Mockito.when(options.getUseAtB()).thenReturn(false);
+        Mockito.when(campaign.getCampaignOptions()).thenReturn(options);
+        RetirementDefectionTracker tracker = Mockito.mock(RetirementDefectionTracker.class);
+        Mockito.when(tracker.getRetirees()).thenReturn(Collections.emptySet());
+        Mockito.when(campaign.getRetirementDefectionTracker()).thenReturn(tracker);
+        Mockito.when(campaign.getPersonnelRegistry()).thenReturn(Mockito.mock(PersonnelRegistry.class));
+        Mockito.when(campaign.getRepairTargetCache()).thenReturn(Mockito.mock(RepairTargetCache.class));
+        Mockito.when(campaign.fetchAndClearNewReports()).thenReturn(Collections.singletonList("report"));
+        return campaign;
+    }
+
+    @Test
+    public void testAdvancesAllDaysAndStreamsReports() {
+        Campaign campaign = mockCampaign(0);
+        Mockito.when(campaign.newDay()).thenReturn(true);
+        List<Integer> days = new ArrayList<>();
+
+        Result result = new DayAdvanceRunner(campaign)
+                .setReportListener((day, reports) -> days.add(day))
+                .run(3);
+
+        assertEquals(StopReason.COMPLETED, result.getStopReason());
+        assertEquals(3, result.getDaysAdvanced());
+        assertEquals(0, result.getDaysRemaining());
+        assertNull(result.getNag());
+        assertEquals(3, days.size());
+        Mockito.verify(campaign, Mockito.times(3)).newDay();
+    }
+
+    @Test
+    public void testStopsWhenDayIsRefused() {
+        Campaign campaign = mockCampaign(0);
+        Mockito.when(campaign.newDay()).thenReturn(true, false);
+
+        Result result = new DayAdvanceRunner(campaign).run(5);
+
+        assertEquals(StopReason.DAY_REFUSED, result.getStopReason());
+        assertEquals(1, result.getDaysAdvanced());
+        assertEquals(4, result.getDaysRemaining());
+    }
+
+    @Test
+    public void testOverdueLoansStopEvenIfTheHandlerWouldProceed() {
+        Campaign campaign = mockCampaign(1000);
+
+        Result result = new DayAdvanceRunner(campaign)
+                .setNagHandler((nag, message) -> true)
+                .run(2);
+
+        assertEquals(StopReason.NAG, result.getStopReason());
+        assertEquals(Nag.OVERDUE_LOANS, result.getNag());
+        assertEquals(0, result.getDaysAdvanced());
+        Mockito.verify(campaign, Mockito.never()).newDay();
+    }
+
+    @Test
+    public void testRealCampaignOnlyDeliversTheDayEvents() throws Exception {
+        Campaign campaign = TestUtilities.getTestCampaign();
+        int startDay = campaign.getCalendar().get(Calendar.DAY_OF_YEAR);
+        recorder = new EventRecorder();
+        MekHQ.registerHandler(recorder);
+
+        // Run on another thread, the way a user interface would
+        Result result = new DayAdvanceRunner(campaign).start(2).get(60, TimeUnit.SECONDS);
+
+        assertEquals(StopReason.COMPLETED, result.getStopReason());
+        assertEquals(2, result.getDaysAdvanced());
+        assertEquals(startDay + 2, campaign.getCalendar().get(Calendar.DAY_OF_YEAR));
+        assertEquals(2, campaign.getAstechPool());
+        // The changes made during the day were made, but not announced
+        assertEquals(Arrays.asList(DayEndingEvent.class, NewDayEvent.class,
+                DayEndingEvent.class, NewDayEvent.class), recorder.received);
+
+        // Once the run is over everything is delivered again
+        recorder.received.clear();
+        campaign.increaseAstechPool(1);
+        assertEquals(Collections.singletonList(AstechPoolChangedEvent.class), recorder.received);
+    }
+
+    @Test
+    public void testEventsAreDeliveredAgainAfterAFailedDay() {
+        Campaign campaign = mockCampaign(0);
+        Mockito.when(campaign.newDay()).thenThrow(new IllegalStateException("broken"));
+        recorder = new EventRecorder();
+        MekHQ.registerHandler(recorder);
+
+        Result result = new DayAdvanceRunner(campaign).run(3);
+
+        assertEquals(StopReason.ERROR, result.getStopReason());
+        assertEquals(0, result.getDaysAdvanced());
+        MekHQ.triggerEvent(new AstechPoolChangedEvent(campaign, 1));
+        assertEquals(Collections.singletonList(AstechPoolChangedEvent.class), recorder.received);
+    }
+
+    @Test
+    public void testBackgroundDayRefreshesTheCaches() throws Exception {
+        Campaign campaign = mockCampaign(0);
+        Mockito.when(campaign.newDay()).thenReturn(true);
+
+        Result result = new DayAdvanceRunner(campaign).start(1).get(10, TimeUnit.SECONDS);
+
+        assertEquals(StopReason.COMPLETED, result.getStopReason());
+        // the events which would have refreshed them were held back during the day
+        Mockito.verify(campaign.getPersonnelRegistry()).invalidate();
+        Mockito.verify(campaign.getRepairTargetCache()).clear();
+    }
+
+    @Test
+    public void testErrorsCompleteTheFuture() throws Exception {
+        Campaign campaign = mockCampaign(0);
+        Mockito.when(campaign.newDay()).thenThrow(new StackOverflowError());
+
+        try {
+            new DayAdvanceRunner(campaign).start(1).get(10, TimeUnit.SECONDS);
+            fail("The run should have failed");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof StackOverflowError);
+        }
+    }
+}
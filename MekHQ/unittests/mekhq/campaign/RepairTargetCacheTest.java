@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign;
+
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import megamek.common.TargetRoll;
+import mekhq.MekHQ;
+import mekhq.campaign.event.NewDayEvent;
+import mekhq.campaign.event.PartChangedEvent;
+import mekhq.campaign.event.PersonChangedEvent;
+import mekhq.campaign.parts.Part;
+import mekhq.campaign.personnel.Person;
+import mekhq.campaign.work.IPartWork;
+
+public class RepairTargetCacheTest {
+    private Campaign campaign;
+    private IPartWork task;
+    private Person tech;
+    private RepairTargetCache cache;
+
+    @Before
+    public void setUp() {
+        campaign = Mockito.mock(Campaign.class);
+        task = Mockito.mock(IPartWork.class);
+        tech = Mockito.mock(Person.class);
+        Mockito.when(campaign.getTargetFor(task, tech)).thenReturn(new TargetRoll(5, "test"));
+        cache = new RepairTargetCache(campaign);
+        // done by the campaign once it is being played
+        MekHQ.registerHandler(cache);
+    }
+
+    @After
+    public void tearDown() {
+        MekHQ.unregisterHandler(cache);
+    }
+
+    @Test
+    public void testTargetIsOnlyWorkedOutOnce() {
+        TargetRoll target = cache.getTargetFor(task, tech);
+        assertSame(target, cache.getTargetFor(task, tech));
+        Mockito.verify(campaign, Mockito.times(1)).getTargetFor(task, tech);
+    }
+
+    @Test
+    public void testPartEventClearsTheCache() {
+        cache.getTargetFor(task, tech);
+        MekHQ.triggerEvent(new PartChangedEvent(Mockito.mock(Part.class)));
+        cache.getTargetFor(task, tech);
+        Mockito.verify(campaign, Mockito.times(2)).getTargetFor(task, tech);
+    }
+
+    @Test
+    public void testPersonEventClearsTheCache() {
+        cache.getTargetFor(task, tech);
+        MekHQ.triggerEvent(new PersonChangedEvent(tech));
+        cache.getTargetFor(task, tech);
+        Mockito.verify(campaign, Mockito.times(2)).getTargetFor(task, tech);
+    }
+
+    @Test
+    public void testNewDayClearsTheCache() {
+        cache.getTargetFor(task, tech);
+        MekHQ.triggerEvent(new NewDayEvent(campaign));
+        cache.getTargetFor(task, tech);
+        Mockito.verify(campaign, Mockito.times(2)).getTargetFor(task, tech);
+    }
+}
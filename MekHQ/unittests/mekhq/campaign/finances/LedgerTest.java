@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.finances;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LedgerTest {
+
+    private static final Date JANUARY = new GregorianCalendar(3050, 0, 5).getTime();
+    private static final Date FEBRUARY = new GregorianCalendar(3050, 1, 5).getTime();
+
+    @Test
+    public void testRunningTotalsMatchTransactions() {
+        Ledger ledger = new Ledger();
+        List<Transaction> transactions = new ArrayList<>();
+        add(ledger, transactions, new Transaction(1000, Transaction.C_START, "Start", JANUARY));
+        add(ledger, transactions, new Transaction(-300, Transaction.C_SALARY, "Payroll", JANUARY));
+        add(ledger, transactions, new Transaction(500, Transaction.C_CONTRACT, "Payment", FEBRUARY));
+
+        Assert.assertEquals(1200, ledger.getBalance());
+        Assert.assertEquals(700, ledger.getBalanceAfter(1));
+        Assert.assertEquals(-300, ledger.getCategoryTotal(Transaction.C_SALARY));
+        Assert.assertEquals(2, ledger.getMonthlyTotals().size());
+        Assert.assertEquals(700, ledger.getNetChange(JANUARY, JANUARY));
+
+        Transaction voided = transactions.remove(1);
+        ledger.remove(1, voided, transactions);
+        Assert.assertEquals(1500, ledger.getBalance());
+        Assert.assertEquals(1500, ledger.getBalanceAfter(1));
+        Assert.assertEquals(0, ledger.getCategoryTotal(Transaction.C_SALARY));
+
+        Transaction edited = transactions.get(0);
+        Transaction old = new Transaction(edited);
+        edited.setAmount(2000);
+        edited.setDate(FEBRUARY);
+        ledger.update(0, old, edited, transactions);
+        Assert.assertEquals(2500, ledger.getBalance());
+        Assert.assertEquals(2500, ledger.getBalanceAfter(1));
+        Assert.assertEquals(1, ledger.getMonthlyTotals().size());
+        Assert.assertEquals(2500, ledger.getMonthlyTotals().get(ledger.getMonthKey(FEBRUARY))[Ledger.CREDITS]);
+    }
+
+    private static void add(Ledger ledger, List<Transaction> transactions, Transaction t) {
+        transactions.add(t);
+        ledger.add(t);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 MegaMek team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package mekhq.campaign.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class DailyReportHistoryTest {
+    private static final long START = 1000L * 60 * 60 * 24 * 365 * 30;
+
+    private static Date day(int n) {
+        return new Date(START + TimeUnit.DAYS.toMillis(n));
+    }
+
+    @Test
+    public void testEntriesAreGroupedByDay() {
+        DailyReportHistory history = new DailyReportHistory(10);
+        history.add(new HistoricalLogEntry(day(0), ""));
+        history.add(new HistoricalLogEntry(day(0), "first"));
+        history.add(new HistoricalLogEntry(day(1), ""));
+        history.add(new HistoricalLogEntry(day(1), "second"));
+
+        List<List<LogEntry>> days = history.getDays(day(1), 7);
+        assertEquals(2, days.size());
+        assertEquals("first", days.get(0).get(1).getDesc());
+        assertEquals("second", days.get(1).get(1).getDesc());
+
+        // Only today is less than one day old
+        assertEquals(1, history.getDays(day(1), 1).size());
+    }
+
+    @Test
+    public void testOldDaysArePruned() {
+        DailyReportHistory history = new DailyReportHistory(10);
+        for (int i = 0; i <= 20; i++) {
+            history.add(new HistoricalLogEntry(day(i), "day " + i));
+        }
+
+        List<List<LogEntry>> days = history.getDays(day(20), 100);
+        assertEquals(11, days.size());
+        assertEquals("day 10", days.get(0).get(0).getDesc());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import mekhq.campaign.parts.equipment.HeatSink;
+
+public class PartTypesTest {
+
+    @Test
+    public void testRegisteredTypeIsCreated() throws Exception {
+        Part first = PartTypes.newInstance(MekLocation.class.getName());
+        Part second = PartTypes.newInstance(MekLocation.class.getName());
+        assertEquals(MekLocation.class, first.getClass());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testOldNamesAreStillRead() throws Exception {
+        assertTrue(PartTypes.isRegistered("mekhq.campaign.parts.MekEngine"));
+        assertEquals(EnginePart.class, PartTypes.newInstance("mekhq.campaign.parts.MekEngine").getClass());
+        assertEquals(HeatSink.class, PartTypes.newInstance("mekhq.campaign.parts.HeatSink").getClass());
+        // The old names used to be matched ignoring case
+        assertEquals(EnginePart.class, PartTypes.newInstance("mekhq.campaign.parts.MEKENGINE").getClass());
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testUnknownTypeIsAnError() throws Exception {
+        PartTypes.newInstance("mekhq.campaign.parts.NoSuchPart");
+    }
+}
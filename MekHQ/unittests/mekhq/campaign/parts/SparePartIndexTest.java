@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import megamek.common.Mech;
+import mekhq.Version;
+
+public class SparePartIndexTest {
+
+    private static Part loadPart(String xml) throws Exception {
+        Node node = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(new InputSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))))
+                .getDocumentElement();
+        return Part.generateInstanceFromXML(node, new Version("0.45.0"));
+    }
+
+    @Test
+    public void testPartSavedUnderAnOldNameIsFound() throws Exception {
+        Part saved = loadPart("<part id=\"2\" type=\"mekhq.campaign.parts.MekGyro\">"
+                + "<id>2</id><name>Old Gyro Name</name><unitTonnage>50</unitTonnage>"
+                + "<type>" + Mech.GYRO_STANDARD + "</type><gyroTonnage>2.0</gyroTonnage></part>");
+        MekGyro bought = new MekGyro(50, Mech.GYRO_STANDARD, 2.0, false, null);
+        bought.setId(3);
+        assertNotEquals(saved.getName(), bought.getName());
+
+        SparePartIndex index = new SparePartIndex();
+        index.add(saved);
+
+        assertEquals(1, index.getSparePartsOfType(bought).size());
+        assertSame(saved, index.findSparePart(bought));
+    }
+
+    @Test
+    public void testDifferentTypesAreNotMatched() {
+        MekGyro standard = new MekGyro(50, Mech.GYRO_STANDARD, 2.0, false, null);
+        standard.setId(1);
+        MekGyro xl = new MekGyro(50, Mech.GYRO_XL, 1.0, false, null);
+        xl.setId(2);
+
+        SparePartIndex index = new SparePartIndex();
+        index.add(standard);
+
+        assertNull(index.findSparePart(xl));
+        index.remove(standard);
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.personnel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import mekhq.TestUtilities;
+import mekhq.campaign.Campaign;
+
+public class PersonnelRegistryTest {
+
+    @Test
+    public void testCountsFollowStatusAndRoleChanges() {
+        Campaign campaign = TestUtilities.getTestCampaign();
+        Person astech = new Person("Astech", campaign, "MERC");
+        astech.setPrimaryRole(Person.T_ASTECH);
+        campaign.addPerson(astech);
+        Person medic = new Person("Medic", campaign, "MERC");
+        medic.setPrimaryRole(Person.T_MEDIC);
+        campaign.addPerson(medic);
+
+        assertEquals(1, campaign.getNumberPrimaryAstechs());
+        assertEquals(1, campaign.getNumberMedics());
+
+        astech.setStatus(Person.S_KIA);
+        assertEquals(0, campaign.getNumberPrimaryAstechs());
+
+        medic.setSecondaryRole(Person.T_ASTECH);
+        assertEquals(1, campaign.getNumberSecondaryAstechs());
+
+        campaign.removePerson(medic.getId(), false);
+        assertEquals(0, campaign.getNumberMedics());
+        assertEquals(0, campaign.getNumberSecondaryAstechs());
+    }
+
+    @Test
+    public void testDoctorsAndPatients() {
+        Campaign campaign = TestUtilities.getTestCampaign();
+        Person doctor = new Person("Doctor", campaign, "MERC");
+        doctor.addSkill(SkillType.S_DOCTOR, 2, 0);
+        doctor.setPrimaryRole(Person.T_DOCTOR);
+        campaign.addPerson(doctor);
+        Person patient = new Person("Patient", campaign, "MERC");
+        campaign.addPerson(patient);
+
+        assertTrue(campaign.getDoctors().contains(doctor));
+        assertEquals(0, campaign.getPatientsFor(doctor));
+
+        patient.setDoctorId(doctor.getId(), 1);
+        assertEquals(1, campaign.getPatientsFor(doctor));
+
+        patient.setDoctorId(null, 1);
+        assertEquals(0, campaign.getPatientsFor(doctor));
+    }
+}
@@ -36,6 +36,7 @@ import megamek.common.LightVehicleBay;
 import megamek.common.MechBay;
 import megamek.common.Tank;
 import mekhq.campaign.Campaign;
+import mekhq.campaign.event.NewDayEvent;
 import mekhq.campaign.finances.Finances;
 import mekhq.campaign.mission.Mission;
 import mekhq.campaign.personnel.Person;
@@ -963,6 +964,19 @@ public class CampaignOpsReputationTest {
         assertEquals(0, spyReputation.getModifier());
     }
 
+    @Test
+    public void testScoreIsKeptUntilTheCampaignChanges() {
+        spyReputation.initValues();
+        assertEquals(3, spyReputation.getModifier());
+
+        // Nothing has told the rating about the change yet.
+        buildFreshCampaign();
+        assertEquals(3, spyReputation.getModifier());
+
+        spyReputation.handle(new NewDayEvent(mockCampaign));
+        assertEquals(0, spyReputation.getModifier());
+    }
+
     @Test
     public void testGetAverageExperience() {
         spyReputation.initValues();
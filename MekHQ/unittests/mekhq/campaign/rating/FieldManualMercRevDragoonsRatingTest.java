@@ -34,6 +34,9 @@ import megamek.common.Tank;
 import megamek.common.TechConstants;
 import mekhq.campaign.Campaign;
 import mekhq.campaign.CampaignOptions;
+import mekhq.campaign.finances.Finances;
+import mekhq.campaign.finances.Loan;
+import mekhq.campaign.finances.Transaction;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.personnel.Skill;
 import mekhq.campaign.personnel.SkillType;
@@ -45,6 +48,8 @@ import org.junit.runners.JUnit4;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Vector;
 import java.util.stream.Collectors;
@@ -443,6 +448,25 @@ public class FieldManualMercRevDragoonsRatingTest {
     }
 
 
+    @Test
+    public void testGetFinancialValueInDebt() {
+        GregorianCalendar loanDate = new GregorianCalendar(3050, Calendar.JANUARY, 1);
+        Finances finances = new Finances();
+        finances.addLoan(new Loan(1000000, 10, 10, 2, Finances.SCHEDULE_MONTHLY, loanDate,
+                "Test Bank", "1"));
+        finances.credit(1000000, Transaction.C_LOAN_PRINCIPAL, "Loan", loanDate.getTime());
+        assertTrue(finances.isInDebt());
+        // The transactions can only be read, so the rating must not try to change them
+        assertFalse(finances.getAllTransactions().isEmpty());
+
+        when(mockCampaign.getFinances()).thenReturn(finances);
+        when(mockCampaign.getCalendar()).thenReturn(new GregorianCalendar(3051, Calendar.JUNE, 1));
+        FieldManualMercRevDragoonsRating testRating = new FieldManualMercRevDragoonsRating(mockCampaign);
+
+        // One full year in debt, plus part of the next
+        assertEquals(-20, testRating.getFinancialValue());
+    }
+
     @Test
     public void testGetTransportationDetails() {
         FieldManualMercRevDragoonsRating testRating = spy(new FieldManualMercRevDragoonsRating(mockCampaign));
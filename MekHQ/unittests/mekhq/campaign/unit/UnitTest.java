@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import megamek.common.Mech;
+import mekhq.TestUtilities;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.parts.MekGyro;
+import mekhq.campaign.parts.Part;
+
+public class UnitTest {
+
+    private static Unit getLocust(Campaign campaign) {
+        return UnitTestUtilities.addAndGetUnit(campaign, UnitTestUtilities.getLocustLCT1V());
+    }
+
+    @Test
+    public void testQualityFollowsSetQuality() {
+        Unit unit = getLocust(TestUtilities.getTestCampaign());
+        unit.setQuality(Part.QUALITY_A);
+        assertEquals(Part.QUALITY_A, unit.getQuality());
+
+        unit.setQuality(Part.QUALITY_F);
+        assertEquals(Part.QUALITY_F, unit.getQuality());
+    }
+
+    @Test
+    public void testQualityFollowsAddedAndRemovedParts() {
+        Campaign campaign = TestUtilities.getTestCampaign();
+        Unit unit = getLocust(campaign);
+        unit.setQuality(Part.QUALITY_A);
+        assertEquals(Part.QUALITY_A, unit.getQuality());
+
+        MekGyro gyro = new MekGyro(20, Mech.GYRO_STANDARD, 1.0, false, campaign);
+        gyro.setQuality(Part.QUALITY_F);
+        unit.addPart(gyro);
+        assertNotEquals(Part.QUALITY_A, unit.getQuality());
+
+        unit.removePart(gyro);
+        assertEquals(Part.QUALITY_A, unit.getQuality());
+    }
+
+    @Test
+    public void testTeamAssignmentOnlyUpdatesThePartValues() {
+        Unit unit = getLocust(TestUtilities.getTestCampaign());
+        assertFalse(unit.isUnderRepair());
+        assertEquals(45, unit.getMaintenanceTime());
+
+        // changed in place, as damage and repairs do, so nothing is told about it
+        unit.getEntity().setWeight(100);
+        Part part = unit.getParts().get(0);
+        part.setTeamId(UUID.randomUUID());
+        assertTrue(unit.isUnderRepair());
+        assertEquals(45, unit.getMaintenanceTime());
+
+        part.setTeamId(null);
+        assertFalse(unit.isUnderRepair());
+    }
+
+    @Test
+    public void testDiagnosticUpdatesTheEntityValues() {
+        Unit unit = getLocust(TestUtilities.getTestCampaign());
+        assertEquals(45, unit.getMaintenanceTime());
+
+        unit.getEntity().setWeight(100);
+        unit.runDiagnostic(false);
+
+        assertEquals(90, unit.getMaintenanceTime());
+    }
+}
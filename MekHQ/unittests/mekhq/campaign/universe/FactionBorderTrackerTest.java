@@ -25,13 +25,20 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.GregorianCalendar;
 import java.util.List;
 
+import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 
+import mekhq.campaign.Campaign;
+import mekhq.campaign.CurrentLocation;
+import mekhq.campaign.event.NewDayEvent;
+
 public class FactionBorderTrackerTest {
 
     private Faction factionUs;
@@ -45,8 +52,8 @@ public class FactionBorderTrackerTest {
     
     // Builds a sample universe with a faction "us" with one planet at (0, 0) and faction
     // "them" with planets on a 4x3 grid with 2 ly distance between adjacent planets
-    private FactionBorderTracker buildTestTracker() {
-        List<Planet> planets = new ArrayList<>();
+    private FactionBorderTracker buildTestTracker(Planet... extraPlanets) {
+        List<Planet> planets = new ArrayList<>(Arrays.asList(extraPlanets));
         for (int x = -3; x <= 3; x += 2) {
             for (int y = -2; y <= 2; y += 2) {
                 planets.add(createPlanet(x, y, factionThem));
@@ -81,6 +88,16 @@ public class FactionBorderTrackerTest {
         return planet;
     }
 
+    private NewDayEvent createNewDay(int year) {
+        Planet location = createPlanet(0, 0, factionUs);
+        CurrentLocation currentLocation = mock(CurrentLocation.class);
+        when(currentLocation.getCurrentPlanet()).thenReturn(location);
+        Campaign campaign = mock(Campaign.class);
+        when(campaign.getCalendar()).thenReturn(new GregorianCalendar(year, 0, 1));
+        when(campaign.getLocation()).thenReturn(currentLocation);
+        return new NewDayEvent(campaign);
+    }
+
     @Test
     public void testFactionBorderTrackerAllPlanets() throws InterruptedException {
         FactionBorderTracker tracker = buildTestTracker();
@@ -124,6 +141,31 @@ public class FactionBorderTrackerTest {
         assertEquals(border.size(), 0);
     }
 
+    @Test
+    public void testNewDayOnlyUpdatesChangedFactions() {
+        // "them" loses a planet next to "us" to "us" in 3101, while "others" far away don't change
+        Faction factionOthers = createFaction("others", false, false);
+        Planet changing = createPlanet(0, 2, factionThem);
+        when(changing.getFactionSet(any())).thenAnswer(inv -> Collections.singleton(
+                ((DateTime) inv.getArguments()[0]).getYear() >= 3101 ? factionUs : factionThem));
+        when(changing.hasFactionChangeBetween(any(), any())).thenReturn(true);
+        FactionBorderTracker tracker = buildTestTracker(changing,
+                createPlanet(20, 0, factionOthers), createPlanet(21, 0, factionOthers));
+        tracker.getBorders(factionUs);
+        tracker.setDefaultBorderSize(1, 1, 1);
+
+        tracker.handleNewDayEvent(createNewDay(3100));
+        FactionBorders others = tracker.getBorders(factionOthers);
+        assertEquals(tracker.getBorders(factionUs).getPlanets().size(), 1);
+        assertEquals(tracker.getBorders(factionThem).getPlanets().size(), 13);
+
+        tracker.handleNewDayEvent(createNewDay(3101));
+        assertEquals(tracker.getBorders(factionUs).getPlanets().size(), 2);
+        assertEquals(tracker.getBorders(factionThem).getPlanets().size(), 12);
+        assertSame(others, tracker.getBorders(factionOthers));
+        assertEquals(tracker.getBorderPlanets(factionOthers, factionUs).size(), 0);
+    }
+
     @Test
     public void testDefaultBorderSize() {
         Faction is = createFaction("is", false, false);
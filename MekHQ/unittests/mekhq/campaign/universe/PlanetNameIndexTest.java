@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class PlanetNameIndexTest {
+
+    @Test
+    public void testFindsHistoricalAndShortNames() {
+        Planet planet = new Planet("Terra");
+        planet.name = "Terra";
+        planet.getOrCreateEvent(new DateTime(2800, 1, 1, 0, 0)).name = "Earth";
+        planet.getOrCreateEvent(new DateTime(2800, 1, 1, 0, 0)).shortName = "Home";
+
+        PlanetNameIndex index = new PlanetNameIndex();
+        index.rebuild(Arrays.asList(planet));
+
+        assertSame(planet, index.find("TERRA", new DateTime(2799, 12, 31, 0, 0)));
+        assertNull(index.find("terra", new DateTime(2800, 1, 1, 0, 0)));
+        assertSame(planet, index.find("earth", new DateTime(3000, 1, 1, 0, 0)));
+        assertSame(planet, index.find("home", new DateTime(3000, 1, 1, 0, 0)));
+        assertNull(index.find("earth", new DateTime(2700, 1, 1, 0, 0)));
+        assertSame(planet, index.find("Terra", null));
+    }
+
+    @Test
+    public void testUpdatePicksUpChangedNames() {
+        Planet planet = new Planet("Tharkad");
+        planet.name = "Tharkad";
+        PlanetNameIndex index = new PlanetNameIndex();
+        index.rebuild(Arrays.asList(planet));
+
+        planet.getOrCreateEvent(new DateTime(3100, 1, 1, 0, 0)).name = "New Tharkad";
+        index.update(planet);
+
+        assertSame(planet, index.find("new tharkad", new DateTime(3100, 1, 2, 0, 0)));
+        assertNull(index.find("tharkad", new DateTime(3100, 1, 2, 0, 0)));
+        assertSame(planet, index.find("tharkad", new DateTime(3050, 1, 1, 0, 0)));
+    }
+}
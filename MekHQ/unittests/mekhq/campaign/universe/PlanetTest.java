@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class PlanetTest {
+
+    @Test
+    public void testEventDataUsesLatestValueOnOrBeforeDate() {
+        Planet planet = new Planet("Test");
+        planet.getOrCreateEvent(new DateTime(3000, 1, 1, 0, 0)).name = "First";
+        planet.getOrCreateEvent(new DateTime(3010, 1, 1, 0, 0)).hpg = 2;
+        planet.getOrCreateEvent(new DateTime(3020, 1, 1, 0, 0)).name = "Second";
+
+        assertNull(planet.getName(new DateTime(2999, 12, 31, 0, 0)));
+        assertEquals("First", planet.getName(new DateTime(3000, 1, 1, 0, 0)));
+        assertEquals("First", planet.getName(new DateTime(3015, 6, 1, 0, 0)));
+        assertEquals(Integer.valueOf(2), planet.getHPG(new DateTime(3015, 6, 1, 0, 0)));
+        assertEquals("Second", planet.getName(new DateTime(3020, 1, 1, 0, 0)));
+    }
+
+    @Test
+    public void testChangedEventsAreSeenByLaterLookups() {
+        Planet planet = new Planet("Test");
+        DateTime when = new DateTime(3050, 1, 1, 0, 0);
+        planet.getOrCreateEvent(new DateTime(3000, 1, 1, 0, 0)).name = "Old";
+        assertEquals("Old", planet.getName(when));
+
+        planet.getOrCreateEvent(new DateTime(3040, 1, 1, 0, 0)).name = "New";
+        assertEquals("New", planet.getName(when));
+
+        planet.getEvent(new DateTime(3040, 1, 1, 0, 0)).name = null;
+        planet.clearEventCache();
+        assertEquals("Old", planet.getName(when));
+    }
+}
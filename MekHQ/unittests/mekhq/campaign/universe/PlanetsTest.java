@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PlanetsTest {
+
+    @Test
+    public void testSnapshotClassesIncludeThePlanetData() {
+        List<Class<?>> classes = Planets.getSnapshotClasses();
+
+        // Changing any of these has to invalidate the planet snapshot
+        assertTrue(classes.contains(Planet.class));
+        assertTrue(classes.contains(Planet.PlanetaryEvent.class));
+        assertTrue(classes.contains(Planet.SocioIndustrialData.class));
+    }
+
+    private static byte[] serialize(Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obj);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testSnapshotOfPlanetsCanBeRead() throws Exception {
+        List<Planet> planets = new ArrayList<>();
+        planets.add(new Planet());
+
+        try(ObjectInputStream in = new Planets.SnapshotInputStream(new ByteArrayInputStream(serialize(planets)))) {
+            assertEquals(1, ((List<?>) in.readObject()).size());
+        }
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void testSnapshotRefusesOtherClasses() throws Exception {
+        try(ObjectInputStream in = new Planets.SnapshotInputStream(new ByteArrayInputStream(serialize(new HashMap<>())))) {
+            in.readObject();
+        }
+    }
+}
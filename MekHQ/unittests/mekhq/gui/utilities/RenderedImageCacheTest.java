@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.gui.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class RenderedImageCacheTest {
+
+    private static Image await(RenderedImageCache cache, Object key) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Image image = cache.get(key, () -> null, null);
+            if (null != image) {
+                return image;
+            }
+            Thread.sleep(10);
+        }
+        return null;
+    }
+
+    @Test
+    public void testImageIsMadeOnce() throws Exception {
+        RenderedImageCache cache = new RenderedImageCache(1024 * 1024);
+        AtomicInteger made = new AtomicInteger();
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+
+        // Not there yet the first time it is asked for
+        assertNull(cache.get("a", () -> {
+            made.incrementAndGet();
+            return image;
+        }, null));
+        assertSame(image, await(cache, "a"));
+        assertSame(image, cache.get("a", () -> {
+            made.incrementAndGet();
+            return image;
+        }, null));
+        assertEquals(1, made.get());
+        assertEquals(400, cache.getBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsDropped() throws Exception {
+        // Room for two 10x10 images
+        RenderedImageCache cache = new RenderedImageCache(800);
+        for (String key : new String[] { "a", "b" }) {
+            cache.get(key, () -> new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB), null);
+            assertNotNull(await(cache, key));
+        }
+        // Use a, so b is the oldest
+        assertNotNull(await(cache, "a"));
+        cache.get("c", () -> new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB), null);
+        assertNotNull(await(cache, "c"));
+
+        assertEquals(800, cache.getBytes());
+        assertNotNull(cache.get("a", () -> null, null));
+        assertNull(cache.get("b", () -> null, null));
+    }
+
+    @Test
+    public void testScaleKeepsAspectRatio() {
+        BufferedImage scaled = RenderedImageCache.scale(
+                new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB), 58, -1);
+        assertEquals(58, scaled.getWidth());
+        assertEquals(29, scaled.getHeight());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+public class ParallelGzipOutputStreamTest {
+
+    /** Some XML-like text, with a bit of noise so not everything is a repeat */
+    private static byte[] sampleData(int lines) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("\t\t<unit id=\"").append(random.nextInt()).append("\">\n");
+            sb.append("\t\t\t<quality>").append(random.nextInt(6)).append("</quality>\n");
+            sb.append("\t\t</unit>\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                result.write(buffer, 0, count);
+            }
+        }
+        return result.toByteArray();
+    }
+
+    @Test
+    public void testOutputIsStandardGzip() throws IOException {
+        byte[] data = sampleData(20000);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed,
+                Deflater.DEFAULT_COMPRESSION, 16 * 1024)) {
+            // mix single bytes, odd sized writes and a flush in the middle
+            out.write(data[0]);
+            int pos = 1;
+            int chunk = 1;
+            while (pos < data.length) {
+                int count = Math.min(chunk, data.length - pos);
+                out.write(data, pos, count);
+                pos += count;
+                chunk = (chunk * 7 + 3) % 50000;
+                if ((pos > data.length / 2) && (pos - count <= data.length / 2)) {
+                    out.flush();
+                }
+            }
+        }
+        assertArrayEquals(data, gunzip(compressed.toByteArray()));
+    }
+
+    @Test
+    public void testEmptyStream() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(compressed, Deflater.BEST_SPEED).close();
+        assertArrayEquals(new byte[0], gunzip(compressed.toByteArray()));
+    }
+
+    @Test
+    public void testCompressesAboutAsWellAsGzip() throws IOException {
+        byte[] data = sampleData(20000);
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(parallel,
+                Deflater.DEFAULT_COMPRESSION)) {
+            out.write(data);
+        }
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(plain)) {
+            out.write(data);
+        }
+        assertTrue(parallel.size() < plain.size() * 1.05);
+    }
+}
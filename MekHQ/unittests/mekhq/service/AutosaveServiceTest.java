@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import megamek.common.event.Subscribe;
+import mekhq.MekHQ;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.CampaignOptions;
+import mekhq.campaign.event.NewDayEvent;
+
+public class AutosaveServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Campaign campaign;
+    private CampaignOptions options;
+    private int day;
+
+    /** Changes what the campaign writes out, the way any handler of the new day may */
+    public class DayChanger {
+        @Subscribe
+        public void handleNewDay(NewDayEvent ev) {
+            day = 42;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        campaign = mock(Campaign.class);
+        options = mock(CampaignOptions.class);
+        when(campaign.getCampaignOptions()).thenReturn(options);
+        when(campaign.getName()).thenReturn("Gray Death/Legion");
+        doAnswer(inv -> {
+            ((PrintWriter) inv.getArguments()[0]).println("<campaign day=\"" + day + "\"/>");
+            return null;
+        }).when(campaign).writeToXml(any(PrintWriter.class));
+    }
+
+    private static String read(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.readLine();
+        }
+    }
+
+    private void advance(AutosaveService service, int days) {
+        for (int i = 0; i < days; i++) {
+            day++;
+            service.handleNewDay(new NewDayEvent(campaign));
+            assertTrue(service.waitForPendingSave(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testNothingIsSavedWhenTurnedOff() {
+        when(options.getAutosaveInterval()).thenReturn(0);
+        AutosaveService service = new AutosaveService(folder.getRoot(), () -> Deflater.BEST_SPEED);
+        advance(service, 5);
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testSavesAreRotated() throws IOException {
+        when(options.getAutosaveInterval()).thenReturn(2);
+        when(options.getMaxAutosaves()).thenReturn(2);
+        AutosaveService service = new AutosaveService(folder.getRoot(), () -> Deflater.BEST_SPEED);
+        advance(service, 7);
+
+        // Saved on days 2, 4 and 6; only the last two are kept
+        assertEquals("<campaign day=\"6\"/>", read(service.getAutosaveFile("Gray Death_Legion", 1)));
+        assertEquals("<campaign day=\"4\"/>", read(service.getAutosaveFile("Gray Death_Legion", 2)));
+        assertFalse(service.getAutosaveFile("Gray Death_Legion", 3).exists());
+        assertEquals(2, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testSavesAfterTheOtherHandlers() throws IOException {
+        when(options.getAutosaveInterval()).thenReturn(1);
+        when(options.getMaxAutosaves()).thenReturn(1);
+        AutosaveService service = new AutosaveService(folder.getRoot(), () -> Deflater.BEST_SPEED);
+        // registered after the service, but still has to run before it
+        DayChanger otherHandler = new DayChanger();
+        MekHQ.registerHandler(service);
+        MekHQ.registerHandler(otherHandler);
+        try {
+            MekHQ.triggerEvent(new NewDayEvent(campaign));
+            assertTrue(service.waitForPendingSave(10, TimeUnit.SECONDS));
+        } finally {
+            MekHQ.unregisterHandler(otherHandler);
+            MekHQ.unregisterHandler(service);
+        }
+
+        assertEquals("<campaign day=\"42\"/>", read(service.getAutosaveFile("Gray Death_Legion", 1)));
+    }
+}